@@ -44,6 +44,7 @@ import org.codehaus.plexus.util.IOUtil;
 import io.openliberty.tools.ant.install.InstallLibertyTask;
 import io.openliberty.tools.common.plugins.util.AbstractContainerSupportUtil;
 import io.openliberty.tools.common.plugins.util.PluginExecutionException;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Basic Liberty Mojo Support
@@ -439,12 +440,15 @@ public abstract class BasicSupport extends AbstractLibertySupport {
         if (installType == InstallType.ALREADY_EXISTS) {
             getLog().info(MessageFormat.format(messages.getString("info.install.type.preexisting"), ""));
         } else {
-            if (installType == InstallType.FROM_ARCHIVE) {
-                installFromArchive();
-            } else {
-                installFromFile();
+            try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.INSTALL_SERVER, project.getId(), serverName,
+                    assemblyArchive == null ? null : assemblyArchive.getName())) {
+                if (installType == InstallType.FROM_ARCHIVE) {
+                    installFromArchive();
+                } else {
+                    installFromFile();
+                }
+                installLicense();
             }
-            installLicense();
         }
     }
     
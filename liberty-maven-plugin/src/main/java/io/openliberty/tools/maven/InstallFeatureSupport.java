@@ -23,12 +23,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.openliberty.tools.common.plugins.util.LibertyPropFilesUtility;
+import io.openliberty.tools.maven.utils.ArtifactPrefetcher;
 import io.openliberty.tools.maven.utils.CommonLogger;
+import io.openliberty.tools.maven.utils.FeatureRepositoryIndex;
+import io.openliberty.tools.maven.utils.InstalledFeatureIndex;
 import io.openliberty.tools.maven.utils.SpringBootUtil;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 
 import io.openliberty.tools.ant.FeatureManagerTask.Feature;
 import io.openliberty.tools.common.plugins.util.InstallFeatureUtil;
@@ -67,7 +73,15 @@ public abstract class InstallFeatureSupport extends ServerFeatureSupport {
     
     public static final String FEATURES_JSON_ARTIFACT_ID = "features";
 
+    // ESA and signature files downloaded at the same time by install-feature
+    private static final int ESA_PREFETCH_THREADS = 6;
+    private static final long ESA_PREFETCH_TIMEOUT_MINUTES = 10;
+
     protected class InstallFeatureMojoUtil extends InstallFeatureUtil {
+        private final FeatureRepositoryIndex featureRepository = new FeatureRepositoryIndex();
+        private ArtifactPrefetcher esaPrefetcher;
+        private Collection<String> featuresToPrefetch;
+
         public InstallFeatureMojoUtil(Set<String> pluginListedEsas, List<ProductProperties> propertiesList, String openLibertyVerion, String containerName, List<String> additionalJsons, Collection<Map<String,String>> keyMap)
                 throws PluginScenarioException, PluginExecutionException {
             super(installDirectory, new File(project.getBuild().getDirectory()), features.getFrom(), features.getTo(), pluginListedEsas, propertiesList, openLibertyVerion, containerName, additionalJsons, features.getVerify(), keyMap, getToolchainEnvVar());
@@ -116,12 +130,78 @@ public abstract class InstallFeatureSupport extends ServerFeatureSupport {
         
         @Override
         public File downloadArtifact(String groupId, String artifactId, String type, String version) throws PluginExecutionException {
+            if (esaPrefetcher == null && featuresToPrefetch != null && "esa".equals(type)) {
+                // the feature repositories have been downloaded by now
+                startPrefetch();
+            }
+            if (esaPrefetcher != null) {
+                // wait for a prefetched file instead of downloading it a second time
+                esaPrefetcher.await(new DefaultArtifact(groupId, artifactId, type, version), ESA_PREFETCH_TIMEOUT_MINUTES,
+                        TimeUnit.MINUTES);
+            }
             try {
-                return getArtifact(groupId, artifactId, type, version).getFile();
+                File file = getArtifact(groupId, artifactId, type, version).getFile();
+                if ("json".equals(type) && file != null) {
+                    featureRepository.add(file);
+                }
+                return file;
             } catch (MojoExecutionException e) {
                 throw new PluginExecutionException(e);
             }
         }
+
+        /**
+         * Start downloading the ESA files of the features that are not installed yet, and of the
+         * features they require, in parallel. The installation still resolves the features and
+         * downloads the files in its own order, and then finds them in the local repository.
+         *
+         * @param featuresToInstall the features to install
+         */
+        public void prefetchFeatures(Collection<String> featuresToInstall) {
+            featuresToPrefetch = featuresToInstall;
+            // otherwise start when the first ESA file is downloaded, after the feature repositories
+            if (!featureRepository.isEmpty()) {
+                startPrefetch();
+            }
+        }
+
+        private void startPrefetch() {
+            Collection<String> featuresToInstall = featuresToPrefetch;
+            featuresToPrefetch = null;
+            File userDir = userDirectory != null ? userDirectory : new File(installDirectory, "usr");
+            Set<String> coordinates = featureRepository.getCoordinates(featuresToInstall,
+                    new InstalledFeatureIndex(installDirectory, userDir));
+            if (coordinates.isEmpty()) {
+                return;
+            }
+            boolean signatures = !"skip".equalsIgnoreCase(features.getVerify());
+            List<Artifact> artifacts = new ArrayList<Artifact>();
+            for (String coordinate : coordinates) {
+                String[] parts = coordinate.split(":");
+                if (parts.length != 3) {
+                    continue;
+                }
+                artifacts.add(new DefaultArtifact(parts[0], parts[1], "esa", parts[2]));
+                if (signatures) {
+                    artifacts.add(new DefaultArtifact(parts[0], parts[1], "esa.asc", parts[2]));
+                }
+            }
+            getLog().debug("Prefetching " + artifacts.size() + " feature artifacts");
+            esaPrefetcher = new ArtifactPrefetcher(ArtifactPrefetcher.aetherResolver(repositorySystem, repoSession, repositories),
+                    ESA_PREFETCH_THREADS, getLog());
+            esaPrefetcher.prefetch(artifacts);
+        }
+
+        /**
+         * Stop prefetching. Downloads that already started finish in the background.
+         */
+        public void closePrefetcher() {
+            featuresToPrefetch = null;
+            if (esaPrefetcher != null) {
+                esaPrefetcher.close();
+                esaPrefetcher = null;
+            }
+        }
         
         @Override
         public File downloadSignature(File esa, String groupId, String artifactId, String type, String version) throws PluginExecutionException {
@@ -38,6 +38,8 @@ import io.openliberty.tools.ant.ServerTask;
 import io.openliberty.tools.ant.SpringBootUtilTask;
 import io.openliberty.tools.maven.server.LooseAppSupport;
 import io.openliberty.tools.maven.utils.CommonLogger;
+import io.openliberty.tools.maven.utils.FileTreeIndex;
+import io.openliberty.tools.maven.utils.JfrEvents;
 import io.openliberty.tools.maven.utils.MavenProjectUtil;
 import io.openliberty.tools.maven.utils.SpringBootUtil;
 import io.openliberty.tools.common.plugins.config.ApplicationXmlDocument;
@@ -69,6 +71,12 @@ public abstract class DeployMojoSupport extends LooseAppSupport {
     protected ApplicationXmlDocument applicationXml = new ApplicationXmlDocument();
 
     protected void installApp(Artifact artifact) throws MojoExecutionException, IOException {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.INSTALL_APPLICATION, project.getId(), serverName, artifact.getId())) {
+            installAppFile(artifact);
+        }
+    }
+
+    private void installAppFile(Artifact artifact) throws MojoExecutionException, IOException {
     
         if (artifact.getFile() == null || artifact.getFile().isDirectory()) {
             String appFileName = getPreDeployAppFileName(project);
@@ -133,6 +141,12 @@ public abstract class DeployMojoSupport extends LooseAppSupport {
 
     // install war project artifact using loose application configuration file
     protected void installLooseConfigWar(MavenProject proj, LooseConfigData config, boolean container) throws MojoExecutionException, IOException {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.INSTALL_LOOSE_APPLICATION, project.getId(), serverName, proj.getId())) {
+            installLooseWar(proj, config, container);
+        }
+    }
+
+    private void installLooseWar(MavenProject proj, LooseConfigData config, boolean container) throws MojoExecutionException, IOException {
         // return error if webapp contains java source but it is not compiled yet.
         File dir = new File(proj.getBuild().getOutputDirectory());
         if (!dir.exists() && containsJavaSource(proj)) {
@@ -417,21 +431,8 @@ public abstract class DeployMojoSupport extends LooseAppSupport {
     private boolean containsJavaSource(MavenProject proj) {
         List<String> srcDirs = proj.getCompileSourceRoots();
         for (String dir : srcDirs) {
-            File javaSourceDir = new File(dir);
-            if (javaSourceDir.exists() && javaSourceDir.isDirectory() && containsJavaSource(javaSourceDir)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean containsJavaSource(File dir) {
-        File[] files = dir.listFiles();
-        for (File file : files) {
-            if (file.isFile() && file.getName().toLowerCase().endsWith(".java")) {
+            if (FileTreeIndex.containsFile(new File(dir), ".java")) {
                 return true;
-            } else if (file.isDirectory()) {
-                return containsJavaSource(file);
             }
         }
         return false;
@@ -0,0 +1,439 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.applications;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import io.openliberty.tools.maven.utils.IncrementalResourceSync;
+
+/**
+ * Keeps the webapp directory of an exploded loose WAR up to date by copying,
+ * filtering or deleting only the entries whose sources changed, instead of
+ * running the maven-war-plugin exploded goal for every change.
+ * <p>
+ * The sources are tracked in the order the exploded goal copies them, where
+ * the first source that provides a path wins: the webResources, the war source
+ * directory and the classes directory. Overlays come last, so a path that is no
+ * longer provided by the project may be provided by an overlay. Each changed file
+ * is mapped directly to its path in the webapp directory. The sources are watched
+ * from {@link #reset()}, which is called after the exploded goal runs, so that the
+ * source directories are not scanned for every change. Whenever a change cannot be
+ * applied with certainty the caller is told to run the exploded goal again.
+ */
+public class ExplodedWarSync {
+
+    private static final String WEB_XML = "WEB-INF/web.xml";
+
+    /**
+     * War plugin parameters that change which files are copied or where, in ways this class does
+     * not replicate. If any of them is configured, every change runs the exploded goal.
+     */
+    private static final String[] UNSUPPORTED_CONFIG = { "overlays", "webXml", "containerConfigXML", "escapedBackslashesInFilePath",
+            "supportMultiLineFiltering" };
+
+    private final MavenProject project;
+    private final Xpp3Dom config;
+    private final IncrementalResourceSync filter;
+    private final Log log;
+    private final File webappDirectory;
+    private final List<Source> sources = new ArrayList<Source>();
+    private final boolean overlays;
+
+    /** Watches the source directories for changes, or null before the first reset. */
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+
+    private static class Source {
+        final File directory;
+        final String targetPath;
+        final String[] includes;
+        final String[] excludes;
+        final boolean filtering;
+        final boolean filterWebXml;
+
+        Source(File directory, String targetPath, String[] includes, String[] excludes, boolean filtering, boolean filterWebXml) {
+            this.directory = directory;
+            this.targetPath = targetPath;
+            this.includes = includes;
+            this.excludes = excludes;
+            this.filtering = filtering;
+            this.filterWebXml = filterWebXml;
+        }
+
+        boolean isFiltered(String relativePath) {
+            return filtering || (filterWebXml && WEB_XML.equals(relativePath));
+        }
+
+        /**
+         * @return the path of the file relative to the directory with / separators, or null if the
+         *         file is not in the directory or not included
+         */
+        String getIncludedPath(File file) {
+            String path = file.getAbsolutePath();
+            String prefix = directory.getAbsolutePath() + File.separator;
+            if (!path.startsWith(prefix)) {
+                return null;
+            }
+            String relativePath = path.substring(prefix.length());
+            if (!matchesAny(includes, relativePath) || matchesAny(excludes, relativePath)) {
+                return null;
+            }
+            return relativePath.replace(File.separatorChar, '/');
+        }
+
+        private static boolean matchesAny(String[] patterns, String relativePath) {
+            for (String pattern : patterns) {
+                String normalized = pattern.replace('/', File.separatorChar).replace('\\', File.separatorChar);
+                if (normalized.endsWith(File.separator)) {
+                    normalized += "**";
+                }
+                if (SelectorUtils.matchPath(normalized, relativePath, true)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param project        the war project
+     * @param userProperties the user properties of the session, used for filtering
+     * @param config         the configuration of the maven-war-plugin exploded goal
+     * @param log            the log
+     */
+    public ExplodedWarSync(MavenProject project, Properties userProperties, Xpp3Dom config, Log log) {
+        this.project = project;
+        this.config = config;
+        this.log = log;
+        this.filter = new IncrementalResourceSync(project, userProperties, config, log);
+        this.webappDirectory = LooseWarApplication.getWebAppDirectory(project).toFile();
+        this.overlays = LooseWarApplication.isUsingOverlays(project);
+
+        for (Xpp3Dom resource : LooseWarApplication.getWebResourcesConfigurations(project)) {
+            String targetPath = getChildValue(resource, "targetPath");
+            sources.add(new Source(resolveFile(getChildValue(resource, "directory")), targetPath == null ? "" : targetPath,
+                    getPatterns(resource.getChild("includes"), new String[] { "**" }),
+                    addDefaultExcludes(getPatterns(resource.getChild("excludes"), new String[0])),
+                    Boolean.parseBoolean(getChildValue(resource, "filtering")), false));
+        }
+        String warSourceIncludes = getConfigValue("warSourceIncludes");
+        String warSourceExcludes = getConfigValue("warSourceExcludes");
+        sources.add(new Source(LooseWarApplication.getWarSourceDirectory(project).toFile(), "",
+                warSourceIncludes == null ? new String[] { "**" } : split(warSourceIncludes),
+                addDefaultExcludes(warSourceExcludes == null ? new String[0] : split(warSourceExcludes)),
+                false, LooseWarApplication.isFilteringDeploymentDescriptors(project)));
+        sources.add(new Source(new File(project.getBuild().getOutputDirectory()), "WEB-INF/classes", new String[] { "**" },
+                new String[0], false, false));
+    }
+
+    /**
+     * @return the project this instance was created for
+     */
+    public MavenProject getProject() {
+        return project;
+    }
+
+    /**
+     * Start watching the sources for changes. Must be called after the exploded goal runs, so
+     * that the next call to {@link #sync()} only applies the changes made after it.
+     */
+    public void reset() {
+        filter.refreshFilterInputs();
+        close();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Source source : sources) {
+                register(source.directory.toPath(), null);
+            }
+        } catch (IOException e) {
+            log.debug("Unable to watch the web sources, every change runs the exploded goal", e);
+            close();
+        }
+    }
+
+    /**
+     * Stop watching the sources.
+     */
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Unable to stop watching the web sources", e);
+            }
+            watchService = null;
+        }
+        watchedDirectories.clear();
+    }
+
+    /**
+     * Apply the changes made to the sources since the last sync or reset to the webapp directory.
+     *
+     * @return true if the webapp directory is up to date, false if the exploded goal must be run
+     *         instead, followed by {@link #reset()}
+     * @throws IOException if a file could not be copied or deleted
+     */
+    public boolean sync() throws IOException {
+        if (watchService == null) {
+            return false;
+        }
+        Set<File> changedFiles = new TreeSet<File>();
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    log.debug("Web source change events were lost, running the exploded goal");
+                    return false;
+                }
+                Path child = directory.resolve((Path) event.context());
+                changedFiles.add(child.toFile());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                    // files can be created before the directory is watched
+                    register(child, changedFiles);
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+        return sync(changedFiles);
+    }
+
+    /**
+     * Apply the changes of the given source files to the webapp directory.
+     *
+     * @param changedFiles the created, modified or deleted source files
+     * @return true if the webapp directory is up to date, false if the exploded goal must be run
+     *         instead, followed by {@link #reset()}
+     * @throws IOException if a file could not be copied or deleted
+     */
+    public boolean sync(Collection<File> changedFiles) throws IOException {
+        String unsupported = getUnsupportedConfig();
+        if (unsupported != null) {
+            log.debug("The maven-war-plugin configuration " + unsupported + " requires the exploded goal");
+            return false;
+        }
+        if (filter.filterInputsChanged()) {
+            log.debug("Web resource filter inputs changed, running the exploded goal");
+            return false;
+        }
+
+        Set<String> changedPaths = new TreeSet<String>();
+        for (File file : changedFiles) {
+            if (file.isDirectory()) {
+                // the files of a created directory are changes of their own
+                continue;
+            }
+            for (Source source : sources) {
+                String relativePath = source.getIncludedPath(file);
+                if (relativePath != null) {
+                    String targetPath = getTargetPath(source, relativePath);
+                    if (!file.exists() && new File(webappDirectory, targetPath).isDirectory()) {
+                        log.debug("Web source directory " + file + " was deleted, running the exploded goal");
+                        return false;
+                    }
+                    changedPaths.add(targetPath);
+                }
+            }
+        }
+
+        for (String targetPath : changedPaths) {
+            if (!update(targetPath)) {
+                return false;
+            }
+        }
+        if (!changedPaths.isEmpty()) {
+            log.debug("Updated " + changedPaths.size() + " entries in " + webappDirectory);
+        }
+        return true;
+    }
+
+    /**
+     * Write the entry at the target path from the first source that provides it, or
+     * delete it if no source provides it anymore.
+     *
+     * @return false if the entry cannot be updated with certainty
+     */
+    private boolean update(String targetPath) throws IOException {
+        File target = new File(webappDirectory, targetPath);
+        for (Source source : sources) {
+            String relativePath = getRelativePath(source, targetPath);
+            if (relativePath == null) {
+                continue;
+            }
+            File file = new File(source.directory, relativePath);
+            if (file.isFile() && source.getIncludedPath(file) != null) {
+                if (!filter.copy(file, target, source.isFiltered(relativePath))) {
+                    log.debug("Web resource " + relativePath + " contains expressions that require the exploded goal");
+                    return false;
+                }
+                return true;
+            }
+        }
+        if (overlays) {
+            // an overlay may provide the entry
+            return false;
+        }
+        if (target.isFile() && !target.delete()) {
+            throw new IOException("Could not delete " + target);
+        }
+        return true;
+    }
+
+    /**
+     * Watch a directory and its subdirectories.
+     *
+     * @param files the set to add the files found in the directories to, or null
+     */
+    private void register(Path root, final Set<File> files) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                watchedDirectories.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (files != null) {
+                    files.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static String getTargetPath(Source source, String relativePath) {
+        if (source.targetPath.isEmpty()) {
+            return relativePath;
+        }
+        String prefix = source.targetPath.replace('\\', '/');
+        return prefix.endsWith("/") ? prefix + relativePath : prefix + "/" + relativePath;
+    }
+
+    private static String getRelativePath(Source source, String targetPath) {
+        if (source.targetPath.isEmpty()) {
+            return targetPath;
+        }
+        String prefix = source.targetPath.replace('\\', '/');
+        if (!prefix.endsWith("/")) {
+            prefix += "/";
+        }
+        return targetPath.startsWith(prefix) ? targetPath.substring(prefix.length()) : null;
+    }
+
+    private String getUnsupportedConfig() {
+        for (String name : UNSUPPORTED_CONFIG) {
+            Xpp3Dom child = config == null ? null : config.getChild(name);
+            if (child != null && (child.getChildCount() > 0 || (child.getValue() != null && !"false".equals(child.getValue().trim())))) {
+                return name;
+            }
+        }
+        for (Source source : sources) {
+            if (new File(source.targetPath).isAbsolute() || source.targetPath.contains("..")) {
+                return "webResources targetPath " + source.targetPath;
+            }
+        }
+        return null;
+    }
+
+    private static String[] getPatterns(Xpp3Dom patterns, String[] defaultValue) {
+        if (patterns == null || patterns.getChildCount() == 0) {
+            return defaultValue;
+        }
+        List<String> values = new ArrayList<String>();
+        for (Xpp3Dom pattern : patterns.getChildren()) {
+            if (pattern.getValue() != null && !pattern.getValue().trim().isEmpty()) {
+                values.add(pattern.getValue().trim());
+            }
+        }
+        return values.toArray(new String[values.size()]);
+    }
+
+    private static String[] addDefaultExcludes(String[] excludes) {
+        List<String> values = new ArrayList<String>();
+        for (String exclude : excludes) {
+            values.add(exclude);
+        }
+        for (String exclude : DirectoryScanner.DEFAULTEXCLUDES) {
+            values.add(exclude);
+        }
+        return values.toArray(new String[values.size()]);
+    }
+
+    private static String[] split(String patterns) {
+        List<String> values = new ArrayList<String>();
+        for (String pattern : patterns.split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                values.add(pattern.trim());
+            }
+        }
+        return values.toArray(new String[values.size()]);
+    }
+
+    private static String getChildValue(Xpp3Dom dom, String name) {
+        Xpp3Dom child = dom.getChild(name);
+        return child == null || child.getValue() == null ? null : child.getValue().trim();
+    }
+
+    private String getConfigValue(String name) {
+        Xpp3Dom child = config == null ? null : config.getChild(name);
+        if (child == null || child.getValue() == null || child.getValue().trim().isEmpty()) {
+            return null;
+        }
+        return child.getValue().trim();
+    }
+
+    private File resolveFile(String path) {
+        File file = new File(path == null ? "" : path);
+        return file.isAbsolute() ? file : new File(project.getBasedir(), file.getPath());
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+import org.apache.tools.ant.BuildException;
+
+import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.common.plugins.util.ServerStatusUtil;
+
+/**
+ * A server task for dev mode that keeps the server in its own process, so that the
+ * server can outlive dev mode and a later run of dev mode can attach to it.
+ * <p>
+ * Like the run and debug operations, {@link #execute()} returns when the server stops.
+ * Instead of running the server in the foreground, it starts the server in the
+ * background if it is not running yet, and then waits while it runs.
+ */
+public class AttachedServerTask extends ServerTask {
+
+    /** Written to the server output directory when dev mode exits and leaves the server running. */
+    public static final String STATE_FILE = "liberty-dev-attach.properties";
+
+    /** Server files that are only read when the server starts. */
+    private static final String[] RESTART_FILES = { "jvm.options", "bootstrap.properties", "server.env" };
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final long POLL_INTERVAL = 1000;
+
+    private final ServerTask startTask;
+    private final File installDirectory;
+    private final File outputDirectory;
+    private final String server;
+    private volatile boolean detached;
+
+    /**
+     * @param startTask        the task that starts the server in the background
+     * @param installDirectory the Liberty installation directory
+     * @param outputDirectory  the Liberty output directory, which contains the server output directory
+     * @param serverName       the name of the server
+     */
+    public AttachedServerTask(ServerTask startTask, File installDirectory, File outputDirectory, String serverName) {
+        this.startTask = startTask;
+        this.installDirectory = installDirectory;
+        this.outputDirectory = outputDirectory;
+        this.server = serverName;
+        setProject(startTask.getProject());
+    }
+
+    @Override
+    public void execute() throws BuildException {
+        detached = false;
+        if (!isRunning()) {
+            startTask.execute();
+        }
+        while (!detached && isRunning()) {
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop waiting for the server without stopping it, so that {@link #execute()} returns.
+     */
+    public void detach() {
+        detached = true;
+    }
+
+    private boolean isRunning() {
+        return ServerStatusUtil.isServerRunning(installDirectory, outputDirectory, server);
+    }
+
+    /**
+     * @param serverDirectory the server directory
+     * @param settings        the settings the server was started with, such as the debug port
+     * @return a fingerprint of the inputs that only take effect when the server starts
+     */
+    public static String getRestartFingerprint(File serverDirectory, String settings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(settings.getBytes("UTF-8"));
+            for (String name : RESTART_FILES) {
+                File file = new File(serverDirectory, name);
+                digest.update((byte) 0);
+                if (file.isFile()) {
+                    digest.update(Files.readAllBytes(file.toPath()));
+                }
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param serverOutputDirectory the server output directory
+     * @return the restart fingerprint recorded when dev mode left the server running, or null
+     *         if dev mode did not leave the server running
+     */
+    public static String readState(File serverOutputDirectory) {
+        File file = new File(serverOutputDirectory, STATE_FILE);
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties state = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            state.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        return state.getProperty(FINGERPRINT, "");
+    }
+
+    /**
+     * Record that dev mode left the server running.
+     *
+     * @param serverOutputDirectory the server output directory
+     * @param fingerprint           the restart fingerprint of the running server
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeState(File serverOutputDirectory, String fingerprint) throws IOException {
+        Properties state = new Properties();
+        state.setProperty(FINGERPRINT, fingerprint == null ? "" : fingerprint);
+        try (OutputStream out = new FileOutputStream(new File(serverOutputDirectory, STATE_FILE))) {
+            state.store(out, "Written by liberty:dev when it exits and leaves the server running");
+        }
+    }
+
+    /**
+     * @param serverOutputDirectory the server output directory
+     */
+    public static void clearState(File serverOutputDirectory) {
+        new File(serverOutputDirectory, STATE_FILE).delete();
+    }
+}
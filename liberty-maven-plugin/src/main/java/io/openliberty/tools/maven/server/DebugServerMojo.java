@@ -24,6 +24,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Start a liberty server in debug mode
@@ -70,7 +71,9 @@ public class DebugServerMojo extends StartDebugMojoSupport {
         }
         serverTask.setClean(clean);
         serverTask.setOperation("debug");
-        serverTask.execute();    
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.RUN_SERVER, project.getId(), serverName, null)) {
+            serverTask.execute();
+        }
     }
 
 }
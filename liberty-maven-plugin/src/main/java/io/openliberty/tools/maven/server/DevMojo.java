@@ -24,11 +24,16 @@ import static org.twdata.maven.mojoexecutor.MojoExecutor.name;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,11 +43,25 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import io.openliberty.tools.common.plugins.util.LibertyPropFilesUtility;
+import io.openliberty.tools.maven.utils.ArtifactPrefetcher;
+import io.openliberty.tools.maven.utils.ChangeCoalescer;
+import io.openliberty.tools.maven.utils.ClassDependencyIndex;
 import io.openliberty.tools.maven.utils.CommonLogger;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
@@ -52,6 +71,7 @@ import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -62,12 +82,14 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
-import org.apache.maven.project.ProjectBuildingResult;
 import org.apache.maven.rtinfo.RuntimeInformation;
+import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
@@ -88,9 +110,24 @@ import io.openliberty.tools.common.plugins.util.ServerFeatureUtil;
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms;
 import io.openliberty.tools.common.plugins.util.ServerStatusUtil;
 import io.openliberty.tools.maven.applications.DeployMojoSupport;
+import io.openliberty.tools.maven.applications.ExplodedWarSync;
 import io.openliberty.tools.maven.applications.LooseWarApplication;
 import io.openliberty.tools.maven.utils.DevHelper;
+import io.openliberty.tools.maven.utils.DevStateSnapshot;
+import io.openliberty.tools.maven.utils.DevTimeline;
+import io.openliberty.tools.maven.utils.HotSwapSupport;
 import io.openliberty.tools.maven.utils.ExecuteMojoUtil;
+import io.openliberty.tools.maven.utils.FileTreeIndex;
+import io.openliberty.tools.maven.utils.InProcessTestRunner;
+import io.openliberty.tools.maven.utils.IntegrationTestShards;
+import io.openliberty.tools.maven.utils.IncrementalJavaCompiler;
+import io.openliberty.tools.maven.utils.IncrementalResourceSync;
+import io.openliberty.tools.maven.utils.InstalledFeatureIndex;
+import io.openliberty.tools.maven.utils.JfrEvents;
+import io.openliberty.tools.maven.utils.ProjectModelCache;
+import io.openliberty.tools.maven.utils.StartupTaskGraph;
+import io.openliberty.tools.maven.utils.TestImpactSelector;
+import io.openliberty.tools.maven.utils.WatchPlan;
 
 /**
  * Start a liberty server in dev mode import to set ResolutionScope for TEST as
@@ -172,7 +209,154 @@ public class DevMojo extends LooseAppSupport {
     @Parameter(property = "compileWait", defaultValue = "0.5")
     private double compileWait;
 
-    private int runId = 0;
+    /**
+     * Number of file changes within maxCompileWait seconds that switches dev mode to a single
+     * bulk update. Dev mode then waits for the changes to settle and compiles all Java sources,
+     * or copies all resources, once. Waiting for the changes to settle scans the source tree
+     * repeatedly, so this is off by default (0) and every change is processed separately.
+     */
+    @Parameter(property = "bulkChangeThreshold", defaultValue = "0")
+    private int bulkChangeThreshold;
+
+    /**
+     * Longest time in seconds that dev mode waits for a burst of file changes to settle before
+     * a bulk update. The wait starts at compileWait and doubles while files keep changing.
+     */
+    @Parameter(property = "maxCompileWait", defaultValue = "5")
+    private double maxCompileWait;
+
+    /**
+     * Number of threads used to compile the upstream modules of a multi module project
+     * when dev mode starts. Modules are compiled in waves, so a module is only compiled once
+     * every module it depends on has been compiled.
+     */
+    @Parameter(property = "compileThreads", defaultValue = "1")
+    private int compileThreads;
+
+    /**
+     * Run the dev mode startup steps that do not depend on each other at the same time,
+     * such as compiling the project while the runtime and its features are installed.
+     * The critical path of the startup steps is logged when they finish.
+     */
+    @Parameter(property = "parallelStartup", defaultValue = "false")
+    private boolean parallelStartup;
+
+    /**
+     * Resolve the artifacts that dev mode startup needs, such as the feature generator and the
+     * feature lists, in the background when dev mode starts, so that they download while the
+     * project compiles.
+     */
+    @Parameter(property = "prefetchArtifacts", defaultValue = "false")
+    private boolean prefetchArtifacts;
+
+    private ArtifactPrefetcher artifactPrefetcher;
+
+    /**
+     * Compile only the changed Java sources and the sources of classes that depend on
+     * an ABI change in them, instead of every source passed to the compiler.
+     */
+    @Parameter(property = "incrementalCompile", defaultValue = "false")
+    private boolean incrementalCompile;
+
+    /**
+     * Regenerate and install the features in the background when the compile dependencies
+     * change, instead of before the application is redeployed.
+     */
+    @Parameter(property = "asyncGenerateFeatures", defaultValue = "false")
+    private boolean asyncGenerateFeatures;
+
+    /**
+     * Skip the resources and compile goals, the feature generation and the feature installation on
+     * startup, and reuse the resolved annotation processor paths, when their inputs are unchanged
+     * since the last run of dev mode.
+     * The fingerprints of the inputs are kept in target/liberty-dev-state.properties.
+     */
+    @Parameter(property = "reuseDevState", defaultValue = "false")
+    private boolean reuseDevState;
+
+    /**
+     * Run only the test classes that reference a class changed since the tests last passed,
+     * directly or through other classes. All tests run when nothing changed since then.
+     */
+    @Parameter(property = "selectAffectedTests", defaultValue = "false")
+    private boolean selectAffectedTests;
+
+    private TestImpactSelector testSelector;
+
+    /**
+     * Run unit tests on the JUnit Platform inside the dev mode JVM, keeping the test dependencies
+     * loaded between runs, instead of forking the maven-surefire-plugin for every run. Falls back to
+     * the maven-surefire-plugin when the tests do not use the JUnit Platform or the surefire
+     * configuration needs a forked JVM.
+     */
+    @Parameter(property = "inProcessTests", defaultValue = "false")
+    private boolean inProcessTests;
+
+    /**
+     * Test dependencies, as groupId or groupId:artifactId, that stay loaded between in-process test
+     * runs together with the JUnit Platform. Other test dependencies are loaded again for every run.
+     */
+    @Parameter(property = "inProcessTestsSharedDependencies")
+    private List<String> inProcessTestsSharedDependencies;
+
+    private InProcessTestRunner inProcessTestRunner;
+
+    /**
+     * Run the integration tests in parallel against this number of copies of the server, so that the
+     * dev mode server is left alone. A value of 1 runs the integration tests against the dev mode server.
+     */
+    @Parameter(property = "itShards", defaultValue = "1")
+    private int itShards;
+
+    /**
+     * Difference between the endpoint ports of consecutive integration test servers, starting
+     * from the ports of the dev mode server.
+     */
+    @Parameter(property = "itShardPortOffset", defaultValue = "100")
+    private int itShardPortOffset;
+
+    private IntegrationTestShards integrationTestShards;
+
+    private boolean integrationTestServersStopHookAdded = false;
+
+    /**
+     * Redefine changed classes in the running server over the debug port when only method bodies
+     * changed, instead of restarting the application. The server then updates applications only when
+     * dev mode tells it to, through the FileNotificationMBean. Requires the debug port.
+     */
+    @Parameter(property = "hotSwap", defaultValue = "false")
+    private boolean hotSwap;
+
+    private HotSwapSupport hotSwapSupport;
+
+    private ExplodedWarSync explodedWarSync;
+
+    /**
+     * Record the duration of each dev mode step to liberty-dev-timeline.ndjson in the build directory,
+     * and show the percentiles of the durations when dev mode exits.
+     */
+    @Parameter(property = "recordTimeline", defaultValue = "false")
+    private boolean recordTimeline;
+
+    private DevTimeline timeline;
+
+    private final AtomicInteger runId = new AtomicInteger();
+
+    /**
+     * Leave the server running when dev mode exits, so that the next run of dev mode attaches to it
+     * instead of starting it again. The server is restarted if its JVM options, bootstrap properties,
+     * server environment or debug settings changed.
+     */
+    @Parameter(property = "keepServerRunning", defaultValue = "false")
+    private boolean keepServerRunning;
+
+    /**
+     * Set when dev mode exits, before the shutdown hook stops the server, as opposed to stopping the
+     * server to restart it.
+     */
+    private volatile boolean exiting = false;
+
+    private boolean attachToServer = false;
 
     private ServerTask serverTask = null;
 
@@ -209,6 +393,41 @@ public class DevMojo extends LooseAppSupport {
     @Parameter(property = "clean", defaultValue = "false")
     protected boolean clean;
 
+    /**
+     * Glob patterns, relative to the project directory, of the resource and web resource files
+     * whose changes dev mode processes. All files are processed if not set.
+     */
+    @Parameter(property = "watchIncludes")
+    private List<String> watchIncludes;
+
+    /**
+     * Glob patterns, relative to the project directory, of the resource and web resource files and
+     * directories that dev mode does not watch. Excluded directories are not registered with the
+     * file watcher. Defaults to node_modules directories.
+     */
+    @Parameter(property = "watchExcludes")
+    private List<String> watchExcludes;
+
+    /**
+     * Glob patterns, relative to the project directory, of resource and web resource directories
+     * that change rarely, which dev mode polls every watchPollInterval seconds instead of
+     * registering them with the file watcher.
+     */
+    @Parameter(property = "watchPollDirectories")
+    private List<String> watchPollDirectories;
+
+    /**
+     * Time in seconds between polls of the watchPollDirectories.
+     */
+    @Parameter(property = "watchPollInterval", defaultValue = "10")
+    private int watchPollInterval;
+
+    private WatchPlan watchPlan;
+
+    private List<File> configuredResourceDirs;
+
+    private List<Path> configuredWebResourceDirs;
+
     /**
      * Poll for file changes instead of using file system notifications (test only).
      */
@@ -329,7 +548,43 @@ public class DevMojo extends LooseAppSupport {
     
     private boolean isExplodedLooseWarApp = false;
     private boolean isNewInstallation = true;
-    private static Map<String,Boolean> compileMojoError = new HashMap<>();
+    private static Map<String,Boolean> compileMojoError = new ConcurrentHashMap<>();
+    private static Set<String> precompiledModules = ConcurrentHashMap.newKeySet();
+    private DevStateSnapshot devState;
+
+    private static final String GENERATE_FEATURES_STEP = "generateFeatures";
+    private static final String INSTALL_FEATURE_STEP = "installFeature";
+    private static final String PROCESSOR_PATH_STEP = "annotationProcessorPath";
+    private static final String FILE_EVENT_STEP = "fileEvent";
+    private static final String COMPILE_STEP = "compile";
+    private static final String BUILD_STEP = "build";
+    // the expressions that the resources plugin replaces with its default delimiters
+    private static final Pattern FILTER_EXPRESSION = Pattern.compile("\\$\\{([^}]+)\\}|@([^@\\s]+)@");
+    // polls the files of directories that are not watched because they contain excluded or polled directories
+    private static final long WATCH_SPLIT_POLL_INTERVAL = 1000;
+    private static final String CREATE_STEP = "create";
+    private static final String DEPLOY_STEP = "deploy";
+
+    /** The number of artifacts prefetched at the same time. */
+    private static final int PREFETCH_THREADS = 4;
+
+    private static final String OPEN_LIBERTY_FEATURES_GROUP_ID = "io.openliberty.features";
+    private static final String WEBSPHERE_LIBERTY_FEATURES_GROUP_ID = "com.ibm.websphere.appserver.features";
+
+    /** The most startup steps that can run at the same time: compiling, and creating the server and installing features. */
+    private static final int STARTUP_THREADS = 2;
+
+    /**
+     * Surefire parameters that need a forked JVM or select tests in ways the in-process runner
+     * does not replicate.
+     */
+    private static final String[] IN_PROCESS_UNSUPPORTED_CONFIG = { "argLine", "systemPropertyVariables", "systemProperties",
+            "systemPropertiesFile", "environmentVariables", "additionalClasspathElements", "classpathDependencyExcludes",
+            "classpathDependencyScopeExclude", "dependenciesToScan", "groups", "excludedGroups", "parallel", "test", "skip",
+            "skipTests", "skipExec", "jvm", "workingDirectory", "properties" };
+    // the JUnit Platform and its dependencies, which stay loaded between in-process test runs
+    private static final List<String> IN_PROCESS_SHARED_GROUPS = Arrays.asList("org.junit.platform", "org.junit.jupiter",
+            "org.junit.vintage", "junit", "org.hamcrest", "org.opentest4j", "org.apiguardian");
 
     /**
      * Set the container option.
@@ -365,6 +620,16 @@ public class DevMojo extends LooseAppSupport {
         Set<String> existingPlatforms;
         Map<String, File> libertyDirPropertyFiles = new HashMap<String, File>();
         List<MavenProject> upstreamMavenProjects;
+        private final InstalledFeatureIndex installedFeatures;
+        // incremented for every background feature generation, so that older runs know they are stale
+        private final AtomicInteger featureGenerations = new AtomicInteger();
+        // held while resources and the loose application are updated, which happens on the watcher thread and for polled changes
+        private final Object changeLock = new Object();
+        private ExecutorService polledChangesExecutor;
+        private ExecutorService featureGenerationExecutor;
+        private IncrementalResourceSync resourceSync;
+        private IncrementalJavaCompiler incrementalCompiler;
+        private ChangeCoalescer changeCoalescer;
 
         public DevMojoUtil(File installDir, File userDir, File serverDirectory, File sourceDirectory,
                            File testSourceDirectory, File configDirectory, File projectDirectory, File multiModuleProjectDirectory,
@@ -389,6 +654,14 @@ public class DevMojo extends LooseAppSupport {
             	this.existingPlatforms = fp.getPlatforms();
             }
             this.upstreamMavenProjects = upstreamMavenProjects;
+            this.installedFeatures = new InstalledFeatureIndex(installDir, userDir);
+
+            if (incrementalCompile) {
+                incrementalCompiler = new IncrementalJavaCompiler(new ClassDependencyIndex(), getLog());
+            }
+            if (bulkChangeThreshold > 0) {
+                changeCoalescer = new ChangeCoalescer((long) (compileWait * 1000L), (long) (maxCompileWait * 1000L), bulkChangeThreshold);
+            }
 
             setContainerEngine(this);
         }
@@ -445,10 +718,178 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         protected boolean recompileJava(Collection<File> javaFilesChanged, Set<String> artifactPaths, ThreadPoolExecutor executor, boolean tests, File outputDirectory, File testOutputDirectory, String projectName, File projectBuildFile, JavaCompilerOptions projectCompilerOptions, boolean forceSkipUTs, boolean skipRunningTests) throws PluginExecutionException {
+            FileTreeIndex.update(javaFilesChanged);
+            long lastModified = 0;
+            for (File file : javaFilesChanged) {
+                lastModified = Math.max(lastModified, file.lastModified());
+            }
+            if (lastModified > 0) {
+                // time from the last change to the start of the compile, including the compile wait
+                timeline.record(FILE_EVENT_STEP, projectName, Math.max(System.currentTimeMillis() - lastModified, 0), true, null);
+            }
+            String step = tests ? "testCompile" : "compile";
+            long start = System.nanoTime();
+            long logOffset = timeline.getMessagesLogLength();
+            boolean compiled = false;
+            try {
+                compiled = recompileChangedSources(javaFilesChanged, artifactPaths, executor, tests, outputDirectory, testOutputDirectory,
+                        projectName, projectBuildFile, projectCompilerOptions, forceSkipUTs, skipRunningTests);
+                return compiled;
+            } finally {
+                timeline.record(step, projectName, start, compiled);
+                if (compiled && !tests) {
+                    timeline.watchApplicationUpdate(step, start, logOffset);
+                }
+            }
+        }
+
+        private boolean recompileChangedSources(Collection<File> javaFilesChanged, Set<String> artifactPaths, ThreadPoolExecutor executor, boolean tests, File outputDirectory, File testOutputDirectory, String projectName, File projectBuildFile, JavaCompilerOptions projectCompilerOptions, boolean forceSkipUTs, boolean skipRunningTests) throws PluginExecutionException {
             if (projectCompilerOptions != null && projectCompilerOptions.getOptions() != null) {
                 getLog().info("Recompiling with compiler options: " + projectCompilerOptions.getOptions());
             }
-            return super.recompileJava(javaFilesChanged, artifactPaths, executor, tests, outputDirectory, testOutputDirectory, projectName, projectBuildFile, projectCompilerOptions, forceSkipUTs, skipRunningTests);
+            File classesDirectory = tests ? testOutputDirectory : outputDirectory;
+            boolean bulkCompile = false;
+            if (changeCoalescer != null && !javaFilesChanged.isEmpty()) {
+                String key = "java:" + classesDirectory;
+                List<File> remaining = new ArrayList<File>();
+                for (File file : javaFilesChanged) {
+                    if (!changeCoalescer.isCoalesced(key, file)) {
+                        remaining.add(file);
+                    }
+                }
+                reportCoalescedChanges(key, "Java source");
+                if (remaining.isEmpty()) {
+                    getLog().debug("All changed Java sources in " + projectName + " were compiled by the last bulk compile");
+                    return true;
+                }
+                javaFilesChanged = remaining;
+                File sourceRoot = getSourceRoot(remaining.get(0), tests);
+                if (sourceRoot != null && changeCoalescer.recordChanges(remaining.size())) {
+                    getLog().info("Detected a burst of Java source changes in " + projectName + ", waiting for the changes to settle.");
+                    Map<File, Long> snapshot = changeCoalescer.awaitQuiet(Collections.singleton(sourceRoot), ".java");
+                    changeCoalescer.bulkUpdated(key, snapshot);
+                    List<File> allSources = new ArrayList<File>(snapshot.keySet());
+                    for (File file : remaining) {
+                        if (!file.exists()) {
+                            allSources.add(file);
+                        }
+                    }
+                    javaFilesChanged = allSources;
+                    bulkCompile = true;
+                    getLog().info("Compiling all " + snapshot.size() + " Java sources in " + sourceRoot + " in a single pass.");
+                }
+            }
+            Collection<File> javaFilesToCompile = javaFilesChanged;
+            List<String> options = projectCompilerOptions == null ? null : projectCompilerOptions.getOptions();
+            boolean incremental = incrementalCompiler != null && !bulkCompile && !javaFilesChanged.isEmpty();
+            if (incremental) {
+                Set<String> classpath = new HashSet<String>();
+                if (artifactPaths != null) {
+                    classpath.addAll(artifactPaths);
+                }
+                if (tests) {
+                    classpath.add(outputDirectory.getAbsolutePath());
+                }
+                try {
+                    javaFilesToCompile = incrementalCompiler.getSourcesToCompile(javaFilesChanged, classesDirectory, classpath, options);
+                    if (javaFilesToCompile.isEmpty()) {
+                        getLog().debug("No Java sources in " + projectName + " are affected by the changes, skipping compilation");
+                        return true;
+                    }
+                    getLog().debug("Incremental compile of " + javaFilesToCompile.size() + " Java sources for " + javaFilesChanged.size() + " changed sources");
+                } catch (IOException e) {
+                    getLog().debug("Unable to determine the affected Java sources, compiling all changed sources", e);
+                    javaFilesToCompile = javaFilesChanged;
+                    incremental = false;
+                }
+            }
+            boolean compiled = compileSources(javaFilesToCompile, artifactPaths, executor, tests, outputDirectory, testOutputDirectory,
+                    projectName, projectBuildFile, projectCompilerOptions, forceSkipUTs, skipRunningTests);
+            // the compiled classes are diffed against the index, which only finds more affected sources
+            // if they could not be compiled in memory first
+            while (compiled && incremental) {
+                Collection<File> affected;
+                try {
+                    affected = incrementalCompiler.compiled(javaFilesToCompile, classesDirectory, options);
+                } catch (IOException e) {
+                    getLog().debug("Unable to update the class index for " + classesDirectory, e);
+                    break;
+                }
+                if (affected.isEmpty()) {
+                    break;
+                }
+                getLog().debug("Compiling " + affected.size() + " Java sources in " + projectName + " affected by ABI changes");
+                javaFilesToCompile = affected;
+                compiled = compileSources(javaFilesToCompile, artifactPaths, executor, tests, outputDirectory, testOutputDirectory,
+                        projectName, projectBuildFile, projectCompilerOptions, forceSkipUTs, skipRunningTests);
+            }
+            return compiled;
+        }
+
+        private boolean compileSources(Collection<File> javaFilesToCompile, Set<String> artifactPaths, ThreadPoolExecutor executor,
+                boolean tests, File outputDirectory, File testOutputDirectory, String projectName, File projectBuildFile,
+                JavaCompilerOptions projectCompilerOptions, boolean forceSkipUTs, boolean skipRunningTests) throws PluginExecutionException {
+            File classesDirectory = tests ? testOutputDirectory : outputDirectory;
+            // test classes are not part of the application
+            Set<File> packageDirectories = hotSwapSupport != null && !tests
+                    ? getPackageDirectories(javaFilesToCompile, classesDirectory) : null;
+            Map<File, byte[]> classFilesBefore = packageDirectories != null ? HotSwapSupport.readClassFiles(packageDirectories) : null;
+            long compileStart = System.currentTimeMillis();
+            boolean compiled = super.recompileJava(javaFilesToCompile, artifactPaths, executor, tests, outputDirectory, testOutputDirectory, projectName, projectBuildFile, projectCompilerOptions, forceSkipUTs, skipRunningTests);
+            if (hotSwapSupport != null && !tests) {
+                // the compiler can write classes of other packages, which the diff of the package directories misses
+                if (classFilesBefore != null
+                        && !HotSwapSupport.hasClassFilesChangedOutside(classesDirectory, packageDirectories, compileStart)) {
+                    hotSwapSupport.apply(classFilesBefore, HotSwapSupport.readClassFiles(packageDirectories));
+                } else {
+                    hotSwapSupport.notifyFileChanges(Collections.<File>emptyList(), Collections.singletonList(classesDirectory),
+                            Collections.<File>emptyList());
+                }
+            }
+            return compiled;
+        }
+
+        /**
+         * @return the package directories in the classes directory of the given sources, or null if
+         *         a source is not in a known source directory
+         */
+        private Set<File> getPackageDirectories(Collection<File> sources, File classesDirectory) {
+            Set<File> packageDirectories = new HashSet<File>();
+            for (File source : sources) {
+                File sourceRoot = getSourceRoot(source, false);
+                if (sourceRoot == null) {
+                    return null;
+                }
+                String relativeDir = source.getAbsoluteFile().getParent().substring(sourceRoot.getAbsolutePath().length());
+                packageDirectories.add(new File(classesDirectory, relativeDir));
+            }
+            return packageDirectories;
+        }
+
+        /**
+         * @return the source or test source directory of the main project or an upstream module that
+         *         contains the file, or null if it is not in any of them
+         */
+        private File getSourceRoot(File file, boolean tests) {
+            List<File> roots = new ArrayList<File>();
+            roots.add(tests ? testSourceDirectory : sourceDirectory);
+            for (MavenProject p : upstreamMavenProjects) {
+                roots.add(new File(tests ? p.getBuild().getTestSourceDirectory() : p.getBuild().getSourceDirectory()));
+            }
+            String path = file.getAbsolutePath();
+            for (File root : roots) {
+                if (path.startsWith(root.getAbsolutePath() + File.separator)) {
+                    return root;
+                }
+            }
+            return null;
+        }
+
+        private void reportCoalescedChanges(String key, String kind) {
+            int count = changeCoalescer.takeCoalescedCount(key);
+            if (count > 0) {
+                getLog().info("Coalesced " + count + " " + kind + " change events into the last bulk update.");
+            }
         }
 
         @Override
@@ -467,6 +908,17 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         public boolean libertyGenerateFeatures(Collection<String> classes, boolean optimize, boolean genToSrc, boolean useTmpDirOut, boolean useTmpDirIn) {
+            long start = System.nanoTime();
+            boolean generated = false;
+            try {
+                generated = generateFeaturesForClasses(classes, optimize, genToSrc, useTmpDirOut, useTmpDirIn);
+                return generated;
+            } finally {
+                timeline.record("generateFeatures", getProjectName(), start, generated);
+            }
+        }
+
+        private boolean generateFeaturesForClasses(Collection<String> classes, boolean optimize, boolean genToSrc, boolean useTmpDirOut, boolean useTmpDirIn) {
             try {
                 if (classes != null) {
                     Element[] classesElem = new Element[classes.size()];
@@ -499,6 +951,17 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         public void libertyInstallFeature() throws PluginExecutionException {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                installFeatures();
+                success = true;
+            } finally {
+                timeline.record("installFeature", getProjectName(), start, success);
+            }
+        }
+
+        private void installFeatures() throws PluginExecutionException {
             try {
                 runLibertyMojoInstallFeature(null, null, container ? super.getContainerName() : null);
             } catch (MojoExecutionException e) {
@@ -523,10 +986,25 @@ public class DevMojo extends LooseAppSupport {
                 // TODO stop the container instead
                 return;
             }
+            // a server that was only attached to is stopped unless it should be kept running
+            if (keepServerRunning && serverTask instanceof AttachedServerTask && exiting) {
+                File serverOutputDirectory = new File(DevMojo.super.outputDirectory, serverName);
+                try {
+                    AttachedServerTask.writeState(serverOutputDirectory, getRestartFingerprint());
+                    ((AttachedServerTask) serverTask).detach();
+                    getLog().info("Left the server " + serverName + " running. The next run of dev mode attaches to it."
+                            + " You can stop the server with the command 'mvn liberty:stop'.");
+                    return;
+                } catch (IOException e) {
+                    getLog().debug("Could not record that the server was left running, stopping it", e);
+                }
+            }
             try {
                 ServerTask serverTask = initializeJava();
                 serverTask.setOperation("stop");
-                serverTask.execute();
+                try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.STOP_SERVER, project.getId(), serverName, null)) {
+                    serverTask.execute();
+                }
             } catch (Exception e) {
                 getLog().warn(MessageFormat.format(messages.getString("warn.server.stopped"), serverName));
             }
@@ -536,6 +1014,9 @@ public class DevMojo extends LooseAppSupport {
         public ServerTask getServerTask() throws Exception {
             if (serverTask != null) {
                 return serverTask;
+            } else if (keepServerRunning || attachToServer) {
+                serverTask = getAttachedServerTask();
+                return serverTask;
             } else {
                 // Setup server task
                 serverTask = initializeJava();
@@ -549,6 +1030,9 @@ public class DevMojo extends LooseAppSupport {
 
                     // Merge toolchain environment with debug environment
                     Map<String, String> debugEnv = getDebugEnvironmentVariables();
+                    if (hotSwapSupport != null) {
+                        hotSwapSupport.setDebugPort(getDebugPort(debugEnv.get("WLP_DEBUG_ADDRESS")));
+                    }
                     if (toolchain != null) {
                         String toolchainJavaHome = getJdkHomeFromToolchain(toolchain);
                         if (toolchainJavaHome != null) {
@@ -564,6 +1048,70 @@ public class DevMojo extends LooseAppSupport {
             }
         }
 
+        /**
+         * Create a server task that starts the server in the background, or attaches to the server
+         * that a previous run of dev mode left running. The running server is stopped first if it
+         * has to be restarted to pick up changes.
+         */
+        private ServerTask getAttachedServerTask() throws Exception {
+            ServerTask startTask = initializeJava();
+            copyConfigFiles();
+            startTask.setClean(clean);
+            startTask.setOperation("start");
+            startTask.setTimeout(Long.toString(serverStartTimeout * 1000L));
+            if (libertyDebug) {
+                setLibertyDebugPort(libertyDebugPort);
+
+                // the start operation does not enable debugging, so pass the debug agent explicitly
+                Map<String, String> debugEnv = getDebugEnvironmentVariables();
+                String debugAddress = debugEnv.get("WLP_DEBUG_ADDRESS");
+                debugEnv.put("JVM_ARGS", "-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=" + debugAddress);
+                if (hotSwapSupport != null) {
+                    hotSwapSupport.setDebugPort(getDebugPort(debugAddress));
+                }
+                if (toolchain != null) {
+                    String toolchainJavaHome = getJdkHomeFromToolchain(toolchain);
+                    if (toolchainJavaHome != null) {
+                        debugEnv.put("JAVA_HOME", toolchainJavaHome);
+                    }
+                }
+                startTask.setEnvironmentVariables(debugEnv);
+            }
+
+            File serverOutputDirectory = new File(DevMojo.super.outputDirectory, serverName);
+            if (attachToServer) {
+                String previous = AttachedServerTask.readState(serverOutputDirectory);
+                String reason = null;
+                if (clean) {
+                    reason = "clean is set";
+                } else if (previous == null || !previous.equals(getRestartFingerprint())) {
+                    reason = "its JVM options, bootstrap properties, server environment or debug settings changed";
+                } else if (!new File(serverOutputDirectory, "logs/messages.log").isFile()) {
+                    reason = "its log file is missing";
+                }
+                if (reason != null) {
+                    getLog().info("Restarting the running server " + serverName + " because " + reason + ".");
+                    ServerTask stopTask = initializeJava();
+                    stopTask.setOperation("stop");
+                    try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.STOP_SERVER, project.getId(), serverName, null)) {
+                        stopTask.execute();
+                    }
+                }
+            }
+            AttachedServerTask.clearState(serverOutputDirectory);
+
+            AttachedServerTask attachedTask = new AttachedServerTask(startTask, installDirectory, DevMojo.super.outputDirectory, serverName);
+            attachedTask.setInstallDir(installDirectory);
+            attachedTask.setServerName(serverName);
+            attachedTask.setUserDir(userDirectory);
+            attachedTask.setOutputDir(DevMojo.super.outputDirectory);
+            return attachedTask;
+        }
+
+        private String getRestartFingerprint() {
+            return AttachedServerTask.getRestartFingerprint(DevMojo.this.serverDirectory, libertyDebug + ":" + libertyDebugPort);
+        }
+
         private Properties getPropertiesWithKeyPrefix(Properties p, String prefix) {
             Properties result = new Properties();
             if (p != null) {
@@ -804,7 +1352,11 @@ public class DevMojo extends LooseAppSupport {
                     if (!dependencyListsEquals(getCompileDependency(deps), getCompileDependency(oldDeps))) {
                         boolean generateFeaturesSuccess = false;
                         // optimize generate features
-                        if (generateFeatures) {
+                        if (generateFeatures && asyncGenerateFeatures) {
+                            // redeploy with the current features, generate the new ones below
+                            getLog().debug("Detected a change in the compile dependencies for "
+                                    + buildFile + " , regenerating features in the background");
+                        } else if (generateFeatures) {
                             getLog().debug("Detected a change in the compile dependencies for "
                                     + buildFile + " , regenerating features");
                             // If generateToSrc is false then we must copy new generated features file from temp dir to server dir after install
@@ -824,6 +1376,9 @@ public class DevMojo extends LooseAppSupport {
                         if (generateFeaturesSuccess) {
                             updateExistingFeatures(); // update the dev mode cache of features in the server
                         }
+                        if (generateFeatures && asyncGenerateFeatures) {
+                            generateFeaturesInBackground();
+                        }
                     }
                 }
             } catch (ProjectBuildingException | DependencyResolutionRequiredException | IOException
@@ -896,9 +1451,7 @@ public class DevMojo extends LooseAppSupport {
         }
         
         private MavenProject getMavenProject(File buildFile) throws ProjectBuildingException {
-            ProjectBuildingResult build = mavenProjectBuilder.build(buildFile,
-                    session.getProjectBuildingRequest().setResolveDependencies(true));
-            MavenProject builtProject = build.getProject();
+            MavenProject builtProject = buildMavenProject(buildFile);
             updateUpstreamProjectsArtifactPathToOutputDirectory(builtProject);
             return builtProject;
         }
@@ -923,6 +1476,23 @@ public class DevMojo extends LooseAppSupport {
         
         @Override
         protected void updateLooseApp() throws PluginExecutionException {
+            long start = System.nanoTime();
+            long logOffset = timeline.getMessagesLogLength();
+            boolean success = false;
+            try {
+                synchronized (changeLock) {
+                    updateApplication();
+                }
+                success = true;
+            } finally {
+                timeline.record("updateLooseApp", getProjectName(), start, success);
+                if (success) {
+                    timeline.watchApplicationUpdate("updateLooseApp", start, logOffset);
+                }
+            }
+        }
+
+        private void updateApplication() throws PluginExecutionException {
             // Only perform operations if we are a war type application
             if (project.getPackaging().equals("war")) {
                 // Check if we are using an exploded loose app
@@ -942,7 +1512,7 @@ public class DevMojo extends LooseAppSupport {
                         redeployApp();
                     } else {
                         try {
-                            runExplodedMojo();
+                            updateExplodedApp();
                         } catch (MojoExecutionException e) {
                             getLog().error("Failed to run war:exploded goal", e);
                         }
@@ -959,12 +1529,57 @@ public class DevMojo extends LooseAppSupport {
             }
         }
 
+        /**
+         * Process the changes that the watch plan found by polling the directories that are not
+         * registered with the watcher, as the watcher would have. The changes are processed one
+         * poll at a time on a separate thread, and not at the same time as the watcher thread
+         * updates resources or the application.
+         */
+        void polledFilesChanged(final File root, final List<File> changed, final List<File> deleted) {
+            getLog().debug("Polling found " + changed.size() + " changed and " + deleted.size() + " deleted files in " + root);
+            if (polledChangesExecutor == null) {
+                polledChangesExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "liberty-dev-polled-changes");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            polledChangesExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (changeLock) {
+                        processPolledChanges(root, changed, deleted);
+                    }
+                }
+            });
+        }
+
+        private void processPolledChanges(File root, List<File> changed, List<File> deleted) {
+            try {
+                if (configuredResourceDirs.contains(root)) {
+                    for (File file : changed) {
+                        resourceModifiedOrCreated(file, root, DevMojo.this.outputDirectory);
+                    }
+                    for (File file : deleted) {
+                        resourceDeleted(file, root, DevMojo.this.outputDirectory);
+                    }
+                } else {
+                    updateLooseApp();
+                }
+            } catch (IOException | PluginExecutionException e) {
+                getLog().error("Failed to process the changes in " + root, e);
+            }
+        }
+
         @Override
         protected void resourceDirectoryCreated() throws IOException {
             if (project.getPackaging().equals("war") && LooseWarApplication.isExploded(project)) {
                 try {
                     runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
-                    runExplodedMojo();
+                    updateExplodedApp();
                 } catch (MojoExecutionException e) {
                     getLog().error("Failed to run goal(s)", e);
                 }
@@ -973,17 +1588,98 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         protected void resourceModifiedOrCreated(File fileChanged, File resourceParent, File outputDirectory) throws IOException {
+            if (!watchPlan.isWatched(fileChanged)) {
+                getLog().debug("Ignoring change to excluded resource " + fileChanged);
+                return;
+            }
+            // the watcher may have registered a subdirectory of the resource directory
+            resourceParent = watchPlan.getRoot(resourceParent);
+            long start = System.nanoTime();
+            long logOffset = timeline.getMessagesLogLength();
+            boolean success = false;
+            try {
+                synchronized (changeLock) {
+                    updateResource(fileChanged, resourceParent, outputDirectory);
+                }
+                success = true;
+            } finally {
+                timeline.record("resources", getProjectName(), start, success);
+                if (success) {
+                    timeline.watchApplicationUpdate("resources", start, logOffset);
+                }
+            }
+        }
+
+        private void updateResource(File fileChanged, File resourceParent, File outputDirectory) {
+            copyResource(fileChanged, resourceParent, outputDirectory);
+            if (hotSwapSupport != null) {
+                hotSwapSupport.notifyFileChanges(Collections.<File>emptyList(),
+                        Collections.singletonList(getResourceTarget(fileChanged, resourceParent, outputDirectory)), Collections.<File>emptyList());
+            }
+        }
+
+        private File getResourceTarget(File fileChanged, File resourceParent, File outputDirectory) {
+            String relativePath = fileChanged.getAbsolutePath().substring(resourceParent.getAbsolutePath().length());
+            return new File(outputDirectory, relativePath);
+        }
+
+        private void copyResource(File fileChanged, File resourceParent, File outputDirectory) {
             /**
              * There is an asymmetry here that we take advantage of in the exploded case. For multi-mod, this would be a copyFile, which
              * does not apply Maven filters.
+             *
+             * Only the changed file is copied or filtered when possible. The full resources goal is run when the filter inputs
+             * changed or the resource configuration is something the incremental copy does not handle.
              */
+            IncrementalResourceSync sync = getResourceSync();
+            if (changeCoalescer != null) {
+                String key = "resources:" + outputDirectory;
+                if (changeCoalescer.isCoalesced(key, fileChanged)) {
+                    getLog().debug("Resource " + fileChanged + " was copied by the last bulk update");
+                    return;
+                }
+                reportCoalescedChanges(key, "resource");
+                if (changeCoalescer.recordChanges(1)) {
+                    getLog().info("Detected a burst of resource changes, waiting for the changes to settle.");
+                    Map<File, Long> snapshot = changeCoalescer.awaitQuiet(Collections.singleton(resourceParent), null);
+                    try {
+                        runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
+                        sync.refreshFilterInputs();
+                        changeCoalescer.bulkUpdated(key, snapshot);
+                    } catch (MojoExecutionException e) {
+                        getLog().error("Failed to run goal(s)", e);
+                    }
+                    return;
+                }
+            }
+            try {
+                if (sync.sync(fileChanged, outputDirectory)) {
+                    return;
+                }
+            } catch (IOException e) {
+                getLog().debug("Unable to copy " + fileChanged + " incrementally, running the resources goal", e);
+            }
             try {
                 runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
+                sync.refreshFilterInputs();
             } catch (MojoExecutionException e) {
                 getLog().error("Failed to run goal(s)", e);
             }
         }
 
+        /**
+         * Get the incremental resource copier for the current project. The project is rebuilt
+         * when the pom changes, so a new copier is created to pick up any resource configuration changes.
+         */
+        private IncrementalResourceSync getResourceSync() {
+            if (resourceSync == null || resourceSync.getProject() != project) {
+                Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(getPlugin("org.apache.maven.plugins", "maven-resources-plugin"),
+                        "resources", getLog());
+                resourceSync = new IncrementalResourceSync(project, session.getUserProperties(), config, getLog());
+            }
+            return resourceSync;
+        }
+
         @Override
         protected void resourceDeleted(File fileChanged, File resourceParent, File outputDirectory) throws IOException {
 
@@ -996,11 +1692,25 @@ public class DevMojo extends LooseAppSupport {
              * exploded goal to force an "outdated" update cleaning this file from this location. Another approach might have been to do a
              * delteFile() in the 'webapp' directory.
              */
+            if (!watchPlan.isWatched(fileChanged)) {
+                getLog().debug("Ignoring deletion of excluded resource " + fileChanged);
+                return;
+            }
+            resourceParent = watchPlan.getRoot(resourceParent);
+            synchronized (changeLock) {
+                deleteResource(fileChanged, resourceParent, outputDirectory);
+            }
+        }
 
+        private void deleteResource(File fileChanged, File resourceParent, File outputDirectory) throws IOException {
             deleteFile(fileChanged, resourceParent, outputDirectory, null);
+            if (hotSwapSupport != null) {
+                hotSwapSupport.notifyFileChanges(Collections.<File>emptyList(), Collections.<File>emptyList(),
+                        Collections.singletonList(getResourceTarget(fileChanged, resourceParent, outputDirectory)));
+            }
             if (project.getPackaging().equals("war") && LooseWarApplication.isExploded(project)) {
                 try {
-                    runExplodedMojo();
+                    updateExplodedApp();
                 } catch (MojoExecutionException e) {
                     getLog().error("Failed to run goal(s)", e);
                 }
@@ -1010,6 +1720,18 @@ public class DevMojo extends LooseAppSupport {
         @Override
         public boolean recompileBuildFile(File buildFile, Set<String> compileArtifactPaths,
                 Set<String> testArtifactPaths, boolean generateFeatures, ThreadPoolExecutor executor) throws PluginExecutionException {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                success = processBuildFileChange(buildFile, compileArtifactPaths, testArtifactPaths, generateFeatures, executor);
+                return success;
+            } finally {
+                timeline.record("buildFile", getProjectName(), start, success);
+            }
+        }
+
+        private boolean processBuildFileChange(File buildFile, Set<String> compileArtifactPaths,
+                Set<String> testArtifactPaths, boolean generateFeatures, ThreadPoolExecutor executor) throws PluginExecutionException {
             // monitoring project pom.xml file changes in dev mode:
             // - liberty.* properties in project properties section
             // - changes in liberty plugin configuration in the build plugin section
@@ -1023,10 +1745,9 @@ public class DevMojo extends LooseAppSupport {
             boolean optimizeGenerateFeatures = false;
             boolean generateFeaturesSuccess = false;
 
-            ProjectBuildingResult build;
+            MavenProject builtProject;
             try {
-                build = mavenProjectBuilder.build(buildFile,
-                        session.getProjectBuildingRequest().setResolveDependencies(true));
+                builtProject = buildMavenProject(buildFile);
             } catch (ProjectBuildingException e) {
                 getLog().error("Could not parse pom.xml. " + e.getMessage());
                 getLog().debug(e);
@@ -1037,7 +1758,7 @@ public class DevMojo extends LooseAppSupport {
             Plugin backupLibertyPlugin = getLibertyPlugin();
             Plugin backupWarPlugin = getPluginForProject("org.apache.maven.plugins", "maven-war-plugin", project);
             MavenProject backupProject = project;
-            project = build.getProject();
+            project = builtProject;
             session.setCurrentProject(project);
             Plugin libertyPlugin = getLibertyPlugin();
             Plugin warPlugin = getPluginForProject("org.apache.maven.plugins", "maven-war-plugin", project);
@@ -1136,7 +1857,13 @@ public class DevMojo extends LooseAppSupport {
                 compileArtifactPaths.addAll(project.getCompileClasspathElements());
                 testArtifactPaths.addAll(project.getTestClasspathElements());
 
-                if (optimizeGenerateFeatures && generateFeatures) {
+                // a restart installs features before the server starts, so it keeps generating them first
+                boolean backgroundFeatureGeneration = optimizeGenerateFeatures && generateFeatures && asyncGenerateFeatures
+                        && !restartServer && !reinstallLiberty;
+                if (backgroundFeatureGeneration) {
+                    // redeploy with the current features, generate the new ones below
+                    getLog().debug("Detected a change in the compile dependencies, regenerating features in the background");
+                } else if (optimizeGenerateFeatures && generateFeatures) {
                     getLog().debug("Detected a change in the compile dependencies, regenerating features");
                     // always optimize generate features on dependency change
                     // If generateToSrc is false then we must copy (below) new generated features file from temp dir to server dir
@@ -1150,7 +1877,7 @@ public class DevMojo extends LooseAppSupport {
                 // We don't currently have the ability to dynamically add new directories to be watched
                 // There is so much that we are dynamically able to do that this could be surprising.
                 // For now issue a warning
-                Set<Path> oldMonitoredWebResourceDirs = new HashSet<Path>(this.monitoredWebResourceDirs);
+                Set<Path> oldMonitoredWebResourceDirs = new HashSet<Path>(configuredWebResourceDirs);
                 Set<Path> newMonitoredWebResourceDirs = new HashSet<Path>(LooseWarApplication.getWebSourceDirectoriesToMonitor(project));
                 if (!oldMonitoredWebResourceDirs.equals(newMonitoredWebResourceDirs)) {
                     getLog().warn("Change detected in the set of filtered web resource directories, since dev mode was first launched.  Adding/deleting a web resource directory has no change on the set of directories monitored by dev mode.  Changing the watch list will require a dev mode restart");
@@ -1158,7 +1885,7 @@ public class DevMojo extends LooseAppSupport {
                 
                 // convert to Path, which seems to offer more reliable cross-platform, relative path comparison, then compare
                 Set<Path> oldResourceDirs = new HashSet<Path>();
-                this.resourceDirs.forEach(r -> oldResourceDirs.add(r.toPath()));                
+                configuredResourceDirs.forEach(r -> oldResourceDirs.add(r.toPath()));                
                 Set<Path> newResourceDirs = new HashSet<Path>();
                 project.getResources().forEach(r -> newResourceDirs.add(Paths.get(r.getDirectory())));
                 if (!oldResourceDirs.equals(newResourceDirs)) {
@@ -1199,6 +1926,9 @@ public class DevMojo extends LooseAppSupport {
                     if (installFeature) {
                         runLibertyMojoInstallFeature(null, null, super.getContainerName());
                     }
+                    if (backgroundFeatureGeneration) {
+                        generateFeaturesInBackground();
+                    }
                 }
                 if (!(reinstallLiberty || restartServer || createServer || redeployApp || installFeature || runBoostPackage)) {
                     // pom.xml is changed but not affecting liberty:dev mode. return true with the
@@ -1219,6 +1949,89 @@ public class DevMojo extends LooseAppSupport {
             return true;
         }
 
+        /**
+         * Generate and install the features on a background thread, then apply them to the
+         * server with a single update of the generated features file if they changed. A newer
+         * call makes the runs that have not finished stale, and a stale run stops before its
+         * next step.
+         */
+        private void generateFeaturesInBackground() {
+            final int generation = featureGenerations.incrementAndGet();
+            if (featureGenerationExecutor == null) {
+                featureGenerationExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "liberty-dev-generate-features");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            featureGenerationExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (isStale(generation)) {
+                        return;
+                    }
+                    boolean success = optimizeGenerateFeatures(!generateToSrc, false);
+                    if (isStale(generation)) {
+                        return;
+                    }
+                    util.installFeaturesToTempDir(generateFeaturesFile, generateFeaturesOutputDir, null, success);
+                    if (!success || isStale(generation)) {
+                        return;
+                    }
+                    // when generating to the src dir, the config file watcher copies the file to the server
+                    if (!generateToSrc && applyGeneratedFeatures()) {
+                        updateExistingFeatures();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Stop the background threads that process polled changes and generate features when
+         * dev mode exits. Work that is still queued is dropped.
+         */
+        void shutdownExecutors() {
+            if (polledChangesExecutor != null) {
+                polledChangesExecutor.shutdownNow();
+            }
+            if (featureGenerationExecutor != null) {
+                featureGenerationExecutor.shutdownNow();
+            }
+        }
+
+        private boolean isStale(int generation) {
+            if (generation != featureGenerations.get()) {
+                getLog().debug("A newer change superseded the background generation of features");
+                return true;
+            }
+            return false;
+        }
+
+        // Move the generated features file into the server in one step, if its content changed
+        private boolean applyGeneratedFeatures() {
+            File generated = new File(generateFeaturesOutputDir, FeatureGeneratorUtil.GENERATED_FEATURES_FILE_PATH);
+            File target = new File(serverDirectory, FeatureGeneratorUtil.GENERATED_FEATURES_FILE_PATH);
+            try {
+                if (!generated.isFile()
+                        || (target.isFile() && Arrays.equals(Files.readAllBytes(generated.toPath()), Files.readAllBytes(target.toPath())))) {
+                    getLog().debug("The generated features did not change");
+                    return false;
+                }
+                target.getParentFile().mkdirs();
+                File temp = new File(target.getParentFile(), "." + target.getName() + ".tmp");
+                Files.copy(generated.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (IOException e) {
+                getLog().error("Could not update the generated features in the server: " + e.getMessage());
+                getLog().debug(e);
+                return false;
+            }
+        }
+
         // check if generateFeatures is enabled and install feature failed. If Liberty dependencies
         // are in the build file display warning
         private void libertyDependencyWarning(boolean generateFeatures, Exception e) {
@@ -1253,15 +2066,27 @@ public class DevMojo extends LooseAppSupport {
                     // check if features have been added and install new features
                     if (!features.isEmpty()) {
                         getLog().info("Configuration features have been added: " + features);
-                        // pass all new features to install-feature as backup in case the serverDir cannot be accessed
-                        Element[] featureElems = new Element[features.size() + 1];
-                        featureElems[0] = element(name("acceptLicense"), "true");
-                        String[] values = features.toArray(new String[features.size()]);
-                        for (int i = 0; i < features.size(); i++) {
-                            featureElems[i + 1] = element(name("feature"), values[i]);
+                        Set<String> featuresToInstall = features;
+                        boolean onlyMissingFeatures = false;
+                        if (super.getContainerName() == null) {
+                            // resolve only the features that are not in the runtime yet
+                            featuresToInstall = installedFeatures.getMissingFeatures(features);
+                            onlyMissingFeatures = true;
                         }
-                        runLibertyMojoInstallFeature(element(name("features"), featureElems), serverDir, super.getContainerName());
-                    }
+                        if (featuresToInstall.isEmpty()) {
+                            getLog().debug("The added features are already installed, skipping liberty:install-feature");
+                        } else {
+                            // pass all new features to install-feature as backup in case the serverDir cannot be accessed
+                            Element[] featureElems = new Element[featuresToInstall.size() + 1];
+                            featureElems[0] = element(name("acceptLicense"), "true");
+                            String[] values = featuresToInstall.toArray(new String[featuresToInstall.size()]);
+                            for (int i = 0; i < featuresToInstall.size(); i++) {
+                                featureElems[i + 1] = element(name("feature"), values[i]);
+                            }
+                            runLibertyMojoInstallFeature(element(name("features"), featureElems), serverDir, super.getContainerName(),
+                                    onlyMissingFeatures);
+                        }
+                    }
                 }
             } catch (MojoExecutionException e) {
                 getLog().error("Failed to install features from configuration file", e);
@@ -1333,10 +2158,31 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         public void runUnitTests(File buildFile) throws PluginExecutionException, PluginScenarioException {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                runUnitTestsForProject(buildFile);
+                success = true;
+            } finally {
+                timeline.record("unitTests", getProjectName(), start, success);
+            }
+        }
+
+        private void runUnitTestsForProject(File buildFile) throws PluginExecutionException, PluginScenarioException {
             MavenProject currentProject = resolveMavenProject(buildFile);
             try {
-                runTestMojo("org.apache.maven.plugins", "maven-surefire-plugin", "test", currentProject);
+                Set<String> selectedTests = selectAffectedUnitTests(currentProject);
+                if (selectedTests != null && selectedTests.isEmpty()) {
+                    getLog().info("No unit tests are affected by the changes since the tests last passed.");
+                    return;
+                }
+                if (!inProcessTests || !runUnitTestsInProcess(currentProject, selectedTests)) {
+                    runTestMojo("org.apache.maven.plugins", "maven-surefire-plugin", "test", currentProject, selectedTests);
+                }
                 runTestMojo("org.apache.maven.plugins", "maven-surefire-report-plugin", "report-only", currentProject);
+                if (testSelector != null) {
+                    testSelector.testsPassed(currentProject.getId() + ":test");
+                }
             } catch (MojoExecutionException e) {
                 Throwable cause = e.getCause();
                 if (cause != null && cause instanceof MojoFailureException) {
@@ -1349,11 +2195,24 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         public void runIntegrationTests(File buildFile) throws PluginExecutionException, PluginScenarioException {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                runIntegrationTestsForProject(buildFile);
+                success = true;
+            } finally {
+                timeline.record("integrationTests", getProjectName(), start, success);
+            }
+        }
+
+        private void runIntegrationTestsForProject(File buildFile) throws PluginExecutionException, PluginScenarioException {
             MavenProject currentProject = resolveMavenProject(buildFile);
             try {
-                runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "integration-test", currentProject);
-                runTestMojo("org.apache.maven.plugins", "maven-surefire-report-plugin", "failsafe-report-only", currentProject);
-                runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "verify", currentProject);
+                if (!runShardedIntegrationTests(currentProject)) {
+                    runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "integration-test", currentProject);
+                    runTestMojo("org.apache.maven.plugins", "maven-surefire-report-plugin", "failsafe-report-only", currentProject);
+                    runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "verify", currentProject);
+                }
             } catch (MojoExecutionException e) {
                 Throwable cause = e.getCause();
                 if (cause != null && cause instanceof MojoFailureException) {
@@ -1366,6 +2225,21 @@ public class DevMojo extends LooseAppSupport {
 
         @Override
         public void redeployApp() throws PluginExecutionException {
+            long start = System.nanoTime();
+            long logOffset = timeline.getMessagesLogLength();
+            boolean success = false;
+            try {
+                deployApplication();
+                success = true;
+            } finally {
+                timeline.record("deploy", getProjectName(), start, success);
+                if (success) {
+                    timeline.watchApplicationUpdate("deploy", start, logOffset);
+                }
+            }
+        }
+
+        private void deployApplication() throws PluginExecutionException {
             try {
                 runLibertyMojoDeploy();
             } catch (MojoExecutionException e) {
@@ -1433,20 +2307,33 @@ public class DevMojo extends LooseAppSupport {
                     getOrCreateEarArtifact(project);
                 } else if (project.getPackaging().equals("pom")) {
                     getLog().debug("Skipping compile/resources on module with pom packaging type");
-                } else {
-                    runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
-                    try {
-                        runCompileMojoLogWarningWithException("compile");
-                    } catch (MojoExecutionException e) {
-                        // set init recompile necessary in case any module fail
-                        compileMojoError.put(project.getName(),Boolean.TRUE);
+                } else if (compileThreads > 1) {
+                    // the first upstream module to run compiles all of them, the rest only need to check
+                    synchronized (precompiledModules) {
+                        if (precompiledModules.contains(project.getId())) {
+                            getLog().debug("Module " + project.getArtifactId() + " was already compiled");
+                        } else {
+                            compileUpstreamModules(graph, relevantProjects);
+                        }
                     }
-                    if(hotTests) {
+                } else {
+                    DevStateSnapshot moduleState = new DevStateSnapshot(new File(project.getBuild().getDirectory(), DevStateSnapshot.FILE_NAME), getLog());
+                    if (!isBuildUpToDate(moduleState, project, hotTests)) {
+                        runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
                         try {
-                            runCompileMojoLogWarningWithException("testCompile");
+                            runCompileMojoLogWarningWithException("compile");
                         } catch (MojoExecutionException e) {
+                            // set init recompile necessary in case any module fail
                             compileMojoError.put(project.getName(),Boolean.TRUE);
                         }
+                        if(hotTests) {
+                            try {
+                                runCompileMojoLogWarningWithException("testCompile");
+                            } catch (MojoExecutionException e) {
+                                compileMojoError.put(project.getName(),Boolean.TRUE);
+                            }
+                        }
+                        recordBuild(moduleState, project, hotTests);
                     }
                 }
                 return;
@@ -1459,6 +2346,7 @@ public class DevMojo extends LooseAppSupport {
                 // skip this module
                 return;
             }
+            precompiledModules.clear();
         }
 
         // get all parent poms
@@ -1497,12 +2385,22 @@ public class DevMojo extends LooseAppSupport {
 
         processContainerParams();
 
+        File devStateFile = new File(project.getBuild().getDirectory(), DevStateSnapshot.FILE_NAME);
+        devState = new DevStateSnapshot(devStateFile, getLog());
+        if (clean || !reuseDevState) {
+            devState.clear();
+        }
+
         if (serverDirectory.exists()) {
             if (ServerStatusUtil.isServerRunning(installDirectory, super.outputDirectory, serverName)) {
-                if (!container) {
+                if (!container && AttachedServerTask.readState(new File(super.outputDirectory, serverName)) != null) {
+                    getLog().info("Attaching to the server " + serverName + " that a previous run of dev mode left running.");
+                    attachToServer = true;
+                } else if (!container) {
                     throw new MojoExecutionException("The server " + serverName
                         + " is already running. Terminate all instances of the server before starting dev mode."
-                        + " You can stop a server instance with the command 'mvn liberty:stop'.");
+                        + " You can stop a server instance with the command 'mvn liberty:stop'."
+                        + " To leave the server running between runs of dev mode, set the keepServerRunning parameter.");
                 } else {
                     getLog().warn("Running server detected, which could cause unexpected results. To terminate the local running server, run the command 'mvn liberty:stop'.  Also, the warning may occur because a previous server execution did not stop cleanly, in which case you may want to run 'mvn clean' before re-running");
                 }
@@ -1517,77 +2415,30 @@ public class DevMojo extends LooseAppSupport {
         sourceDirectory = new File(sourceDirectoryString.trim());
         testSourceDirectory = new File(testSourceDirectoryString.trim());
 
-        ArrayList<File> javaFiles = new ArrayList<File>();
-        listFiles(sourceDirectory, javaFiles, "java");
-
-        ArrayList<File> javaTestFiles = new ArrayList<File>();
-        listFiles(testSourceDirectory, javaTestFiles, "java");
+        // index the source trees once for the session, recompileJava adds and removes the changed Java files
+        FileTreeIndex.clear();
+        List<File> javaFiles = FileTreeIndex.forDirectory(sourceDirectory).getFiles(".java");
+        List<File> javaTestFiles = FileTreeIndex.forDirectory(testSourceDirectory).getFiles(".java");
 
         getLog().debug("Source directory: " + sourceDirectory);
         getLog().debug("Output directory: " + outputDirectory);
         getLog().debug("Test Source directory: " + testSourceDirectory);
         getLog().debug("Test Output directory: " + testOutputDirectory);
 
-        if (isEar) {
-            runMojo("org.apache.maven.plugins", "maven-ear-plugin", "generate-application-xml");
-            runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
-            runMojo("org.apache.maven.plugins", "maven-resources-plugin", "testResources");
-            if(!javaTestFiles.isEmpty()) {
-                // for test classes in ear
-                try {
-                    runCompileMojoLogWarningWithException("testCompile");
-                } catch (MojoExecutionException e) {
-                    compileMojoError.put(project.getName(), Boolean.TRUE);
-                }
-            }
-        } else if (project.getPackaging().equals("pom")) {
-            getLog().debug("Skipping compile/resources on module with pom packaging type");
-        } else {
-            runMojo("org.apache.maven.plugins", "maven-resources-plugin", "resources");
-            try {
-                runCompileMojoLogWarningWithException("compile");
-            } catch (MojoExecutionException e) {
-                compileMojoError.put(project.getName(),Boolean.TRUE);
-            }
-            runMojo("org.apache.maven.plugins", "maven-resources-plugin", "testResources");
-            if(!javaTestFiles.isEmpty()) {
-                try {
-                    runCompileMojoLogWarningWithException("testCompile");
-                } catch (MojoExecutionException e) {
-                    compileMojoError.put(project.getName(), Boolean.TRUE);
-                }
-            }
+        // create before the server configuration is written, which depends on it
+        if (hotSwap && !container && libertyDebug && !isUsingBoost()) {
+            hotSwapSupport = new HotSwapSupport(new File(super.outputDirectory, serverName), libertyDebugPort, getLog());
         }
 
-
-
-        if (isUsingBoost()) {
-            getLog().info("Running boost:package");
-            runBoostMojo("package");
-        } else {
-            // If generate features to server directory then create server first.
-            if (generateFeatures) {
-                if (generateToSrc) {
-                    generateFeaturesOnStartup();
-                    runLibertyMojoCreate();
-                } else {
-                    runLibertyMojoCreate();
-                    generateFeaturesOnStartup();
-                }
-            } else {
-                runLibertyMojoCreate();
-            }
-            // If non-container, install features before starting server. Otherwise, user
-            // should have "RUN features.sh" in their Containerfile/Dockerfile if they want features to be
-            // installed.
-            // Added check here for the new skip install feature parameter. 
-            // Need to also check if this is a new Liberty installation or not. The isNewInstallation flag is set by runLibertyMojoCreate.
-            if (!container && (!skipInstallFeature || isNewInstallation)) {
-                runLibertyMojoInstallFeature(null, null, null);
-            } else if (skipInstallFeature) {
-                getLog().info("Skipping installation of features due to skipInstallFeature configuration.");
+        if (prefetchArtifacts) {
+            startArtifactPrefetch();
+        }
+        try {
+            runStartupSteps(isEar, !javaTestFiles.isEmpty(), upstreamMavenProjects);
+        } finally {
+            if (artifactPrefetcher != null) {
+                artifactPrefetcher.close();
             }
-            runLibertyMojoDeploy();
         }
         
         if (project.getPackaging().equals("war")) {
@@ -1604,9 +2455,14 @@ public class DevMojo extends LooseAppSupport {
         }
         
         // resource directories
-        List<File> resourceDirs = getResourceDirectories(project, outputDirectory);
+        configuredResourceDirs = getResourceDirectories(project, outputDirectory);
         
-        List<Path> webResourceDirs = LooseWarApplication.getWebSourceDirectoriesToMonitor(project);
+        configuredWebResourceDirs = LooseWarApplication.getWebSourceDirectoriesToMonitor(project);
+
+        // leave excluded and polled directories out of the directories registered with the watcher
+        watchPlan = new WatchPlan(project.getBasedir(), watchIncludes, watchExcludes, watchPollDirectories, getLog());
+        List<File> resourceDirs = watchPlan.plan(configuredResourceDirs);
+        List<Path> webResourceDirs = watchPlan.planPaths(configuredWebResourceDirs);
 
         JavaCompilerOptions compilerOptions = getMavenCompilerOptions(project);
 
@@ -1616,9 +2472,10 @@ public class DevMojo extends LooseAppSupport {
         // collect upstream projects
         List<ProjectModule> upstreamProjects = new ArrayList<ProjectModule>();
         if (!upstreamMavenProjects.isEmpty()) {
+            Map<MavenProject, JavaCompilerOptions> upstreamCompilerOptionsMap = getMavenCompilerOptions(upstreamMavenProjects);
             for (MavenProject p : upstreamMavenProjects) {
                 // get compiler options for upstream project
-                JavaCompilerOptions upstreamCompilerOptions = getMavenCompilerOptions(p);
+                JavaCompilerOptions upstreamCompilerOptions = upstreamCompilerOptionsMap.get(p);
 
                 Set<String> compileArtifacts = new HashSet<String>();
                 Set<String> testArtifacts = new HashSet<String>();
@@ -1671,6 +2528,12 @@ public class DevMojo extends LooseAppSupport {
             skipUTs = true;
         }
 
+        if (selectAffectedTests) {
+            testSelector = new TestImpactSelector();
+        }
+
+        startTimeline();
+
         // pom.xml
         File pom = project.getFile();
 
@@ -1687,10 +2550,19 @@ public class DevMojo extends LooseAppSupport {
             throw new MojoExecutionException("Error initializing dev mode.", e);
         }
 
+        if (keepServerRunning) {
+            // on Ctrl-C the JVM exits without returning from watchFiles
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    exiting = true;
+                }
+            }, "liberty-dev-exit"));
+        }
         util.addShutdownHook(executor);
         util.startEarlyHotkeyReader(executor);
         
-        try {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.START_SERVER, project.getId(), serverName, null)) {
             util.startServer();
         } catch (PluginExecutionException e) {
             throw new MojoExecutionException("Error starting the server in dev mode.", e);
@@ -1699,6 +2571,14 @@ public class DevMojo extends LooseAppSupport {
         // start watching for keypresses immediately
         util.runHotkeyReaderThread(executor);
 
+        final DevMojoUtil pollingUtil = util;
+        watchPlan.startPolling(WATCH_SPLIT_POLL_INTERVAL, watchPollInterval * 1000L, new WatchPlan.Listener() {
+            @Override
+            public void filesChanged(File root, List<File> changed, List<File> deleted) {
+                pollingUtil.polledFilesChanged(root, changed, deleted);
+            }
+        });
+
         // Note that serverXmlFile can be null. DevUtil will automatically watch
         // all files in the configDirectory,
         // which is where the server.xml is located if a specific serverXmlFile
@@ -1712,13 +2592,332 @@ public class DevMojo extends LooseAppSupport {
                 // by another process
                 getLog().info(e.getMessage());
             }
+            exiting = true;
             return; // enter shutdown hook
+        } finally {
+            // the polling thread hands its changes to the polled changes executor
+            watchPlan.stopPolling();
+            util.shutdownExecutors();
+            FileTreeIndex.clear();
+        }
+    }
+
+    /**
+     * Compile the project, create the server, generate and install features and deploy the
+     * application. The steps run as a graph, so with parallelStartup enabled the steps that do
+     * not depend on each other, such as compiling and installing the runtime and its features,
+     * run at the same time.
+     */
+    private void runStartupSteps(final boolean isEar, final boolean hasTestSources, final List<MavenProject> upstreamMavenProjects)
+            throws MojoExecutionException {
+        StartupTaskGraph startup = new StartupTaskGraph();
+        startup.add(COMPILE_STEP, new StartupTaskGraph.Task() {
+            @Override
+            public void run() throws MojoExecutionException {
+                compileOnStartup(isEar, hasTestSources);
+            }
+        });
+        if (isUsingBoost()) {
+            startup.add("boostPackage", new StartupTaskGraph.Task() {
+                @Override
+                public void run() throws MojoExecutionException {
+                    getLog().info("Running boost:package");
+                    runBoostMojo("package");
+                }
+            }, COMPILE_STEP);
+        } else {
+            StartupTaskGraph.Task create = new StartupTaskGraph.Task() {
+                @Override
+                public void run() throws MojoExecutionException {
+                    runLibertyMojoCreate();
+                }
+            };
+            StartupTaskGraph.Task generate = new StartupTaskGraph.Task() {
+                @Override
+                public void run() throws MojoExecutionException {
+                    generateFeaturesOnStartup(upstreamMavenProjects);
+                }
+            };
+            // If generate features to server directory then create server first.
+            if (generateFeatures && generateToSrc) {
+                startup.add(GENERATE_FEATURES_STEP, generate, COMPILE_STEP);
+                startup.add(CREATE_STEP, create, GENERATE_FEATURES_STEP);
+            } else if (generateFeatures) {
+                startup.add(CREATE_STEP, create);
+                startup.add(GENERATE_FEATURES_STEP, generate, COMPILE_STEP, CREATE_STEP);
+            } else {
+                startup.add(CREATE_STEP, create);
+            }
+            startup.add(INSTALL_FEATURE_STEP, new StartupTaskGraph.Task() {
+                @Override
+                public void run() throws MojoExecutionException {
+                    installFeaturesOnStartup(upstreamMavenProjects);
+                }
+            }, startup.contains(GENERATE_FEATURES_STEP) ? new String[] { CREATE_STEP, GENERATE_FEATURES_STEP } : new String[] { CREATE_STEP });
+            startup.add(DEPLOY_STEP, new StartupTaskGraph.Task() {
+                @Override
+                public void run() throws MojoExecutionException {
+                    runLibertyMojoDeploy();
+                }
+            }, COMPILE_STEP, INSTALL_FEATURE_STEP);
+        }
+        startup.run(parallelStartup ? STARTUP_THREADS : 1);
+        if (parallelStartup) {
+            getLog().info(startup.getCriticalPathSummary());
+        } else {
+            getLog().debug(startup.getCriticalPathSummary());
+        }
+    }
+
+    /**
+     * Start resolving the artifacts that the startup steps resolve on demand, so that they
+     * download while the project compiles. The runtime assembly is not included because it
+     * is resolved when the goal is initialized.
+     */
+    private void startArtifactPrefetch() {
+        List<org.eclipse.aether.artifact.Artifact> artifacts = new ArrayList<org.eclipse.aether.artifact.Artifact>();
+        String runtimeGroupId = libertyRuntimeGroupId != null && !libertyRuntimeGroupId.isEmpty() ? libertyRuntimeGroupId
+                : assemblyArtifact == null ? null : assemblyArtifact.getGroupId();
+        String runtimeVersion = libertyRuntimeVersion != null && !libertyRuntimeVersion.isEmpty() ? libertyRuntimeVersion
+                : assemblyArtifact == null ? null : assemblyArtifact.getVersion();
+        if (runtimeVersion != null && (runtimeVersion.startsWith("[") || runtimeVersion.startsWith("("))) {
+            // the range was not resolved to a version, so the feature lists are unknown
+            runtimeVersion = null;
+        }
+        if (generateFeatures && !isUsingBoost()) {
+            artifacts.add(new DefaultArtifact(FeatureGeneratorUtil.FEATURE_GEN_MAVEN_GROUP_ID, FeatureGeneratorUtil.FEATURE_GEN_MAVEN_ARTIFACT_ID,
+                    FeatureGeneratorUtil.FEATURE_GEN_MAVEN_TYPE, FeatureGeneratorUtil.FEATURE_GEN_MAVEN_VERSION));
+            for (Dependency featureList : GenerateFeaturesMojo.getFeatureListDependencies(runtimeGroupId, runtimeVersion)) {
+                artifacts.add(toAetherArtifact(featureList));
+            }
+        }
+        if (!container && !skipInstallFeature && !isUsingBoost() && runtimeVersion != null) {
+            // the feature repository metadata of the runtime, which install-feature reads first
+            String featuresGroupId = "io.openliberty".equals(runtimeGroupId) ? OPEN_LIBERTY_FEATURES_GROUP_ID
+                    : WEBSPHERE_LIBERTY_FEATURES_GROUP_ID;
+            artifacts.add(new DefaultArtifact(featuresGroupId, "features", "json", runtimeVersion));
+        }
+        if (licenseArtifact != null && licenseArtifact.getGroupId() != null && licenseArtifact.getVersion() != null) {
+            artifacts.add(toAetherArtifact(licenseArtifact));
+        }
+        if (artifacts.isEmpty()) {
+            return;
+        }
+        artifactPrefetcher = new ArtifactPrefetcher(ArtifactPrefetcher.aetherResolver(repositorySystem, repoSession, repositories),
+                PREFETCH_THREADS, getLog());
+        artifactPrefetcher.prefetch(artifacts);
+    }
+
+    private static org.eclipse.aether.artifact.Artifact toAetherArtifact(Dependency dependency) {
+        String type = dependency.getType() == null ? "jar" : dependency.getType();
+        return new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(), dependency.getClassifier(), type,
+                dependency.getVersion());
+    }
+
+    /**
+     * Run the resources and compile goals of the project. Every goal runs with its own copy of the
+     * session, since the other startup steps can run goals at the same time.
+     */
+    private void compileOnStartup(boolean isEar, boolean hasTestSources) throws MojoExecutionException {
+        if (isEar) {
+            runMojoForProject("org.apache.maven.plugins", "maven-ear-plugin", "generate-application-xml", project);
+            runMojoForProject("org.apache.maven.plugins", "maven-resources-plugin", "resources", project);
+            runMojoForProject("org.apache.maven.plugins", "maven-resources-plugin", "testResources", project);
+            if (hasTestSources) {
+                // for test classes in ear
+                try {
+                    runCompileMojoLogWarningWithException("testCompile");
+                } catch (MojoExecutionException e) {
+                    compileMojoError.put(project.getName(), Boolean.TRUE);
+                }
+            }
+        } else if (project.getPackaging().equals("pom")) {
+            getLog().debug("Skipping compile/resources on module with pom packaging type");
+        } else if (!isBuildUpToDate(devState, project, hasTestSources)) {
+            runMojoForProject("org.apache.maven.plugins", "maven-resources-plugin", "resources", project);
+            try {
+                runCompileMojoLogWarningWithException("compile");
+            } catch (MojoExecutionException e) {
+                compileMojoError.put(project.getName(),Boolean.TRUE);
+            }
+            runMojoForProject("org.apache.maven.plugins", "maven-resources-plugin", "testResources", project);
+            if (hasTestSources) {
+                try {
+                    runCompileMojoLogWarningWithException("testCompile");
+                } catch (MojoExecutionException e) {
+                    compileMojoError.put(project.getName(), Boolean.TRUE);
+                }
+            }
+            recordBuild(devState, project, hasTestSources);
+        }
+    }
+
+    /**
+     * Check whether the resources and compile goals can be skipped on startup because the sources,
+     * compiler configuration, classpath and compiled output of a project are unchanged since the last
+     * successful build in dev mode.
+     *
+     * @param state        the dev mode state of the project
+     * @param mavenProject the project
+     * @param includeTests whether the test sources are compiled too
+     * @return true if the project is up to date
+     */
+    private boolean isBuildUpToDate(DevStateSnapshot state, MavenProject mavenProject, boolean includeTests) {
+        String fingerprint = reuseDevState && !clean ? getBuildFingerprint(mavenProject, includeTests) : null;
+        if (!state.isUnchanged(BUILD_STEP, fingerprint)) {
+            return false;
+        }
+        getLog().info("Skipping resources and compile on " + mavenProject.getFile()
+                + " since the sources, compiler configuration and classpath are unchanged since the last run of dev mode.");
+        updateArtifactPathToOutputDirectory(mavenProject);
+        return true;
+    }
+
+    private void recordBuild(DevStateSnapshot state, MavenProject mavenProject, boolean includeTests) {
+        boolean succeeded = reuseDevState && !compileMojoError.containsKey(mavenProject.getName());
+        state.record(BUILD_STEP, succeeded ? getBuildFingerprint(mavenProject, includeTests) : null);
+    }
+
+    /**
+     * @return a fingerprint of the poms, user properties, active profiles, filter files, sources, resources,
+     *         environment variables and system properties in filtered resources, compiler configuration,
+     *         classpath and compiled output of the given project, or null if it could not be computed
+     */
+    private String getBuildFingerprint(MavenProject mavenProject, boolean includeTests) {
+        try {
+            DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint();
+            for (MavenProject current = mavenProject; current != null && current.getFile() != null; current = current.getParent()) {
+                fingerprint.addContents(current.getFile(), null);
+            }
+            fingerprint.add(Boolean.toString(includeTests));
+            // any user property or profile can change the plugin configuration or the filtered resources
+            for (String key : new TreeSet<String>(session.getUserProperties().stringPropertyNames())) {
+                fingerprint.add(key + "=" + session.getUserProperties().getProperty(key));
+            }
+            for (Profile profile : mavenProject.getActiveProfiles()) {
+                fingerprint.add("profile " + profile.getId());
+            }
+            for (String filter : mavenProject.getBuild().getFilters()) {
+                File filterFile = new File(filter);
+                fingerprint.addContents(filterFile.isAbsolute() ? filterFile : new File(mavenProject.getBasedir(), filter), null);
+            }
+            Plugin compilerPlugin = getPluginForProject("org.apache.maven.plugins", "maven-compiler-plugin", mavenProject);
+            fingerprint.add(compilerPlugin.getVersion());
+            fingerprint.add(String.valueOf(ExecuteMojoUtil.getPluginGoalConfig(compilerPlugin, "compile", getLog())));
+            fingerprint.add(getPluginForProject("org.apache.maven.plugins", "maven-resources-plugin", mavenProject).getVersion());
+            for (String root : mavenProject.getCompileSourceRoots()) {
+                fingerprint.addTimestamps(new File(root));
+            }
+            for (Resource resource : mavenProject.getResources()) {
+                fingerprint.addTimestamps(new File(resource.getDirectory()));
+            }
+            addFilteredProperties(fingerprint, mavenProject.getResources());
+            // the classpath includes the output directory
+            for (String element : mavenProject.getCompileClasspathElements()) {
+                fingerprint.addTimestamps(new File(element));
+            }
+            if (includeTests) {
+                fingerprint.add(String.valueOf(ExecuteMojoUtil.getPluginGoalConfig(compilerPlugin, "testCompile", getLog())));
+                for (String root : mavenProject.getTestCompileSourceRoots()) {
+                    fingerprint.addTimestamps(new File(root));
+                }
+                for (Resource resource : mavenProject.getTestResources()) {
+                    fingerprint.addTimestamps(new File(resource.getDirectory()));
+                }
+                addFilteredProperties(fingerprint, mavenProject.getTestResources());
+                for (String element : mavenProject.getTestClasspathElements()) {
+                    fingerprint.addTimestamps(new File(element));
+                }
+            }
+            return fingerprint.toString();
+        } catch (IOException | DependencyResolutionRequiredException e) {
+            getLog().debug("Could not compute the build fingerprint of " + mavenProject.getFile(), e);
+            return null;
         }
     }
 
-    private void generateFeaturesOnStartup() throws MojoExecutionException {
+    /**
+     * Add the values of the environment variables and system properties that the filtered resources
+     * refer to, which the resources plugin replaces too.
+     */
+    private void addFilteredProperties(DevStateSnapshot.Fingerprint fingerprint, List<Resource> resources) throws IOException {
+        Set<String> names = new TreeSet<String>();
+        for (Resource resource : resources) {
+            if (!resource.isFiltering()) {
+                continue;
+            }
+            for (File file : FileTreeIndex.forDirectory(new File(resource.getDirectory())).getFiles("")) {
+                Matcher matcher = FILTER_EXPRESSION.matcher(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+                while (matcher.find()) {
+                    names.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+                }
+            }
+        }
+        // the system properties of the session include the environment variables as env.* properties
+        Properties systemProperties = session.getSystemProperties();
+        for (String name : names) {
+            fingerprint.add(name + "=" + systemProperties.getProperty(name));
+        }
+    }
+
+    private void installFeaturesOnStartup(List<MavenProject> upstreamMavenProjects) throws MojoExecutionException {
+        // If non-container, install features before starting server. Otherwise, user
+        // should have "RUN features.sh" in their Containerfile/Dockerfile if they want features to be
+        // installed.
+        // Added check here for the new skip install feature parameter. 
+        // Need to also check if this is a new Liberty installation or not. The isNewInstallation flag is set by runLibertyMojoCreate.
+        if (!container) {
+            writeHotSwapConfigOverride();
+        }
+        if (!container && (!skipInstallFeature || isNewInstallation)) {
+            // a new installation always needs its features installed
+            if (!isNewInstallation && reuseDevState
+                    && devState.isUnchanged(INSTALL_FEATURE_STEP, getInstallFeatureFingerprint(upstreamMavenProjects))) {
+                getLog().info("Skipping installation of features since the server configuration and installed features are unchanged since the last run of dev mode.");
+            } else {
+                runLibertyMojoInstallFeature(null, null, null);
+                devState.record(INSTALL_FEATURE_STEP, getInstallFeatureFingerprint(upstreamMavenProjects));
+            }
+        } else if (skipInstallFeature) {
+            getLog().info("Skipping installation of features due to skipInstallFeature configuration.");
+        }
+    }
+
+    /**
+     * Start recording the duration of each dev mode step to the timeline in the build directory,
+     * and show the percentiles of the durations when dev mode exits. Without recordTimeline the
+     * timeline does not record anything.
+     */
+    private void startTimeline() {
+        if (!recordTimeline) {
+            timeline = new DevTimeline(null, null, getLog());
+            return;
+        }
+        File messagesLog = container ? null : new File(super.outputDirectory, serverName + "/logs/messages.log");
+        timeline = new DevTimeline(new File(project.getBuild().getDirectory()), messagesLog, getLog());
+        final DevTimeline sessionTimeline = timeline;
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                sessionTimeline.close();
+                if (!sessionTimeline.isEmpty()) {
+                    getLog().info("Dev mode step durations, also available in "
+                            + new File(project.getBuild().getDirectory(), DevTimeline.SUMMARY_FILE_NAME) + ":\n"
+                            + sessionTimeline.getSummary());
+                }
+            }
+        }, "liberty-dev-timeline-summary"));
+    }
+
+    private void generateFeaturesOnStartup(List<MavenProject> upstreamMavenProjects) throws MojoExecutionException {
         // generate features on startup - provide all classes and only user specified
         // features to feature generator
+        File generatedFile = new File(generateToSrc ? configDirectory : serverDirectory, FeatureGeneratorUtil.GENERATED_FEATURES_FILE_PATH);
+        String fingerprint = reuseDevState ? getGenerateFeaturesFingerprint(upstreamMavenProjects) : null;
+        if (generatedFile.exists() && devState.isUnchanged(GENERATE_FEATURES_STEP, fingerprint)) {
+            getLog().info("Skipping generation of features since the classes and server configuration are unchanged since the last run of dev mode.");
+            return;
+        }
         try {
             String generatedFileCanonicalPath;
             try {
@@ -1736,7 +2935,9 @@ public class DevMojo extends LooseAppSupport {
             // During dev mode start up the server is not running yet so we will generate features to the correct
             // output directory and then install features in the next step.
             runLibertyMojoGenerateFeatures(null, true, generateToSrc, false, false);
+            devState.record(GENERATE_FEATURES_STEP, fingerprint);
         } catch (MojoExecutionException e) {
+            devState.record(GENERATE_FEATURES_STEP, null);
             if (e.getCause() != null && e.getCause() instanceof PluginExecutionException) {
                 // PluginExecutionException indicates that the feature generator jar could not be found
                 getLog().error(e.getMessage() + ".\nDisabling the automatic generation of features.");
@@ -1749,6 +2950,60 @@ public class DevMojo extends LooseAppSupport {
         }
     }
 
+    /**
+     * @return a fingerprint of the inputs of the feature generation on startup, or null if it could not be computed
+     */
+    private String getGenerateFeaturesFingerprint(List<MavenProject> upstreamMavenProjects) {
+        try {
+            DevStateSnapshot.Fingerprint fingerprint = getPomFingerprint(upstreamMavenProjects);
+            fingerprint.add(Boolean.toString(generateToSrc));
+            fingerprint.addTimestamps(outputDirectory);
+            for (MavenProject p : upstreamMavenProjects) {
+                fingerprint.addTimestamps(new File(p.getBuild().getOutputDirectory()));
+            }
+            fingerprint.addContents(configDirectory, Collections.singleton(FeatureGeneratorUtil.GENERATED_FEATURES_FILE_PATH));
+            fingerprint.addContents(serverXmlFile, null);
+            return fingerprint.toString();
+        } catch (IOException e) {
+            getLog().debug("Could not compute the fingerprint for feature generation", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return a fingerprint of the inputs and the result of the feature installation on startup, or null if it could not be computed
+     */
+    private String getInstallFeatureFingerprint(List<MavenProject> upstreamMavenProjects) {
+        try {
+            DevStateSnapshot.Fingerprint fingerprint = getPomFingerprint(upstreamMavenProjects);
+            fingerprint.addContents(configDirectory, null);
+            fingerprint.addContents(new File(serverDirectory, "server.xml"), null);
+            fingerprint.addContents(new File(serverDirectory, "configDropins"), null);
+            fingerprint.addContents(new File(serverDirectory, "bootstrap.properties"), null);
+            fingerprint.addContents(new File(serverDirectory, "server.env"), null);
+            fingerprint.addContents(new File(installDirectory, "lib/versions"), null);
+            fingerprint.addTimestamps(new File(installDirectory, "lib/features"));
+            fingerprint.addTimestamps(new File(userDirectory, "extension/lib/features"));
+            return fingerprint.toString();
+        } catch (IOException e) {
+            getLog().debug("Could not compute the fingerprint for feature installation", e);
+            return null;
+        }
+    }
+
+    private DevStateSnapshot.Fingerprint getPomFingerprint(List<MavenProject> upstreamMavenProjects) throws IOException {
+        DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint();
+        fingerprint.add(getLibertyPlugin().getVersion());
+        List<MavenProject> projects = new ArrayList<MavenProject>(upstreamMavenProjects);
+        projects.add(project);
+        for (MavenProject p : projects) {
+            for (MavenProject current = p; current != null && current.getFile() != null; current = current.getParent()) {
+                fingerprint.addContents(current.getFile(), null);
+            }
+        }
+        return fingerprint;
+    }
+
     @Override
     public void execute() throws MojoExecutionException {
         init();
@@ -1789,10 +3044,160 @@ public class DevMojo extends LooseAppSupport {
                     }
                 }
             }
-        } catch (IOException e) {
-            getLog().error("An unexpected error occurred when trying to resolve " + proj.getFile() + ": " + e.getMessage());
-            getLog().debug(e);
+        } catch (IOException e) {
+            getLog().error("An unexpected error occurred when trying to resolve " + proj.getFile() + ": " + e.getMessage());
+            getLog().debug(e);
+        }
+    }
+
+    /**
+     * Run resources, compile and, if hot tests are enabled, testCompile on every upstream module
+     * that dev mode will watch. Modules are grouped into waves by their depth in the dependency graph
+     * and the modules of a wave are compiled in parallel using up to compileThreads threads.
+     *
+     * @param graph            the project dependency graph
+     * @param relevantProjects the projects that are part of this dev mode invocation
+     * @throws MojoExecutionException if the resources goal fails on any module
+     */
+    private void compileUpstreamModules(ProjectDependencyGraph graph, List<MavenProject> relevantProjects) throws MojoExecutionException {
+        List<MavenProject> modules = new ArrayList<MavenProject>();
+        for (MavenProject p : relevantProjects) {
+            String packaging = p.getPackaging();
+            // ear modules generate their application.xml in their own reactor execution
+            if (!packaging.equals("pom") && !packaging.equals("ear") && !graph.getDownstreamProjects(p, true).isEmpty()) {
+                modules.add(p);
+            }
+        }
+
+        // the wave of a module is one more than the highest wave of the modules it depends on
+        Map<MavenProject, Integer> waveIndex = new HashMap<MavenProject, Integer>();
+        List<List<MavenProject>> waves = new ArrayList<List<MavenProject>>();
+        for (MavenProject p : graph.getSortedProjects()) {
+            if (!modules.contains(p)) {
+                continue;
+            }
+            int wave = 0;
+            for (MavenProject upstream : graph.getUpstreamProjects(p, true)) {
+                Integer upstreamWave = waveIndex.get(upstream);
+                if (upstreamWave != null) {
+                    wave = Math.max(wave, upstreamWave + 1);
+                }
+            }
+            waveIndex.put(p, wave);
+            while (waves.size() <= wave) {
+                waves.add(new ArrayList<MavenProject>());
+            }
+            waves.get(wave).add(p);
+        }
+
+        getLog().info("Compiling " + modules.size() + " upstream modules in " + waves.size() + " waves using up to " + compileThreads
+                + " threads");
+        ExecutorService compileExecutor = Executors.newFixedThreadPool(compileThreads);
+        try {
+            for (List<MavenProject> wave : waves) {
+                List<Future<Void>> futures = new ArrayList<Future<Void>>();
+                for (final MavenProject module : wave) {
+                    futures.add(compileExecutor.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws MojoExecutionException {
+                            compileUpstreamModule(module);
+                            return null;
+                        }
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof MojoExecutionException) {
+                            throw (MojoExecutionException) e.getCause();
+                        }
+                        throw new MojoExecutionException("Error compiling upstream modules.", e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new MojoExecutionException("Interrupted while compiling upstream modules.", e);
+                    }
+                }
+            }
+        } finally {
+            compileExecutor.shutdownNow();
+        }
+    }
+
+    private void compileUpstreamModule(MavenProject module) throws MojoExecutionException {
+        DevStateSnapshot moduleState = new DevStateSnapshot(new File(module.getBuild().getDirectory(), DevStateSnapshot.FILE_NAME), getLog());
+        if (isBuildUpToDate(moduleState, module, hotTests)) {
+            precompiledModules.add(module.getId());
+            return;
+        }
+        runMojoForProject("org.apache.maven.plugins", "maven-resources-plugin", "resources", module);
+        try {
+            runCompileMojoLogWarningWithException("compile", module);
+        } catch (MojoExecutionException e) {
+            // set init recompile necessary in case any module fail
+            compileMojoError.put(module.getName(), Boolean.TRUE);
+        }
+        if (hotTests) {
+            try {
+                runCompileMojoLogWarningWithException("testCompile", module);
+            } catch (MojoExecutionException e) {
+                compileMojoError.put(module.getName(), Boolean.TRUE);
+            }
+        }
+        recordBuild(moduleState, module, hotTests);
+        precompiledModules.add(module.getId());
+    }
+
+    /**
+     * Get the compiler options of each of the given projects, computing them in parallel
+     * when compileThreads is greater than one.
+     *
+     * @param projects the projects
+     * @return the compiler options of each project
+     * @throws MojoExecutionException if the compiler options could not be computed
+     */
+    private Map<MavenProject, JavaCompilerOptions> getMavenCompilerOptions(List<MavenProject> projects) throws MojoExecutionException {
+        Map<MavenProject, JavaCompilerOptions> result = new HashMap<MavenProject, JavaCompilerOptions>();
+        if (compileThreads <= 1 || projects.size() <= 1) {
+            for (MavenProject p : projects) {
+                result.put(p, getMavenCompilerOptions(p));
+            }
+            return result;
+        }
+        ExecutorService optionsExecutor = Executors.newFixedThreadPool(Math.min(compileThreads, projects.size()));
+        try {
+            Map<MavenProject, Future<JavaCompilerOptions>> futures = new HashMap<MavenProject, Future<JavaCompilerOptions>>();
+            for (final MavenProject p : projects) {
+                futures.put(p, optionsExecutor.submit(new Callable<JavaCompilerOptions>() {
+                    @Override
+                    public JavaCompilerOptions call() {
+                        return getMavenCompilerOptions(p);
+                    }
+                }));
+            }
+            for (Map.Entry<MavenProject, Future<JavaCompilerOptions>> entry : futures.entrySet()) {
+                try {
+                    result.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    throw new MojoExecutionException("Error getting the compiler options for " + entry.getKey().getArtifactId(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while getting compiler options.", e);
+                }
+            }
+        } finally {
+            optionsExecutor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static boolean processorPathExists(String processorPath) {
+        for (String path : processorPath.split(File.pathSeparator)) {
+            if (!new File(path).exists()) {
+                return false;
+            }
         }
+        return true;
     }
 
     private JavaCompilerOptions getMavenCompilerOptions(MavenProject currentProject) {
@@ -1887,7 +3292,14 @@ public class DevMojo extends LooseAppSupport {
             Xpp3Dom annotationProcessorPaths = configuration.getChild("annotationProcessorPaths");
             if (annotationProcessorPaths != null) {
                 Xpp3Dom[] pathElements = annotationProcessorPaths.getChildren("path");
-                if (pathElements != null && pathElements.length > 0) {
+                String processorPathStep = PROCESSOR_PATH_STEP + "." + currentProject.getId();
+                String processorPathFingerprint = new DevStateSnapshot.Fingerprint().add(annotationProcessorPaths.toString()).toString();
+                String cachedProcessorPath = devState != null && reuseDevState
+                        ? devState.getValue(processorPathStep, processorPathFingerprint) : null;
+                if (cachedProcessorPath != null && processorPathExists(cachedProcessorPath)) {
+                    compilerOptions.setAnnotationProcessorPath(cachedProcessorPath);
+                    getLog().debug("Reusing annotation processor path from the last run of dev mode: " + cachedProcessorPath);
+                } else if (pathElements != null && pathElements.length > 0) {
                     LinkedHashSet<String> resolvedPaths = new LinkedHashSet();
                     for (Xpp3Dom path : pathElements) {
                         Xpp3Dom groupIdElement = path.getChild("groupId");
@@ -1939,6 +3351,9 @@ public class DevMojo extends LooseAppSupport {
                         String processorPath = String.join(File.pathSeparator, resolvedPaths);
                         compilerOptions.setAnnotationProcessorPath(processorPath);
                         getLog().debug("Setting annotation processor path: " + processorPath);
+                        if (devState != null) {
+                            devState.putValue(processorPathStep, processorPathFingerprint, processorPath);
+                        }
                     }
                 }
             }
@@ -2106,6 +3521,15 @@ public class DevMojo extends LooseAppSupport {
         return option;
     }
 
+    /**
+     * Build the project for a pom file with its dependencies resolved, reusing the cached
+     * project or its resolved dependencies when the pom and its parents are unchanged.
+     */
+    private MavenProject buildMavenProject(File buildFile) throws ProjectBuildingException {
+        return ProjectModelCache.getInstance(session).build(mavenProjectBuilder, buildFile, session.getProjectBuildingRequest(),
+                session.getProjects(), getLog());
+    }
+
     private void processContainerParams() throws MojoExecutionException {
         if (container) {
             // this also sets the project property for use in DeployMojoSupport
@@ -2114,16 +3538,14 @@ public class DevMojo extends LooseAppSupport {
     }
 
     private MavenProject resolveMavenProject(File buildFile) {
-        ProjectBuildingResult build;
         MavenProject currentProject = project; // default to main project
         try {
             if (buildFile != null && !project.getFile().getCanonicalPath().equals(buildFile.getCanonicalPath())) {
-                build = mavenProjectBuilder.build(buildFile,
-                        session.getProjectBuildingRequest().setResolveDependencies(true));
+                MavenProject builtProject = buildMavenProject(buildFile);
                 // if we can resolve the project associated with build file, run tests on
                 // corresponding project
-                if (build.getProject() != null) {
-                    currentProject = build.getProject();
+                if (builtProject != null) {
+                    currentProject = builtProject;
                 }
             }
         } catch (ProjectBuildingException | IOException e) {
@@ -2134,11 +3556,471 @@ public class DevMojo extends LooseAppSupport {
         return currentProject;
     }
 
+    /**
+     * Select the unit test classes affected by the classes that changed since the unit tests of
+     * the project last passed. Integration tests always run in full, since they test the
+     * application running on the server, which also depends on resources and server configuration.
+     *
+     * @param currentProject the project whose tests are run
+     * @return the test classes to run, which is empty if no tests are affected, or null to run all tests
+     */
+    private Set<String> selectAffectedUnitTests(MavenProject currentProject) {
+        if (testSelector == null) {
+            return null;
+        }
+        Plugin plugin = getPluginForProject("org.apache.maven.plugins", "maven-surefire-plugin", currentProject);
+        Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(plugin, "test", getLog());
+        if (config.getChild("test") != null || session.getUserProperties().getProperty("test") != null) {
+            getLog().debug("Running the tests selected by the maven-surefire-plugin test configuration");
+            return null;
+        }
+
+        List<String> includes = getTestIncludes(config, "test");
+        List<String> excludes = getPatterns(config, "excludes", "exclude");
+
+        List<File> classesDirectories = new ArrayList<File>();
+        classesDirectories.add(new File(currentProject.getBuild().getOutputDirectory()));
+        File testClassesDirectory = new File(currentProject.getBuild().getTestOutputDirectory());
+        classesDirectories.add(testClassesDirectory);
+        ProjectDependencyGraph graph = session.getProjectDependencyGraph();
+        if (graph != null) {
+            for (MavenProject upstreamProject : graph.getUpstreamProjects(currentProject, true)) {
+                classesDirectories.add(new File(upstreamProject.getBuild().getOutputDirectory()));
+            }
+        }
+
+        try {
+            Set<String> selectedTests = testSelector.select(currentProject.getId() + ":test", classesDirectories,
+                    testClassesDirectory, includes, excludes);
+            if (selectedTests != null && !selectedTests.isEmpty()) {
+                getLog().info("Running the " + selectedTests.size() + " test classes affected by the changes since the tests last passed.");
+                getLog().debug("Affected test classes: " + selectedTests);
+            }
+            return selectedTests;
+        } catch (IOException e) {
+            getLog().debug("Unable to determine the affected tests, running all tests", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the configured test includes, or the surefire or failsafe defaults
+     */
+    private static List<String> getTestIncludes(Xpp3Dom config, String goal) {
+        List<String> includes = getPatterns(config, "includes", "include");
+        if (includes.isEmpty()) {
+            if (goal.equals("test")) {
+                includes = Arrays.asList("**/Test*.java", "**/*Test.java", "**/*Tests.java", "**/*TestCase.java");
+            } else {
+                includes = Arrays.asList("**/IT*.java", "**/*IT.java", "**/*ITCase.java");
+            }
+        }
+        return includes;
+    }
+
+    /**
+     * Run the unit tests of the project with the in-process test runner.
+     * <p>
+     * The tests share the dev mode JVM, so they are not isolated the way forked tests are. Relative
+     * paths resolve against the directory dev mode was started in, which is why the runner is only
+     * used when that is the project directory. A test that calls System.exit ends dev mode, and changes
+     * to system properties or to static state of the shared test dependencies remain for later runs.
+     *
+     * @param currentProject the project whose tests are run
+     * @param selectedTests  the test classes to run, or null for all tests
+     * @return true if the tests ran, false if they must be run with the maven-surefire-plugin instead
+     * @throws PluginScenarioException if a test failed
+     */
+    private boolean runUnitTestsInProcess(MavenProject currentProject, Set<String> selectedTests) throws PluginScenarioException {
+        Plugin plugin = getPluginForProject("org.apache.maven.plugins", "maven-surefire-plugin", currentProject);
+        Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(plugin, "test", getLog());
+        for (String name : IN_PROCESS_UNSUPPORTED_CONFIG) {
+            Xpp3Dom child = config.getChild(name);
+            if (child != null && (child.getChildCount() > 0 || (child.getValue() != null && !child.getValue().trim().isEmpty()
+                    && !"false".equals(child.getValue().trim())))) {
+                getLog().debug("The maven-surefire-plugin configuration " + name + " requires a forked JVM, running the maven-surefire-plugin");
+                return false;
+            }
+        }
+        if (session.getUserProperties().getProperty("test") != null) {
+            return false;
+        }
+        // surefire runs the tests in the project directory, but the working directory of a JVM cannot be changed
+        try {
+            if (!currentProject.getBasedir().getCanonicalFile().equals(new File(System.getProperty("user.dir")).getCanonicalFile())) {
+                getLog().debug("The working directory of the tests of " + currentProject.getFile()
+                        + " is not the dev mode working directory, running the maven-surefire-plugin");
+                return false;
+            }
+        } catch (IOException e) {
+            getLog().debug("Unable to compare the working directory of the tests of " + currentProject.getFile()
+                    + ", running the maven-surefire-plugin", e);
+            return false;
+        }
+
+        List<File> sharedJars = new ArrayList<File>();
+        List<File> jars = new ArrayList<File>();
+        List<File> directories = new ArrayList<File>();
+        String platformVersion = null;
+        boolean launcher = false;
+        Set<File> sharedFiles = new HashSet<File>();
+        for (Artifact artifact : currentProject.getArtifacts()) {
+            if (artifact.getFile() != null && isSharedTestDependency(artifact)) {
+                sharedFiles.add(artifact.getFile().getAbsoluteFile());
+            }
+        }
+        try {
+            Set<String> classpath = new LinkedHashSet<String>(currentProject.getTestClasspathElements());
+            if (util.isMultiModuleProject()) {
+                ProjectModule projectModule = util.getProjectModule(currentProject.getFile());
+                classpath.addAll(projectModule != null ? projectModule.getTestArtifacts() : util.getTestArtifacts());
+            }
+            for (String element : classpath) {
+                File file = new File(element);
+                if (file.isDirectory()) {
+                    directories.add(file);
+                } else if (file.isFile()) {
+                    if (sharedFiles.contains(file.getAbsoluteFile())) {
+                        sharedJars.add(file);
+                    } else {
+                        jars.add(file);
+                    }
+                    String name = file.getName();
+                    if (name.startsWith("junit-platform-engine-") && name.endsWith(".jar")) {
+                        platformVersion = name.substring("junit-platform-engine-".length(), name.length() - ".jar".length());
+                    } else if (name.startsWith("junit-platform-launcher-")) {
+                        launcher = true;
+                    }
+                }
+            }
+        } catch (IOException | DependencyResolutionRequiredException e) {
+            getLog().debug("Unable to resolve the test classpath of " + currentProject.getFile() + ", running the maven-surefire-plugin", e);
+            return false;
+        }
+        if (platformVersion == null) {
+            getLog().debug("The tests of " + currentProject.getFile() + " do not use the JUnit Platform, running the maven-surefire-plugin");
+            return false;
+        }
+        if (!launcher) {
+            // surefire provides the launcher when it forks, so it is usually not a project dependency
+            try {
+                ArtifactRequest request = new ArtifactRequest().setRepositories(repositories)
+                        .setArtifact(new DefaultArtifact("org.junit.platform", "junit-platform-launcher", "jar", platformVersion));
+                sharedJars.add(repositorySystem.resolveArtifact(repoSession, request).getArtifact().getFile());
+            } catch (ArtifactResolutionException e) {
+                getLog().debug("Unable to resolve the JUnit Platform launcher " + platformVersion + ", running the maven-surefire-plugin", e);
+                return false;
+            }
+        }
+
+        File testClassesDirectory = new File(currentProject.getBuild().getTestOutputDirectory());
+        Collection<String> testClasses = selectedTests;
+        if (testClasses == null) {
+            testClasses = new ArrayList<String>();
+            if (testClassesDirectory.isDirectory()) {
+                DirectoryScanner scanner = new DirectoryScanner();
+                scanner.setBasedir(testClassesDirectory);
+                scanner.setIncludes(toClassPatterns(getTestIncludes(config, "test")));
+                scanner.setExcludes(toClassPatterns(getPatterns(config, "excludes", "exclude")));
+                scanner.scan();
+                for (String path : scanner.getIncludedFiles()) {
+                    if (!path.contains("$")) {
+                        testClasses.add(path.substring(0, path.length() - ".class".length()).replace(File.separatorChar, '.'));
+                    }
+                }
+            }
+        }
+        if (testClasses.isEmpty()) {
+            getLog().info("No tests to run.");
+            return true;
+        }
+
+        Xpp3Dom reportsDirectoryElement = config.getChild("reportsDirectory");
+        File reportsDirectory = reportsDirectoryElement != null && reportsDirectoryElement.getValue() != null
+                ? new File(reportsDirectoryElement.getValue())
+                : new File(currentProject.getBuild().getDirectory(), "surefire-reports");
+        if (inProcessTestRunner == null) {
+            inProcessTestRunner = new InProcessTestRunner(getLog());
+        }
+        getLog().info("Running " + testClasses.size() + " test classes in process");
+        InProcessTestRunner.Result result;
+        try {
+            long start = System.currentTimeMillis();
+            result = inProcessTestRunner.run(sharedJars, jars, directories, testClasses, reportsDirectory);
+            getLog().debug("Ran the tests in process in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            getLog().warn("Unable to run the tests in process, running the maven-surefire-plugin instead: " + e);
+            getLog().debug(e);
+            return false;
+        }
+
+        if (result.getFailures() > 0 || result.getErrors() > 0) {
+            for (String failure : result.getFailureSummaries()) {
+                getLog().error(failure);
+            }
+            getLog().error(result.toString());
+            Xpp3Dom testFailureIgnore = config.getChild("testFailureIgnore");
+            if (testFailureIgnore == null || !Boolean.parseBoolean(testFailureIgnore.getValue())) {
+                throw new PluginScenarioException("Unit tests failed: There are test failures. See " + reportsDirectory
+                        + " for the individual test results.");
+            }
+        } else {
+            getLog().info(result.toString());
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the test dependency stays loaded between in-process test runs
+     */
+    private boolean isSharedTestDependency(Artifact artifact) {
+        if (IN_PROCESS_SHARED_GROUPS.contains(artifact.getGroupId())) {
+            return true;
+        }
+        if (inProcessTestsSharedDependencies != null) {
+            for (String dependency : inProcessTestsSharedDependencies) {
+                String trimmed = dependency.trim();
+                if (trimmed.equals(artifact.getGroupId()) || trimmed.equals(artifact.getGroupId() + ":" + artifact.getArtifactId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String[] toClassPatterns(List<String> patterns) {
+        String[] classPatterns = new String[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            if (pattern.endsWith(".java")) {
+                pattern = pattern.substring(0, pattern.length() - ".java".length()) + ".class";
+            } else if (!pattern.endsWith(".class") && !pattern.endsWith("*")) {
+                pattern = pattern + ".class";
+            }
+            classPatterns[i] = pattern;
+        }
+        return classPatterns;
+    }
+
+    private static List<String> getPatterns(Xpp3Dom config, String parentName, String childName) {
+        List<String> patterns = new ArrayList<String>();
+        Xpp3Dom parent = config.getChild(parentName);
+        if (parent != null) {
+            for (Xpp3Dom child : parent.getChildren(childName)) {
+                if (child.getValue() != null && !child.getValue().trim().isEmpty()) {
+                    patterns.add(child.getValue().trim());
+                }
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Run the integration tests in parallel against copies of the server when itShards is greater than one.
+     *
+     * @param currentProject the project whose integration tests are run
+     * @return true if the tests ran, false if they must run against the dev mode server instead
+     * @throws MojoExecutionException if a goal fails, including the verify goal when a test failed
+     */
+    private boolean runShardedIntegrationTests(MavenProject currentProject) throws MojoExecutionException {
+        if (itShards <= 1 || container) {
+            return false;
+        }
+        Plugin failsafePlugin = getPluginForProject("org.apache.maven.plugins", "maven-failsafe-plugin", currentProject);
+        Xpp3Dom failsafeConfig = ExecuteMojoUtil.getPluginGoalConfig(failsafePlugin, "integration-test", getLog());
+        if (failsafeConfig.getChild("test") != null || session.getUserProperties().getProperty("it.test") != null) {
+            getLog().debug("Running the integration tests selected by the maven-failsafe-plugin configuration against the dev mode server");
+            return false;
+        }
+        int httpPort;
+        int httpsPort;
+        try {
+            httpPort = Integer.parseInt(util.getHttpPort());
+            httpsPort = util.getHttpsPort() != null ? Integer.parseInt(util.getHttpsPort()) : httpPort + 1;
+        } catch (NumberFormatException e) {
+            getLog().warn("The HTTP port of the server is not known, running the integration tests against the dev mode server.");
+            return false;
+        }
+
+        List<String> testClasses;
+        try {
+            testClasses = IntegrationTestShards.findTestClasses(new File(currentProject.getBuild().getTestOutputDirectory()),
+                    getTestIncludes(failsafeConfig, "integration-test"), getPatterns(failsafeConfig, "excludes", "exclude"));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not find the integration test classes of " + currentProject.getFile(), e);
+        }
+        if (testClasses.size() < 2) {
+            return false;
+        }
+
+        if (integrationTestShards == null) {
+            integrationTestShards = new IntegrationTestShards(serverDirectory, itShards, itShardPortOffset, getLog());
+        }
+        try {
+            if (!integrationTestShards.syncServers(httpPort, httpsPort)) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not copy the server " + serverName + " for the integration tests", e);
+        }
+        startIntegrationTestServers();
+
+        integrationTestShards.assignTests(testClasses, getFailsafeReportsDirectory(currentProject));
+
+        List<IntegrationTestShards.Shard> shards = new ArrayList<IntegrationTestShards.Shard>();
+        for (IntegrationTestShards.Shard shard : integrationTestShards.getShards()) {
+            if (!shard.getTestClasses().isEmpty()) {
+                shards.add(shard);
+            }
+        }
+        getLog().info("Running " + testClasses.size() + " integration test classes in parallel against " + shards.size() + " servers.");
+        final MavenProject testProject = currentProject;
+        ExecutorService testExecutor = Executors.newFixedThreadPool(shards.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (final IntegrationTestShards.Shard shard : shards) {
+                getLog().debug("Integration tests on " + shard.getServerName() + ": " + shard.getTestClasses());
+                // clone the session before the shards start so that no shard runs on a session another one is using
+                final MavenSession shardSession = session.clone();
+                shardSession.setCurrentProject(testProject);
+                futures.add(testExecutor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws MojoExecutionException {
+                        runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "integration-test", testProject,
+                                new LinkedHashSet<String>(shard.getTestClasses()), Collections.singletonList(shard), shardSession);
+                        return null;
+                    }
+                }));
+            }
+            MojoExecutionException failure = null;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof MojoExecutionException ? (MojoExecutionException) e.getCause()
+                                : new MojoExecutionException("Failed to run integration tests", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while running integration tests.", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            testExecutor.shutdownNow();
+        }
+
+        runTestMojo("org.apache.maven.plugins", "maven-surefire-report-plugin", "failsafe-report-only", currentProject, null, shards);
+        for (IntegrationTestShards.Shard shard : shards) {
+            runTestMojo("org.apache.maven.plugins", "maven-failsafe-plugin", "verify", currentProject, null, Collections.singletonList(shard));
+        }
+        return true;
+    }
+
+    /**
+     * Start the integration test servers that are not running, in parallel, and stop them when dev mode exits.
+     */
+    private void startIntegrationTestServers() throws MojoExecutionException {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        ExecutorService startExecutor = Executors.newFixedThreadPool(integrationTestShards.getShards().size());
+        try {
+            for (final IntegrationTestShards.Shard shard : integrationTestShards.getShards()) {
+                if (ServerStatusUtil.isServerRunning(installDirectory, super.outputDirectory, shard.getServerName())) {
+                    continue;
+                }
+                futures.add(startExecutor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        getLog().info("Starting the integration test server " + shard.getServerName() + " on HTTP port " + shard.getHttpPort()
+                                + " and HTTPS port " + shard.getHttpsPort() + ".");
+                        ServerTask startTask = initializeJava();
+                        startTask.setServerName(shard.getServerName());
+                        startTask.setOperation("start");
+                        startTask.setTimeout(Long.toString(serverStartTimeout * 1000L));
+                        startTask.execute();
+                        if (startTask.waitForStringInLog("CWWKZ0001I", verifyTimeout * 1000L, startTask.getLogFile()) == null) {
+                            getLog().warn("No application started on the integration test server " + shard.getServerName()
+                                    + " within " + verifyTimeout + " seconds.");
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new MojoExecutionException("Could not start an integration test server.", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while starting the integration test servers.", e);
+                }
+            }
+        } finally {
+            startExecutor.shutdownNow();
+        }
+        if (!futures.isEmpty() && !integrationTestServersStopHookAdded) {
+            integrationTestServersStopHookAdded = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (IntegrationTestShards.Shard shard : integrationTestShards.getShards()) {
+                        try {
+                            ServerTask stopTask = initializeJava();
+                            stopTask.setServerName(shard.getServerName());
+                            stopTask.setOperation("stop");
+                            stopTask.execute();
+                        } catch (Exception e) {
+                            getLog().debug("Could not stop the integration test server " + shard.getServerName(), e);
+                        }
+                    }
+                }
+            }, "liberty-dev-it-servers-stop"));
+        }
+    }
+
     private void runTestMojo(String groupId, String artifactId, String goal, MavenProject project)
             throws MojoExecutionException {
+        runTestMojo(groupId, artifactId, goal, project, null);
+    }
+
+    private void runTestMojo(String groupId, String artifactId, String goal, MavenProject project, Set<String> selectedTests)
+            throws MojoExecutionException {
+        runTestMojo(groupId, artifactId, goal, project, selectedTests, null);
+    }
+
+    private void runTestMojo(String groupId, String artifactId, String goal, MavenProject project, Set<String> selectedTests,
+            List<IntegrationTestShards.Shard> shards) throws MojoExecutionException {
+        MavenSession tempSession = session.clone();
+        tempSession.setCurrentProject(project);
+        runTestMojo(groupId, artifactId, goal, project, selectedTests, shards, tempSession);
+    }
+
+    /**
+     * @param shards      the integration test servers the goal applies to, which is one server for the
+     *                    integration-test and verify goals and all servers for the report, or null for
+     *                    the dev mode server
+     * @param testSession the session the goal runs on, which must not be shared with a goal running
+     *                    concurrently
+     */
+    private void runTestMojo(String groupId, String artifactId, String goal, MavenProject project, Set<String> selectedTests,
+            List<IntegrationTestShards.Shard> shards, MavenSession testSession) throws MojoExecutionException {
         Plugin plugin = getPluginForProject(groupId, artifactId, project);
         Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(plugin, goal, getLog());
 
+        if (selectedTests != null) {
+            config.addChild(element(name("test"), String.join(",", selectedTests)).toDom());
+            Xpp3Dom failIfNoSpecifiedTests = config.getChild("failIfNoSpecifiedTests");
+            if (failIfNoSpecifiedTests == null) {
+                config.addChild(element(name("failIfNoSpecifiedTests"), "false").toDom());
+            } else {
+                failIfNoSpecifiedTests.setValue("false");
+            }
+        }
+
         if (goal.equals("test") || goal.equals("integration-test")) {
             validateTestToolchainOptions(artifactId, config);
         }
@@ -2168,6 +4050,9 @@ public class DevMojo extends LooseAppSupport {
             injectTestId(config);
         } else if (goal.equals("integration-test")) {
             injectTestId(config);
+            if (shards != null) {
+                injectShardConfig(config, project, shards.get(0));
+            }
             injectLibertyProperties(config);
 
             // clean up previous summary file
@@ -2207,6 +4092,17 @@ public class DevMojo extends LooseAppSupport {
             }
             linkXRef.setValue("false");
             config.addChild(linkXRef);
+            if (shards != null) {
+                File reportsDirectory = getFailsafeReportsDirectory(project);
+                removeChildren(config, "reportsDirectories");
+                Xpp3Dom reportDirectories = new Xpp3Dom("reportsDirectories");
+                for (IntegrationTestShards.Shard shard : shards) {
+                    reportDirectories.addChild(element(name("reportsDirectory"), shard.getReportsDirectory(reportsDirectory).getPath()).toDom());
+                }
+                config.addChild(reportDirectories);
+            }
+        } else if (goal.equals("verify") && shards != null) {
+            injectShardConfig(config, project, shards.get(0));
         } else if (goal.equals("report-only")) {
             Plugin surefirePlugin = getPluginForProject("org.apache.maven.plugins", "maven-surefire-plugin", project);
             Xpp3Dom surefireConfig = ExecuteMojoUtil.getPluginGoalConfig(surefirePlugin, "test", getLog());
@@ -2229,9 +4125,7 @@ public class DevMojo extends LooseAppSupport {
 
         getLog().debug("POM file: " + project.getFile() + "\n" + groupId + ":" + artifactId + " " + goal
                 + " configuration:\n" + config);
-        MavenSession tempSession = session.clone();
-        tempSession.setCurrentProject(project);
-        executeMojo(plugin, goal(goal), config, executionEnvironment(project, tempSession, pluginManager));
+        executeMojo(plugin, goal(goal), config, executionEnvironment(project, testSession, pluginManager));
     }
 
     /**
@@ -2272,10 +4166,57 @@ public class DevMojo extends LooseAppSupport {
     private void injectTestId(Xpp3Dom config) {
         Xpp3Dom properties = config.getChild("properties");
         if (properties == null || properties.getChild(TEST_RUN_ID_PROPERTY_NAME) == null) {
-            Element e = element(name("properties"), element(name(TEST_RUN_ID_PROPERTY_NAME), String.valueOf(runId++)));
+            Element e = element(name("properties"), element(name(TEST_RUN_ID_PROPERTY_NAME), String.valueOf(runId.getAndIncrement())));
             config.addChild(e.toDom());
         } else {
-            properties.getChild(TEST_RUN_ID_PROPERTY_NAME).setValue(String.valueOf(runId++));
+            properties.getChild(TEST_RUN_ID_PROPERTY_NAME).setValue(String.valueOf(runId.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Point the integration tests at an integration test server and write their reports to its
+     * own reports directory.
+     */
+    private void injectShardConfig(Xpp3Dom config, MavenProject project, IntegrationTestShards.Shard shard) {
+        File reportsDirectory = shard.getReportsDirectory(getFailsafeReportsDirectory(project));
+        setConfigValue(config, "reportsDirectory", reportsDirectory.getPath());
+        setConfigValue(config, "summaryFile", new File(reportsDirectory, "failsafe-summary.xml").getPath());
+        Xpp3Dom sysProps = config.getChild("systemPropertyVariables");
+        if (sysProps == null) {
+            sysProps = new Xpp3Dom("systemPropertyVariables");
+            config.addChild(sysProps);
+        }
+        // the ports of the dev mode server do not apply, even if they are configured
+        setConfigValue(sysProps, LIBERTY_HTTP_PORT, String.valueOf(shard.getHttpPort()));
+        setConfigValue(sysProps, LIBERTY_HTTPS_PORT, String.valueOf(shard.getHttpsPort()));
+        setConfigValue(sysProps, MICROSHED_HTTP_PORT, String.valueOf(shard.getHttpPort()));
+        setConfigValue(sysProps, MICROSHED_HTTPS_PORT, String.valueOf(shard.getHttpsPort()));
+    }
+
+    private File getFailsafeReportsDirectory(MavenProject project) {
+        Plugin failsafePlugin = getPluginForProject("org.apache.maven.plugins", "maven-failsafe-plugin", project);
+        Xpp3Dom failsafeConfig = ExecuteMojoUtil.getPluginGoalConfig(failsafePlugin, "integration-test", getLog());
+        Xpp3Dom reportsDirectoryElement = failsafeConfig.getChild("reportsDirectory");
+        if (reportsDirectoryElement != null && reportsDirectoryElement.getValue() != null) {
+            return new File(reportsDirectoryElement.getValue());
+        }
+        return new File(project.getBuild().getDirectory(), "failsafe-reports");
+    }
+
+    private static void setConfigValue(Xpp3Dom config, String name, String value) {
+        Xpp3Dom child = config.getChild(name);
+        if (child == null) {
+            config.addChild(element(name(name), value).toDom());
+        } else {
+            child.setValue(value);
+        }
+    }
+
+    private static void removeChildren(Xpp3Dom config, String name) {
+        for (int i = config.getChildCount() - 1; i >= 0; i--) {
+            if (name.equals(config.getChild(i).getName())) {
+                config.removeChild(i);
+            }
         }
     }
 
@@ -2326,22 +4267,6 @@ public class DevMojo extends LooseAppSupport {
 
     }
 
-    private void listFiles(File directory, List<File> files, String suffix) {
-        if (directory != null) {
-            // Get all files from a directory.
-            File[] fList = directory.listFiles();
-            if (fList != null) {
-                for (File file : fList) {
-                    if (file.isFile() && ((suffix == null) || (file.getName().toLowerCase().endsWith("." + suffix)))) {
-                        files.add(file);
-                    } else if (file.isDirectory()) {
-                        listFiles(file, files, suffix);
-                    }
-                }
-            }
-        }
-    }
-
     /**
      * Executes Maven goal passed but sets failOnError to false All errors are
      * logged as warning messages
@@ -2364,17 +4289,21 @@ public class DevMojo extends LooseAppSupport {
     }
 
     private void runCompileMojoLogWarningWithException(String goal) throws MojoExecutionException {
-        Plugin plugin = getPluginForProject("org.apache.maven.plugins", "maven-compiler-plugin", project);
+        runCompileMojoLogWarningWithException(goal, project);
+    }
+
+    private void runCompileMojoLogWarningWithException(String goal, MavenProject mavenProject) throws MojoExecutionException {
+        Plugin plugin = getPluginForProject("org.apache.maven.plugins", "maven-compiler-plugin", mavenProject);
         MavenSession tempSession = session.clone();
-        tempSession.setCurrentProject(project);
-        MavenProject tempProject = project;
+        tempSession.setCurrentProject(mavenProject);
+        MavenProject tempProject = mavenProject;
         Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(plugin, goal, getLog());
         config = Xpp3Dom.mergeXpp3Dom(configuration(element(name("failOnError"), "true")), config);
         getLog().info("Running maven-compiler-plugin:" + goal + " on " + tempProject.getFile());
         getLog().debug("configuration:\n" + config);
         executeMojo(plugin, goal(goal), config, executionEnvironment(tempProject, tempSession, pluginManager));
 
-        updateArtifactPathToOutputDirectory(project);
+        updateArtifactPathToOutputDirectory(mavenProject);
     }
 
     /**
@@ -2425,6 +4354,95 @@ public class DevMojo extends LooseAppSupport {
         super.runLibertyMojoInstallFeature(features, serverDir, containerName);
     }
 
+    @Override
+    protected void runLibertyMojoDeploy(boolean forceLooseApp) throws MojoExecutionException {
+        super.runLibertyMojoDeploy(forceLooseApp);
+        if (project.getPackaging().equals("war") && LooseWarApplication.isExploded(project)) {
+            // the deploy goal ran the exploded goal
+            getExplodedWarSync().reset();
+        }
+        notifyApplicationUpdated();
+    }
+
+    /**
+     * Update the webapp directory of the exploded loose WAR with the changed web sources, running
+     * the war:exploded goal only when the changes cannot be applied incrementally.
+     */
+    private void updateExplodedApp() throws MojoExecutionException {
+        ExplodedWarSync sync = getExplodedWarSync();
+        try {
+            if (sync.sync()) {
+                return;
+            }
+        } catch (IOException e) {
+            getLog().debug("Unable to update the exploded application incrementally, running the exploded goal", e);
+        }
+        runExplodedMojo();
+        sync.reset();
+    }
+
+    /**
+     * Get the exploded WAR synchronizer for the current project. The project is rebuilt when
+     * the pom changes, so a new synchronizer is created to pick up any war plugin configuration changes.
+     */
+    private ExplodedWarSync getExplodedWarSync() {
+        if (explodedWarSync == null || explodedWarSync.getProject() != project) {
+            Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(getPlugin("org.apache.maven.plugins", "maven-war-plugin"), "exploded",
+                    getLog());
+            if (explodedWarSync != null) {
+                explodedWarSync.close();
+            }
+            explodedWarSync = new ExplodedWarSync(project, session.getUserProperties(), config, getLog());
+        }
+        return explodedWarSync;
+    }
+
+    /**
+     * With hot swap the server only updates applications when told to, so tell it that the
+     * deployed applications changed once dev mode is running.
+     */
+    private void notifyApplicationUpdated() {
+        if (hotSwapSupport != null && util != null) {
+            List<File> applicationFiles = new ArrayList<File>();
+            for (String dir : new String[] { "apps", "dropins" }) {
+                File[] files = new File(serverDirectory, dir).listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        if (file.isFile()) {
+                            applicationFiles.add(file);
+                        }
+                    }
+                }
+            }
+            hotSwapSupport.notifyFileChanges(Collections.<File>emptyList(), applicationFiles, Collections.<File>emptyList());
+        }
+    }
+
+    /**
+     * Write the server configuration that hot swap needs, or remove it when hot swap is off.
+     */
+    private void writeHotSwapConfigOverride() throws MojoExecutionException {
+        if (hotSwap && hotSwapSupport == null) {
+            getLog().warn("Hot swap requires the debug port and is not supported in a container or with Boost. Hot swap is disabled.");
+        }
+        try {
+            HotSwapSupport.writeConfigOverride(serverDirectory, hotSwapSupport != null);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write the hot swap configuration to " + serverDirectory, e);
+        }
+    }
+
+    private int getDebugPort(String debugAddress) {
+        if (debugAddress != null) {
+            try {
+                return Integer.parseInt(debugAddress.substring(debugAddress.lastIndexOf(':') + 1).trim());
+            } catch (NumberFormatException e) {
+                getLog().debug("Unable to parse the debug address " + debugAddress);
+            }
+        }
+        return libertyDebugPort;
+    }
+
     /**
      * Executes liberty:create unless using a container, then just create the
      * necessary server directories
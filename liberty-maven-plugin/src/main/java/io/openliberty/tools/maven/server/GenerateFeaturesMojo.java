@@ -23,6 +23,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -36,7 +38,6 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
-import org.apache.maven.project.ProjectBuildingResult;
 import org.w3c.dom.Element;
 
 import io.openliberty.tools.common.plugins.config.ServerConfigXmlDocument;
@@ -46,6 +47,10 @@ import io.openliberty.tools.common.plugins.util.PluginExecutionException;
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil;
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms;
 import io.openliberty.tools.common.plugins.util.VersionUtility;
+import io.openliberty.tools.maven.utils.DevStateSnapshot;
+import io.openliberty.tools.maven.utils.FeatureScanCache;
+import io.openliberty.tools.maven.utils.ProjectModelCache;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * This mojo generates the features required in the featureManager element in
@@ -156,7 +161,7 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
             getLog().info("\nSkipping generate-features goal.\n");
             return;
         }
-        try {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.GENERATE_FEATURES, project.getId(), serverName, null)) {
             generateFeatures();
         } catch (PluginExecutionException e) {
             throw new MojoExecutionException("Error during generation of features.", e);
@@ -326,8 +331,41 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
                 featureListFileMap.put(WSBASE_FEATURELIST_KEY, baseFeatureListFile);
             } // else should not happen, just pass empty map
 
-            scannedFeatureList = featureGenHandler.runFeatureGenerator(nonCustomFeatures, classFiles, directories, logLocation,
-                eeVersionArg, mpVersionArg, featureListFileMap, optimize);
+            // an optimized run scans every class file, so compare them with the last scan first
+            FeatureScanCache scanCache = null;
+            if (optimize && (classFiles == null || classFiles.isEmpty())) {
+                scanCache = new FeatureScanCache(new File(logLocation, FeatureScanCache.FILE_NAME),
+                        getScanInputs(nonCustomFeatures, directories, eeVersionArg, mpVersionArg, featureGenJar, featureListFileMap),
+                        directories, getLog());
+            }
+            if (scanCache != null && scanCache.isUnchanged()) {
+                scannedFeatureList = scanCache.getCachedFeatures();
+                getLog().debug("No class files changed since the last scan, reusing the scanned features: " + scannedFeatureList);
+            } else if (scanCache != null && scanCache.getAddedClassFiles() != null) {
+                // classes were only added, which can only add API usage, so scan just the new ones
+                List<String> addedClassFiles = scanCache.getAddedClassFiles();
+                getLog().debug("Scanning only the class files added since the last scan: " + addedClassFiles.size());
+                Set<String> cachedFeatures = scanCache.getCachedFeatures();
+                Set<String> knownFeatures = new HashSet<String>(nonCustomFeatures);
+                knownFeatures.addAll(cachedFeatures);
+                scanCache.clear();
+                Set<String> addedFeatures = featureGenHandler.runFeatureGenerator(knownFeatures, addedClassFiles, directories, logLocation,
+                    eeVersionArg, mpVersionArg, featureListFileMap, false);
+                if (addedFeatures != null) {
+                    scannedFeatureList = new HashSet<String>(cachedFeatures);
+                    scannedFeatureList.addAll(addedFeatures);
+                    scanCache.store(scannedFeatureList);
+                }
+            } else {
+                if (scanCache != null) {
+                    scanCache.clear();
+                }
+                scannedFeatureList = featureGenHandler.runFeatureGenerator(nonCustomFeatures, classFiles, directories, logLocation,
+                    eeVersionArg, mpVersionArg, featureListFileMap, optimize);
+                if (scanCache != null && scannedFeatureList != null) {
+                    scanCache.store(scannedFeatureList);
+                }
+            }
         } catch (FeatureGeneratorUtil.NoRecommendationException noRecommendation) {
             throw new MojoExecutionException(String.format(FeatureGeneratorUtil.FEATURE_GEN_CONFLICT_MESSAGE3, noRecommendation.getConflicts()));
         } catch (FeatureGeneratorUtil.FeatureModifiedException featuresModified) {
@@ -564,13 +602,17 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
         if (libertyVersion == null) {
             return null;
         }
+        return getArtifact(getOpenFeatureListDependency(libertyVersion)).getFile();
+    }
+
+    static Dependency getOpenFeatureListDependency(String libertyVersion) {
         // Feature lists were first published for 25.0.0.7. For liberty releases prior to this simply use the
         // earliest available feature list, 25.0.0.7.
         if (VersionUtility.compareArtifactVersion(libertyVersion, OPEN_LIBERTY_FEATURE_LIST_START, true) < 0) {
             libertyVersion = OPEN_LIBERTY_FEATURE_LIST_START;
         }
         libertyVersion = "[" + libertyVersion + "]"; // Maven syntax to specify an exact version, not a range
-        return getArtifact(OL_FEATURELIST_GROUP_ID, OL_FEATURELIST_ARTIFACT_ID, OL_FEATURELIST_TYPE, libertyVersion).getFile();
+        return createDependency(OL_FEATURELIST_GROUP_ID, OL_FEATURELIST_ARTIFACT_ID, OL_FEATURELIST_TYPE, libertyVersion);
     }
 
     /*
@@ -584,14 +626,20 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
     private static String FEATURE_LIST_BASE = "base";
     private static String FEATURE_LIST_CORE = "core";
     private File getWebSphereFeatureListFile(String featureListVar) throws MojoExecutionException {
-        // For releases earlier than 25.0.0.7 use 25.0.0.7 Maven coordinates (batch 1).
-        // For releases 25.0.0.8 to 25.0.0.12 use batch 2 coordinates. 
-        // For 26.0.0.1 and later use the third batch.
-        String libertyGroupId, libertyArtifactId;
         String libertyVersion = getLibertyRuntimeVersion();
         if (libertyVersion == null) {
             return null;
         }
+        Dependency featureList = getWebSphereFeatureListDependency(featureListVar, libertyVersion);
+        getLog().debug("WebSphere Liberty feature list coordinates, libertyGroupId="+featureList.getGroupId()+" libertyArtifactId="+featureList.getArtifactId()+" WS_FEATURELIST_TYPE="+WS_FEATURELIST_TYPE+" libertyVersion="+featureList.getVersion());
+        return getArtifact(featureList).getFile();
+    }
+
+    static Dependency getWebSphereFeatureListDependency(String featureListVar, String libertyVersion) {
+        // For releases earlier than 25.0.0.7 use 25.0.0.7 Maven coordinates (batch 1).
+        // For releases 25.0.0.8 to 25.0.0.12 use batch 2 coordinates. 
+        // For 26.0.0.1 and later use the third batch.
+        String libertyGroupId, libertyArtifactId;
         // Publishing started with 25.0.0.7 so for any liberty <25.0.0.7 use the 07 values
         if (VersionUtility.compareArtifactVersion(libertyVersion, WS_FEATURE_LIST_VERSION_BATCH1, true) <= 0) {
             libertyGroupId = WS_FEATURELIST_GROUP_ID_BATCH1;
@@ -606,8 +654,39 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
             libertyArtifactId = (featureListVar.equals(FEATURE_LIST_BASE)) ? WS_BASE_FEATURE_LIST_ARTIFACT_ID_BATCH3 : WS_CORE_FEATURE_LIST_ARTIFACT_ID_BATCH3;
         }
         libertyVersion = "[" + libertyVersion + "]"; // Maven syntax to specify an exact version, not a range
-        getLog().debug("WebSphere Liberty feature list coordinates, libertyGroupId="+libertyGroupId+" libertyArtifactId="+libertyArtifactId+" WS_FEATURELIST_TYPE="+WS_FEATURELIST_TYPE+" libertyVersion="+libertyVersion);
-        return getArtifact(libertyGroupId, libertyArtifactId, WS_FEATURELIST_TYPE, libertyVersion).getFile();
+        return createDependency(libertyGroupId, libertyArtifactId, WS_FEATURELIST_TYPE, libertyVersion);
+    }
+
+    /**
+     * Returns the feature lists that generating features for the given runtime downloads,
+     * so that they can be prefetched.
+     *
+     * @param libertyGroupId the groupId of the runtime
+     * @param libertyVersion the version of the runtime
+     * @return the feature lists, which is empty if the runtime is unknown
+     */
+    static List<Dependency> getFeatureListDependencies(String libertyGroupId, String libertyVersion) {
+        List<Dependency> featureLists = new ArrayList<Dependency>();
+        if (libertyVersion == null) {
+            return featureLists;
+        }
+        if (WEBSPHERE_LIBERTY_PRODUCT_ID.equals(libertyGroupId)) {
+            featureLists.add(getWebSphereFeatureListDependency(FEATURE_LIST_BASE, libertyVersion));
+            featureLists.add(getWebSphereFeatureListDependency(FEATURE_LIST_CORE, libertyVersion));
+        } else if (OPEN_LIBERTY_PRODUCT_ID.equals(libertyGroupId)) {
+            featureLists.add(getOpenFeatureListDependency(libertyVersion));
+            featureLists.add(getWebSphereFeatureListDependency(FEATURE_LIST_BASE, libertyVersion));
+        }
+        return featureLists;
+    }
+
+    private static Dependency createDependency(String groupId, String artifactId, String type, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setType(type);
+        dependency.setVersion(version);
+        return dependency;
     }
 
     // resolve the Liberty version from one of the sources
@@ -640,6 +719,22 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
         return null;
     }
 
+    // Fingerprint of the inputs of the feature generator other than the class files
+    private static String getScanInputs(Set<String> features, Set<String> directories, String eeVersionArg, String mpVersionArg,
+            File featureGenJar, Map<String, File> featureListFileMap) {
+        DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint()
+                .add(new TreeSet<String>(features).toString())
+                .add(new TreeSet<String>(directories).toString())
+                .add(eeVersionArg)
+                .add(mpVersionArg)
+                .add(featureGenJar.getAbsolutePath() + ":" + featureGenJar.length() + ":" + featureGenJar.lastModified());
+        for (Map.Entry<String, File> featureList : new TreeMap<String, File>(featureListFileMap).entrySet()) {
+            File listFile = featureList.getValue();
+            fingerprint.add(featureList.getKey() + "=" + (listFile == null ? null : listFile.getAbsolutePath()));
+        }
+        return fingerprint.toString();
+    }
+
     // Return a list containing the classes directory of the Maven projects (upstream projects and main project)
     private Set<String> getClassesDirectories(List<MavenProject> mavenProjects) throws MojoExecutionException {
         Set<String> dirs = new HashSet<String>();
@@ -878,8 +973,7 @@ public class GenerateFeaturesMojo extends PluginConfigSupport {
 
     // using the current MavenSession build the project (resolves dependencies)
     private MavenProject getMavenProject(File buildFile) throws ProjectBuildingException {
-        ProjectBuildingResult build = mavenProjectBuilder.build(buildFile,
-                session.getProjectBuildingRequest().setResolveDependencies(true));
-        return build.getProject();
+        return ProjectModelCache.getInstance(session).build(mavenProjectBuilder, buildFile, session.getProjectBuildingRequest(),
+                session.getProjects(), getLog());
     }
 }
@@ -1,5 +1,5 @@
 /**
- * (C) Copyright IBM Corporation 2015, 2024.
+ * (C) Copyright IBM Corporation 2015, 2026.
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -16,6 +16,7 @@
 package io.openliberty.tools.maven.server;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -33,9 +35,13 @@ import io.openliberty.tools.ant.FeatureManagerTask.Feature;
 import io.openliberty.tools.maven.InstallFeatureSupport;
 import io.openliberty.tools.common.plugins.util.DevUtil;
 import io.openliberty.tools.common.plugins.util.InstallFeatureUtil;
+import io.openliberty.tools.common.plugins.util.LibertyPropFilesUtility;
 import io.openliberty.tools.common.plugins.util.PluginExecutionException;
 import io.openliberty.tools.common.plugins.util.ServerFeatureUtil.FeaturesPlatforms;
 import io.openliberty.tools.common.plugins.util.InstallFeatureUtil.ProductProperties;
+import io.openliberty.tools.maven.utils.CommonLogger;
+import io.openliberty.tools.maven.utils.DevStateSnapshot;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * This mojo installs a feature packaged as a Subsystem Archive (esa) to the
@@ -43,6 +49,10 @@ import io.openliberty.tools.common.plugins.util.InstallFeatureUtil.ProductProper
  */
 @Mojo(name = "install-feature", threadSafe = true)
 public class InstallFeatureMojo extends InstallFeatureSupport {
+
+    public static final String INSTALL_STATE_FILE_NAME = "liberty-plugin-install-feature.properties";
+
+    private static final String INSTALL_FEATURE_STEP = "installFeature";
     
     /**
      * The container name if the features should be installed in a container.
@@ -59,6 +69,22 @@ public class InstallFeatureMojo extends InstallFeatureSupport {
     @Parameter
     private File serverDir;
 
+    /**
+     * (Optional) Install only the features listed in the features configuration,
+     * instead of also resolving the features of the server and dependencies.
+     * Dev mode uses this option to install just the features that were added
+     * to the server configuration and are missing from the runtime.
+     */
+    @Parameter
+    private boolean onlyListedFeatures;
+
+    /**
+     * Skip feature resolution when the requested features, the runtime and the
+     * installed features did not change since the last successful installation.
+     */
+    @Parameter(property = "skipUnchangedFeatures", defaultValue = "true")
+    private boolean skipUnchangedFeatures = true;
+
     @Override
     public void execute() throws MojoExecutionException {
         init();
@@ -75,7 +101,8 @@ public class InstallFeatureMojo extends InstallFeatureSupport {
             serverDirectory = serverDir;
             getLog().debug("Overriding the server directory with: " + serverDirectory);
         }
-        try {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.INSTALL_FEATURES, project.getId(), serverName,
+                installDirectory == null ? null : installDirectory.getPath())) {
             installFeatures();
         } catch (PluginExecutionException e) {
             throw new MojoExecutionException("Error installing features for server "+serverName, e);
@@ -83,6 +110,18 @@ public class InstallFeatureMojo extends InstallFeatureSupport {
     }
 
     private void installFeatures() throws PluginExecutionException {
+        DevStateSnapshot installState = null;
+        String installInputs = null;
+        if (containerName == null && !onlyListedFeatures && skipUnchangedFeatures) {
+            installState = new DevStateSnapshot(new File(project.getBuild().getDirectory(), INSTALL_STATE_FILE_NAME), getLog());
+            installInputs = getInstallInputs();
+            if (installInputs != null && installState.isUnchanged(INSTALL_FEATURE_STEP, getInstallFingerprint(installInputs))) {
+                getLog().info("Skipping feature installation for server " + serverName
+                        + " because the features and the runtime did not change since the last installation.");
+                return;
+            }
+        }
+
         // If non-container mode, check for Beta version and skip if needed.  Container mode does not need to check since featureUtility will check when it is called.
         List<ProductProperties> propertiesList = null;
         String openLibertyVersion = null;
@@ -112,6 +151,11 @@ public class InstallFeatureMojo extends InstallFeatureSupport {
         	featuresToInstall = fp.getFeatures();
         	platformsToInstall = fp.getPlatforms();
         }
+        if (onlyListedFeatures && util != null) {
+            // keep the server platforms so that versionless features still resolve
+            featuresToInstall = getPluginListedFeatures(false);
+            getLog().debug("Installing only the listed features: " + featuresToInstall);
+        }
         if(!pluginListedEsas.isEmpty() && isClosedLiberty) {
         	installFromAnt = true;
         }
@@ -119,11 +163,116 @@ public class InstallFeatureMojo extends InstallFeatureSupport {
         if(installFromAnt) {
             installFeaturesFromAnt(features.getFeatures());
         } else if(util != null) {
-            util.installFeatures(features.isAcceptLicense(), new ArrayList<String>(featuresToInstall), new ArrayList<String>(platformsToInstall));
+            InstallFeatureMojoUtil mojoUtil = (containerName == null && util instanceof InstallFeatureMojoUtil) ? (InstallFeatureMojoUtil) util : null;
+            if (mojoUtil != null) {
+                mojoUtil.prefetchFeatures(featuresToInstall);
+            }
+            try {
+                util.installFeatures(features.isAcceptLicense(), new ArrayList<String>(featuresToInstall), new ArrayList<String>(platformsToInstall));
+                if (installInputs != null) {
+                    // the manifests are fingerprinted after the installation, which adds to them
+                    installState.record(INSTALL_FEATURE_STEP, getInstallFingerprint(installInputs));
+                }
+            } finally {
+                if (mojoUtil != null) {
+                    mojoUtil.closePrefetcher();
+                }
+            }
         } 
        
     }
 
+    /**
+     * Get a fingerprint of what decides the features to install: the features listed in
+     * the plugin configuration, as dependencies and in the server configuration, the server
+     * platforms, the runtime version, the additional feature JSON files and the keys.
+     * This parses the server configuration, but does not load the feature repository.
+     *
+     * @return the fingerprint, or null if one of the inputs cannot be read
+     * @throws PluginExecutionException if the server configuration cannot be parsed
+     */
+    private String getInstallInputs() throws PluginExecutionException {
+        try {
+            List<String> settings = new ArrayList<String>();
+            settings.add("features=" + new TreeSet<String>(getPluginListedFeatures(false)));
+            Set<String> dependencyFeatures = new TreeSet<String>();
+            for (org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+                if ("esa".equals(dependency.getType())) {
+                    dependencyFeatures.add(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion());
+                }
+            }
+            settings.add("dependencies=" + dependencyFeatures);
+            settings.add("acceptLicense=" + features.isAcceptLicense());
+            settings.add("to=" + features.getTo());
+            settings.add("from=" + features.getFrom());
+            settings.add("verify=" + features.getVerify());
+            settings.add("additionalJsons=" + getAdditionalJsonList());
+            for (Map<String, String> key : getKeyMap()) {
+                settings.add("key=" + key.get("keyid") + " " + key.get("keyurl"));
+            }
+            settings.add(serverDirectory.getAbsolutePath());
+            List<File> esaFiles = new ArrayList<File>();
+            for (String esa : new TreeSet<String>(getPluginListedFeatures(true))) {
+                esaFiles.add(new File(esa));
+            }
+            FeaturesPlatforms fp = null;
+            if (serverDirectory.exists()) {
+                Map<String, File> libDirPropFiles = LibertyPropFilesUtility.getLibertyDirectoryPropertyFiles(new CommonLogger(getLog()),
+                        installDirectory, userDirectory, serverDirectory, new File(outputDirectory, serverName));
+                fp = getServerFeatureUtil(true, libDirPropFiles).getServerFeatures(serverDirectory, libDirPropFiles);
+            }
+            return getInstallInputs(installDirectory, settings, esaFiles,
+                    fp == null ? null : fp.getFeatures(), fp == null ? null : fp.getPlatforms());
+        } catch (IOException e) {
+            getLog().debug("Could not fingerprint the features to install, installing features", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param installDirectory the runtime installation directory
+     * @param settings         the plugin configuration that decides the features to install
+     * @param esaFiles         the feature archives listed in the plugin configuration
+     * @param serverFeatures   the features of the server configuration, or null if there is no server
+     * @param serverPlatforms  the platforms of the server configuration, or null if there is no server
+     * @return the fingerprint of the inputs of the feature installation
+     * @throws IOException if the runtime version files cannot be read
+     */
+    static String getInstallInputs(File installDirectory, List<String> settings, List<File> esaFiles,
+            Collection<String> serverFeatures, Collection<String> serverPlatforms) throws IOException {
+        DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint();
+        fingerprint.addContents(new File(installDirectory, "lib/versions"), null);
+        for (String setting : settings) {
+            fingerprint.add(setting);
+        }
+        for (File esa : esaFiles) {
+            fingerprint.addTimestamps(esa);
+        }
+        if (serverFeatures != null) {
+            fingerprint.add("serverFeatures=" + new TreeSet<String>(serverFeatures))
+                    .add("serverPlatforms=" + (serverPlatforms == null ? null : new TreeSet<String>(serverPlatforms)));
+        }
+        return fingerprint.toString();
+    }
+
+    private String getInstallFingerprint(String installInputs) {
+        return getInstallFingerprint(installInputs, installDirectory, userDirectory);
+    }
+
+    /**
+     * @param installInputs    the fingerprint of the inputs of the feature installation
+     * @param installDirectory the runtime installation directory
+     * @param userDirectory    the user directory of the runtime
+     * @return the fingerprint of the inputs and of the installed feature manifests
+     */
+    static String getInstallFingerprint(String installInputs, File installDirectory, File userDirectory) {
+        return new DevStateSnapshot.Fingerprint()
+                .add(installInputs)
+                .addTimestamps(new File(installDirectory, "lib/features"))
+                .addTimestamps(new File(userDirectory, "extension/lib/features"))
+                .toString();
+    }
+
     @SuppressWarnings("deprecation")
     private void installFeaturesFromAnt(List<Feature> installFeatures) {
         // Set default outputDirectory to liberty-alt-output-dir for install-feature goal.
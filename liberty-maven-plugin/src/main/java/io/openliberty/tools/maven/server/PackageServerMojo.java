@@ -35,6 +35,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Package a liberty server
@@ -142,7 +143,7 @@ public class PackageServerMojo extends StartDebugMojoSupport {
             return;
         }
 
-        try {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.PACKAGE_SERVER, project.getId(), serverName, getPackageName())) {
             doPackage();
         } catch (IOException | PluginExecutionException e) {
             throw new MojoExecutionException("Error packaging the Liberty server.", e);
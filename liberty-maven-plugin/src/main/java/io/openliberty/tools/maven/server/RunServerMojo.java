@@ -26,6 +26,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
 import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Start a liberty server
@@ -157,7 +158,9 @@ public class RunServerMojo extends PluginConfigSupport {
         serverTask.setUseEmbeddedServer(embedded);
         serverTask.setClean(clean);
         serverTask.setOperation("run");       
-        serverTask.execute();
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.RUN_SERVER, project.getId(), serverName, null)) {
+            serverTask.execute();
+        }
     }
 
 }
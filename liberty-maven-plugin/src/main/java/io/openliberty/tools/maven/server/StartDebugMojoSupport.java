@@ -64,6 +64,7 @@ import io.openliberty.tools.common.plugins.config.ServerConfigXmlDocument;
 import io.openliberty.tools.maven.ServerFeatureSupport;
 import io.openliberty.tools.maven.applications.LooseWarApplication;
 import io.openliberty.tools.maven.utils.ExecuteMojoUtil;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Start/Debug server support.
@@ -219,10 +220,17 @@ public abstract class StartDebugMojoSupport extends ServerFeatureSupport {
     }
 
     protected void runLibertyMojoInstallFeature(Element features, File serverDir, String containerName) throws MojoExecutionException {
+        runLibertyMojoInstallFeature(features, serverDir, containerName, false);
+    }
+
+    protected void runLibertyMojoInstallFeature(Element features, File serverDir, String containerName, boolean onlyListedFeatures) throws MojoExecutionException {
         Xpp3Dom config = ExecuteMojoUtil.getPluginGoalConfig(getLibertyPlugin(), "install-feature", getLog());
         if (features != null) {
             config = Xpp3Dom.mergeXpp3Dom(configuration(features), config);
         }
+        if (onlyListedFeatures) {
+            config.addChild(element(name("onlyListedFeatures"), "true").toDom());
+        }
         if (containerName != null) {
             config.addChild(element(name("containerName"), containerName).toDom());
         }
@@ -404,6 +412,13 @@ public abstract class StartDebugMojoSupport extends ServerFeatureSupport {
      * @throws MojoExecutionException
      */
     protected void copyConfigFiles() throws IOException, MojoExecutionException {
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.COPY_CONFIG_FILES, project.getId(), serverName,
+                configDirectory == null ? null : configDirectory.getPath())) {
+            copyServerConfigFiles();
+        }
+    }
+
+    private void copyServerConfigFiles() throws IOException, MojoExecutionException {
 
         String jvmOptionsPath = null;
         String bootStrapPropertiesPath = null;
@@ -24,6 +24,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Start a liberty server
@@ -100,7 +101,9 @@ public class StartServerMojo extends StartDebugMojoSupport {
             serverStartTimeout = 30;
         }
         serverTask.setTimeout(Long.toString(serverStartTimeout * 1000));
-        serverTask.execute();
+        try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.START_SERVER, project.getId(), serverName, null)) {
+            serverTask.execute();
+        }
 
         if (verifyTimeout < 0) {
             verifyTimeout = 30;
@@ -124,7 +127,9 @@ public class StartServerMojo extends StartDebugMojoSupport {
         try {
             ServerTask serverTask = initializeJava();
             serverTask.setOperation("stop");
-            serverTask.execute(); 
+            try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.STOP_SERVER, project.getId(), serverName, null)) {
+                serverTask.execute();
+            }
         } catch (Exception e) {
             // ignore
             getLog().debug("Error stopping server", e);
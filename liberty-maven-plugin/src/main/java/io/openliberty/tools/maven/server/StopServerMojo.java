@@ -22,6 +22,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
 import io.openliberty.tools.ant.ServerTask;
+import io.openliberty.tools.maven.utils.JfrEvents;
 
 /**
  * Stop a liberty server
@@ -55,7 +56,9 @@ public class StopServerMojo extends StartDebugMojoSupport {
                 ServerTask serverTask = initializeJava();
                 serverTask.setUseEmbeddedServer(embedded);
                 serverTask.setOperation("stop");
-                serverTask.execute();
+                try (JfrEvents.Operation event = JfrEvents.begin(JfrEvents.Type.STOP_SERVER, project.getId(), serverName, null)) {
+                    serverTask.execute();
+                }
             } catch (Exception e) {
                 // Most often when server stop fails, it is because the server does
                 // not fully exist in the file structure and is not running anyway.
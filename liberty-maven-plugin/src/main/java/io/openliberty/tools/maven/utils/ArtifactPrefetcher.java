@@ -0,0 +1,175 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+/**
+ * Resolves artifacts that are needed later in the background, several at a time,
+ * so that they are downloaded to the local repository while other work runs.
+ * <p>
+ * Prefetching only warms the local repository. The code that needs an artifact
+ * still resolves it as before, which then finds it locally, and reports the error
+ * if it cannot be resolved. A failed prefetch is only logged at debug level.
+ */
+public class ArtifactPrefetcher {
+
+    /**
+     * Resolves one artifact to a file in the local repository.
+     */
+    public interface Resolver {
+        File resolve(Artifact artifact) throws Exception;
+    }
+
+    private final Resolver resolver;
+    private final Log log;
+    private final ExecutorService executor;
+    private final Map<String, Future<File>> prefetched = new LinkedHashMap<String, Future<File>>();
+
+    /**
+     * @param resolver the resolver
+     * @param threads  the number of artifacts resolved at the same time
+     * @param log      the log
+     */
+    public ArtifactPrefetcher(Resolver resolver, int threads, Log log) {
+        this.resolver = resolver;
+        this.log = log;
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "liberty-artifact-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Create a resolver that resolves artifacts through Aether. A version range is resolved
+     * to the highest version in the range, as {@code AbstractLibertySupport} does.
+     *
+     * @param repositorySystem the repository system
+     * @param repoSession      the repository session
+     * @param repositories     the remote repositories
+     * @return the resolver
+     */
+    public static Resolver aetherResolver(final RepositorySystem repositorySystem, final RepositorySystemSession repoSession,
+            final List<RemoteRepository> repositories) {
+        return new Resolver() {
+            @Override
+            public File resolve(Artifact artifact) throws Exception {
+                String version = artifact.getVersion().trim();
+                if (version.startsWith("[") || version.startsWith("(")) {
+                    VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, repositories, null);
+                    VersionRangeResult rangeResult = repositorySystem.resolveVersionRange(repoSession, rangeRequest);
+                    if (rangeResult.getHighestVersion() == null) {
+                        throw new IllegalStateException("No version of " + artifact + " is available");
+                    }
+                    artifact = artifact.setVersion(rangeResult.getHighestVersion().toString());
+                }
+                ArtifactResult result = repositorySystem.resolveArtifact(repoSession, new ArtifactRequest(artifact, repositories, null));
+                return result.getArtifact().getFile();
+            }
+        };
+    }
+
+    /**
+     * Start resolving the given artifacts in the background. Artifacts that were already
+     * prefetched are not resolved again.
+     *
+     * @param artifacts the artifacts
+     */
+    public synchronized void prefetch(Collection<Artifact> artifacts) {
+        for (final Artifact artifact : artifacts) {
+            String key = artifact.toString();
+            if (prefetched.containsKey(key)) {
+                continue;
+            }
+            log.debug("Prefetching artifact " + key);
+            prefetched.put(key, executor.submit(new Callable<File>() {
+                @Override
+                public File call() throws Exception {
+                    long start = System.currentTimeMillis();
+                    try {
+                        File file = resolver.resolve(artifact);
+                        log.debug("Prefetched artifact " + artifact + " in " + (System.currentTimeMillis() - start) + " ms");
+                        return file;
+                    } catch (Exception e) {
+                        log.debug("Could not prefetch artifact " + artifact + ": " + e.getMessage());
+                        throw e;
+                    }
+                }
+            }));
+        }
+    }
+
+    /**
+     * Wait for a prefetched artifact.
+     *
+     * @param artifact the artifact
+     * @param timeout  the longest time to wait
+     * @param unit     the unit of the timeout
+     * @return the file of the artifact, or null if it was not prefetched, could not be
+     *         resolved or is not resolved yet
+     */
+    public File await(Artifact artifact, long timeout, TimeUnit unit) {
+        Future<File> future;
+        synchronized (this) {
+            future = prefetched.get(artifact.toString());
+        }
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stop accepting artifacts and interrupt the artifacts that are being resolved. The code that
+     * needs an artifact resolves it again.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+}
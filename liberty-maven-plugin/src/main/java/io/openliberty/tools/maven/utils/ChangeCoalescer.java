@@ -0,0 +1,246 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects bursts of file changes, such as a branch checkout or a formatter run,
+ * so that dev mode can process them in one bulk update instead of one update per
+ * change. During a burst the quiet period that must pass without further changes
+ * widens from the base window up to the max window.
+ */
+public class ChangeCoalescer {
+
+    private static final long MIN_POLL_INTERVAL = 100;
+
+    private final long baseWindow;
+    private final long maxWindow;
+    private final int bulkThreshold;
+
+    private final Deque<Long> events = new ArrayDeque<Long>();
+    private final Map<String, Map<File, Long>> bulkUpdates = new HashMap<String, Map<File, Long>>();
+    private final Map<String, Integer> coalesced = new HashMap<String, Integer>();
+
+    /**
+     * @param baseWindow    the quiet period in milliseconds that ends a burst of changes
+     * @param maxWindow     the longest quiet period in milliseconds, which is also the time span
+     *                      in which changes are counted towards the threshold
+     * @param bulkThreshold the number of changes within the max window that starts a bulk update
+     */
+    public ChangeCoalescer(long baseWindow, long maxWindow, int bulkThreshold) {
+        this.baseWindow = Math.max(baseWindow, MIN_POLL_INTERVAL);
+        this.maxWindow = Math.max(maxWindow, this.baseWindow);
+        this.bulkThreshold = bulkThreshold;
+    }
+
+    /**
+     * Count changes that are about to be processed.
+     *
+     * @param count the number of changed files
+     * @return true if the recent changes reached the threshold for a bulk update
+     */
+    public synchronized boolean recordChanges(int count) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            events.add(now);
+        }
+        while (!events.isEmpty() && events.peek() < now - maxWindow) {
+            events.poll();
+        }
+        return bulkThreshold > 0 && events.size() >= bulkThreshold;
+    }
+
+    /**
+     * Wait until no file under the given directories has changed for the quiet
+     * period. The quiet period starts at the base window and doubles every time a
+     * change is seen, up to the max window. The wait ends after four times the max
+     * window even if files keep changing.
+     * <p>
+     * Changes are detected with a file system watch service on the directories, which
+     * are walked once, and the cached {@link FileTreeIndex} of each directory is kept
+     * up to date with them, so that the files are not listed again on every change.
+     *
+     * @param roots     the directories to watch
+     * @param extension only files with this extension are included, or null for all files
+     * @return the modification times of the files under the directories when they became quiet
+     */
+    public Map<File, Long> awaitQuiet(Collection<File> roots, String extension) {
+        long start = System.currentTimeMillis();
+        for (File root : roots) {
+            FileTreeIndex.forDirectory(root);
+        }
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> directories = new HashMap<WatchKey, Path>();
+            for (File root : roots) {
+                register(watchService, root.toPath(), directories);
+            }
+            long quietPeriod = baseWindow;
+            long lastChange = System.currentTimeMillis();
+            while (true) {
+                long now = System.currentTimeMillis();
+                long timeout = Math.min(lastChange + quietPeriod, start + 4 * maxWindow) - now;
+                if (timeout <= 0) {
+                    break;
+                }
+                WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    continue;
+                }
+                if (processEvents(watchService, key, directories, extension)) {
+                    lastChange = System.currentTimeMillis();
+                    quietPeriod = Math.min(quietPeriod * 2, maxWindow);
+                }
+            }
+        } catch (IOException e) {
+            // without a watch service the files are taken as they are now
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return snapshot(roots, extension);
+    }
+
+    /**
+     * Record that a bulk update processed the given files, so that the queued
+     * change events for them can be skipped.
+     *
+     * @param key      identifies the kind of update, for example the output directory
+     * @param snapshot the files and their modification times at the start of the bulk update
+     */
+    public synchronized void bulkUpdated(String key, Map<File, Long> snapshot) {
+        bulkUpdates.put(key, snapshot);
+        events.clear();
+    }
+
+    /**
+     * Check whether a changed file was already processed by the last bulk update
+     * and has not changed since. Skipped files are counted.
+     *
+     * @param key  identifies the kind of update
+     * @param file the changed file
+     * @return true if the change can be skipped
+     */
+    public synchronized boolean isCoalesced(String key, File file) {
+        Map<File, Long> snapshot = bulkUpdates.get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        Long lastModified = snapshot.get(file.getAbsoluteFile());
+        if (lastModified != null && file.exists() && lastModified == file.lastModified()) {
+            Integer count = coalesced.get(key);
+            coalesced.put(key, count == null ? 1 : count + 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param key identifies the kind of update
+     * @return the number of changes skipped since the last call, which is then reset
+     */
+    public synchronized int takeCoalescedCount(String key) {
+        Integer count = coalesced.remove(key);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Update the indexes with the events of a watch key and watch any new directories.
+     *
+     * @return true if a file with the extension or a directory changed
+     */
+    private static boolean processEvents(WatchService watchService, WatchKey key, Map<WatchKey, Path> directories,
+            String extension) throws IOException {
+        Path directory = directories.get(key);
+        List<File> changed = new ArrayList<File>();
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            Path child = directory.resolve((Path) event.context());
+            boolean isDirectory = Files.isDirectory(child);
+            if (isDirectory && event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                register(watchService, child, directories);
+            }
+            if (isDirectory || extension == null || child.getFileName().toString().endsWith(extension)
+                    || event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                changed.add(child.toFile());
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        if (overflow) {
+            // events were lost, so the directory is indexed again
+            changed.add(directory.toFile());
+        }
+        FileTreeIndex.update(changed);
+        return !changed.isEmpty();
+    }
+
+    private static void register(final WatchService watchService, Path root, final Map<WatchKey, Path> directories)
+            throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                directories.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static Map<File, Long> snapshot(Collection<File> roots, String extension) {
+        Map<File, Long> files = new HashMap<File, Long>();
+        for (File root : roots) {
+            for (File file : FileTreeIndex.forDirectory(root).getFiles(extension == null ? "" : extension)) {
+                long lastModified = file.lastModified();
+                if (lastModified != 0) {
+                    files.put(file.getAbsoluteFile(), lastModified);
+                }
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,350 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the compiled classes in one or more output directories, with the
+ * class-to-class references needed to find the classes affected by a change.
+ */
+public class ClassDependencyIndex {
+
+    private final Map<String, Entry> classes = new HashMap<String, Entry>();
+    private final Map<String, Set<String>> dependents = new HashMap<String, Set<String>>();
+    private final Map<String, Set<String>> sources = new HashMap<String, Set<String>>();
+    private final Set<File> indexedDirectories = new HashSet<File>();
+
+    private static class Entry {
+        final ClassFileInfo info;
+        final File classFile;
+        final File outputDirectory;
+        final long lastModified;
+        final byte[] contentHash;
+
+        Entry(ClassFileInfo info, File classFile, File outputDirectory, byte[] contentHash) {
+            this.info = info;
+            this.classFile = classFile;
+            this.outputDirectory = outputDirectory;
+            this.lastModified = classFile.lastModified();
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * Index every class file under the output directory if it has not been indexed yet.
+     *
+     * @param outputDirectory a compiler output directory
+     * @throws IOException if a class file cannot be read
+     */
+    public synchronized void indexDirectory(File outputDirectory) throws IOException {
+        File dir = outputDirectory.getCanonicalFile();
+        if (indexedDirectories.add(dir)) {
+            refresh(dir, dir);
+        }
+    }
+
+    /**
+     * Bring the index up to date with the class files in a package directory of the output directory.
+     * Class files that changed are parsed again and class files that were deleted are removed.
+     *
+     * @param outputDirectory the compiler output directory
+     * @param packagePath     the package in internal form, for example com/example
+     * @throws IOException if a class file cannot be read
+     */
+    public synchronized void refreshPackage(File outputDirectory, String packagePath) throws IOException {
+        File dir = outputDirectory.getCanonicalFile();
+        File packageDir = packagePath.isEmpty() ? dir : new File(dir, packagePath);
+        Iterator<Entry> it = classes.values().iterator();
+        List<String> removed = new ArrayList<String>();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.outputDirectory.equals(dir) && entry.info.getPackage().equals(packagePath) && !entry.classFile.exists()) {
+                removed.add(entry.info.getName());
+            }
+        }
+        for (String name : removed) {
+            remove(name);
+        }
+        File[] files = packageDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && file.getName().endsWith(".class")) {
+                    update(file, dir);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bring the index up to date with every class file in the output directory.
+     *
+     * @param outputDirectory a compiler output directory
+     * @return the internal names of the classes that were added, removed or whose
+     *         class file contents changed since the directory was last indexed
+     * @throws IOException if a class file cannot be read
+     */
+    public synchronized Set<String> refreshDirectory(File outputDirectory) throws IOException {
+        File dir = outputDirectory.getCanonicalFile();
+        indexedDirectories.add(dir);
+        Set<String> changed = new HashSet<String>();
+        List<String> removed = new ArrayList<String>();
+        for (Entry entry : classes.values()) {
+            if (entry.outputDirectory.equals(dir) && !entry.classFile.exists()) {
+                removed.add(entry.info.getName());
+            }
+        }
+        for (String name : removed) {
+            remove(name);
+        }
+        changed.addAll(removed);
+        refresh(dir, dir, changed);
+        return changed;
+    }
+
+    private void refresh(File dir, File outputDirectory) throws IOException {
+        refresh(dir, outputDirectory, null);
+    }
+
+    private void refresh(File dir, File outputDirectory, Set<String> changed) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                refresh(file, outputDirectory, changed);
+            } else if (file.getName().endsWith(".class")) {
+                String name = update(file, outputDirectory);
+                if (name != null && changed != null) {
+                    changed.add(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the class name if the class was added, removed or its contents changed, otherwise null
+     */
+    private String update(File classFile, File outputDirectory) throws IOException {
+        String name = getClassName(outputDirectory, classFile);
+        Entry existing = classes.get(name);
+        if (existing != null && existing.classFile.equals(classFile) && existing.lastModified == classFile.lastModified()) {
+            return null;
+        }
+        byte[] bytes;
+        ClassFileInfo info;
+        try {
+            bytes = Files.readAllBytes(classFile.toPath());
+            info = ClassFileInfo.parse(bytes);
+        } catch (IOException e) {
+            // not a class file we can read, treat as if it was not there
+            return existing != null && remove(name) ? name : null;
+        }
+        byte[] contentHash = hash(bytes);
+        put(new Entry(info, classFile, outputDirectory, contentHash));
+        // a class that was only recompiled without changes keeps the same contents
+        return existing != null && existing.classFile.equals(classFile) && Arrays.equals(existing.contentHash, contentHash) ? null : name;
+    }
+
+    private void put(Entry entry) {
+        String name = entry.info.getName();
+        remove(name);
+        classes.put(name, entry);
+        String sourceKey = getSourceKey(entry.info.getPackage(), entry.info.getSourceFile());
+        Set<String> sourceClasses = sources.get(sourceKey);
+        if (sourceClasses == null) {
+            sourceClasses = new HashSet<String>();
+            sources.put(sourceKey, sourceClasses);
+        }
+        sourceClasses.add(name);
+        for (String reference : entry.info.getReferences()) {
+            Set<String> set = dependents.get(reference);
+            if (set == null) {
+                set = new HashSet<String>();
+                dependents.put(reference, set);
+            }
+            set.add(name);
+        }
+    }
+
+    private boolean remove(String name) {
+        Entry entry = classes.remove(name);
+        if (entry != null) {
+            Set<String> sourceClasses = sources.get(getSourceKey(entry.info.getPackage(), entry.info.getSourceFile()));
+            if (sourceClasses != null) {
+                sourceClasses.remove(name);
+            }
+            for (String reference : entry.info.getReferences()) {
+                Set<String> set = dependents.get(reference);
+                if (set != null) {
+                    set.remove(name);
+                }
+            }
+        }
+        return entry != null;
+    }
+
+    /**
+     * @param name internal class name
+     * @return the indexed information, or null if the class is not indexed
+     */
+    public synchronized ClassFileInfo getClassInfo(String name) {
+        Entry entry = classes.get(name);
+        return entry == null ? null : entry.info;
+    }
+
+    /**
+     * @param name internal class name
+     * @return the class file the class was read from, or null if the class is not indexed
+     */
+    public synchronized File getClassFile(String name) {
+        Entry entry = classes.get(name);
+        return entry == null ? null : entry.classFile;
+    }
+
+    /**
+     * @return the internal names of all indexed classes
+     */
+    public synchronized Set<String> getIndexedClasses() {
+        return new HashSet<String>(classes.keySet());
+    }
+
+    /**
+     * Get the indexed classes compiled from a source file.
+     *
+     * @param packagePath the package of the source file in internal form
+     * @param sourceName  the source file name, for example Foo.java
+     * @return the internal names of the classes, which is empty if the source was never compiled
+     */
+    public synchronized Set<String> getClassesForSource(String packagePath, String sourceName) {
+        Set<String> sourceClasses = sources.get(getSourceKey(packagePath, sourceName));
+        return sourceClasses == null ? new HashSet<String>() : new HashSet<String>(sourceClasses);
+    }
+
+    /**
+     * Get the classes that directly reference any of the given classes.
+     *
+     * @param names internal class names
+     * @return the internal names of the referencing classes
+     */
+    public synchronized Set<String> getDirectDependents(Collection<String> names) {
+        Set<String> result = new HashSet<String>();
+        for (String name : names) {
+            Set<String> set = dependents.get(name);
+            if (set != null) {
+                result.addAll(set);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param name internal class name
+     * @return the output directory the class was indexed from, or null if the class is not indexed
+     */
+    public synchronized File getOutputDirectory(String name) {
+        Entry entry = classes.get(name);
+        return entry == null ? null : entry.outputDirectory;
+    }
+
+    /**
+     * Get the classes that reference any of the given classes, directly or through other classes.
+     *
+     * @param names internal class names
+     * @return the internal names of the referencing classes, not including the given classes
+     *         unless they reference each other
+     */
+    public synchronized Set<String> getTransitiveDependents(Collection<String> names) {
+        Set<String> result = new HashSet<String>();
+        Deque<String> queue = new ArrayDeque<String>(names);
+        while (!queue.isEmpty()) {
+            Set<String> set = dependents.get(queue.poll());
+            if (set == null) {
+                continue;
+            }
+            for (String dependent : set) {
+                if (result.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the classes that need to be recompiled because the ABI of the given
+     * classes changed. Subclasses and implementors inherit the change, so their
+     * dependents are included too.
+     *
+     * @param changed internal names of the classes whose ABI changed
+     * @return the internal names of the affected classes, not including the changed classes
+     */
+    public synchronized Set<String> getAffectedClasses(Collection<String> changed) {
+        Set<String> abiChanged = new HashSet<String>(changed);
+        Deque<String> queue = new ArrayDeque<String>(changed);
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            Set<String> set = dependents.get(name);
+            if (set == null) {
+                continue;
+            }
+            for (String dependent : set) {
+                Entry entry = classes.get(dependent);
+                if (entry != null && (name.equals(entry.info.getSuperName()) || entry.info.getInterfaces().contains(name))
+                        && abiChanged.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        Set<String> result = getDirectDependents(abiChanged);
+        result.removeAll(changed);
+        return result;
+    }
+
+    private static byte[] hash(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getSourceKey(String packagePath, String sourceName) {
+        return packagePath + "/" + sourceName;
+    }
+
+    private static String getClassName(File outputDirectory, File classFile) {
+        String path = classFile.getPath().substring(outputDirectory.getPath().length() + 1);
+        return path.substring(0, path.length() - ".class".length()).replace(File.separatorChar, '/');
+    }
+}
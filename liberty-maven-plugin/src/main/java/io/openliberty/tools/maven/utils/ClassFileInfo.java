@@ -0,0 +1,336 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal reader for compiled class files. Extracts the class hierarchy, the
+ * classes referenced from the constant pool and descriptors, and a hash of the
+ * parts of the class that other classes compile against (its ABI).
+ */
+public class ClassFileInfo {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_SUPER = 0x0020;
+    private static final Pattern DESCRIPTOR_CLASS = Pattern.compile("L([\\w/$]+)[;<]");
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final Set<String> references;
+    private final String sourceFile;
+    private final String abiHash;
+    private final String shapeHash;
+    private final String constantsHash;
+
+    private ClassFileInfo(String name, String superName, List<String> interfaces, Set<String> references, String sourceFile,
+            String abiHash, String shapeHash, String constantsHash) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.references = references;
+        this.sourceFile = sourceFile;
+        this.abiHash = abiHash;
+        this.shapeHash = shapeHash;
+        this.constantsHash = constantsHash;
+    }
+
+    /**
+     * @return the internal name of the class, for example com/example/Foo$Bar
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the internal name of the super class, or null for java/lang/Object
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * @return internal names of all classes referenced by this class, excluding itself
+     */
+    public Set<String> getReferences() {
+        return references;
+    }
+
+    /**
+     * @return the SourceFile attribute, or null if the class was compiled without it
+     */
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * @return the package of the class in internal form, or an empty string for the default package
+     */
+    public String getPackage() {
+        int index = name.lastIndexOf('/');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    /**
+     * @return a hash of the non-private signatures, supertypes and constant values of the class
+     */
+    public String getAbiHash() {
+        return abiHash;
+    }
+
+    /**
+     * @return a hash of the modifiers, supertypes and the signatures and constant values of all
+     *         fields and methods, including private ones. Two versions of a class with the same shape
+     *         differ only in method bodies, which a running JVM can redefine.
+     */
+    public String getShapeHash() {
+        return shapeHash;
+    }
+
+    /**
+     * @return a hash of the values of the non-private constant fields, or null if the class has none.
+     *         The compiler inlines these values into the classes that use them without referencing
+     *         this class.
+     */
+    public String getConstantsHash() {
+        return constantsHash;
+    }
+
+    /**
+     * Parse the given class file bytes.
+     *
+     * @param bytes the contents of a .class file
+     * @return the parsed information
+     * @throws IOException if the bytes are not a valid class file
+     */
+    public static ClassFileInfo parse(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int poolSize = in.readUnsignedShort();
+        Object[] pool = new Object[poolSize];
+        int[] tags = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = in.readUnsignedByte();
+            tags[i] = tag;
+            switch (tag) {
+            case 1: // Utf8
+                pool[i] = in.readUTF();
+                break;
+            case 3: // Integer
+                pool[i] = in.readInt();
+                break;
+            case 4: // Float
+                pool[i] = in.readFloat();
+                break;
+            case 5: // Long
+                pool[i] = in.readLong();
+                i++;
+                break;
+            case 6: // Double
+                pool[i] = in.readDouble();
+                i++;
+                break;
+            case 7: // Class
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                pool[i] = in.readUnsignedShort();
+                break;
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                pool[i] = new int[] { in.readUnsignedShort(), in.readUnsignedShort() };
+                break;
+            case 15: // MethodHandle
+                in.readUnsignedByte();
+                pool[i] = in.readUnsignedShort();
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int access = in.readUnsignedShort() & ~ACC_SUPER;
+        String name = getClassName(pool, in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        String superName = superIndex == 0 ? null : getClassName(pool, superIndex);
+        int interfaceCount = in.readUnsignedShort();
+        List<String> interfaces = new ArrayList<String>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(getClassName(pool, in.readUnsignedShort()));
+        }
+
+        List<String> abiMembers = new ArrayList<String>();
+        List<String> shapeMembers = new ArrayList<String>();
+        List<String> constants = new ArrayList<String>();
+        readMembers(in, pool, tags, "field ", abiMembers, shapeMembers, constants);
+        readMembers(in, pool, tags, "method ", abiMembers, shapeMembers, constants);
+
+        String sourceFile = null;
+        String signature = null;
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = (String) pool[in.readUnsignedShort()];
+            int length = in.readInt();
+            if ("SourceFile".equals(attributeName)) {
+                sourceFile = (String) pool[in.readUnsignedShort()];
+            } else if ("Signature".equals(attributeName)) {
+                signature = (String) pool[in.readUnsignedShort()];
+            } else {
+                in.skipBytes(length);
+            }
+        }
+
+        Set<String> references = new HashSet<String>();
+        for (int i = 1; i < poolSize; i++) {
+            if (tags[i] == 7) {
+                String className = (String) pool[(Integer) pool[i]];
+                if (className.startsWith("[")) {
+                    addDescriptorClasses(className, references);
+                } else {
+                    references.add(className);
+                }
+            } else if (tags[i] == 1) {
+                addDescriptorClasses((String) pool[i], references);
+            }
+        }
+        references.remove(name);
+
+        Collections.sort(abiMembers);
+        StringBuilder abi = new StringBuilder();
+        abi.append(access).append(' ').append(name).append(' ').append(superName).append(' ').append(interfaces).append(' ')
+                .append(signature).append('\n');
+        for (String member : abiMembers) {
+            abi.append(member).append('\n');
+        }
+        // member order matters when redefining a class, so the shape members are not sorted
+        StringBuilder shape = new StringBuilder();
+        shape.append(access).append(' ').append(name).append(' ').append(superName).append(' ').append(interfaces).append('\n');
+        for (String member : shapeMembers) {
+            shape.append(member).append('\n');
+        }
+        String constantsHash = null;
+        if (!constants.isEmpty()) {
+            Collections.sort(constants);
+            StringBuilder sb = new StringBuilder();
+            for (String constant : constants) {
+                sb.append(constant).append('\n');
+            }
+            constantsHash = hash(sb.toString());
+        }
+        return new ClassFileInfo(name, superName, Collections.unmodifiableList(interfaces), Collections.unmodifiableSet(references),
+                sourceFile, hash(abi.toString()), hash(shape.toString()), constantsHash);
+    }
+
+    private static void readMembers(DataInputStream in, Object[] pool, int[] tags, String kind, List<String> abiMembers,
+            List<String> shapeMembers, List<String> constants) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            int access = in.readUnsignedShort();
+            String memberName = (String) pool[in.readUnsignedShort()];
+            String descriptor = (String) pool[in.readUnsignedShort()];
+            StringBuilder member = new StringBuilder(kind).append(access).append(' ').append(memberName).append(' ').append(descriptor);
+            boolean constant = false;
+            int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                String attributeName = (String) pool[in.readUnsignedShort()];
+                int length = in.readInt();
+                if ("ConstantValue".equals(attributeName)) {
+                    // constants are inlined by the compiler into the classes that use them
+                    int valueIndex = in.readUnsignedShort();
+                    Object value = tags[valueIndex] == 8 ? pool[(Integer) pool[valueIndex]] : pool[valueIndex];
+                    member.append(" = ").append(value);
+                    constant = true;
+                } else if ("Signature".equals(attributeName)) {
+                    member.append(' ').append(pool[in.readUnsignedShort()]);
+                } else if ("Exceptions".equals(attributeName)) {
+                    int exceptionCount = in.readUnsignedShort();
+                    List<String> exceptions = new ArrayList<String>(exceptionCount);
+                    for (int k = 0; k < exceptionCount; k++) {
+                        exceptions.add(getClassName(pool, in.readUnsignedShort()));
+                    }
+                    Collections.sort(exceptions);
+                    member.append(" throws ").append(exceptions);
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+            shapeMembers.add(member.toString());
+            if ((access & ACC_PRIVATE) == 0) {
+                abiMembers.add(member.toString());
+                if (constant) {
+                    constants.add(member.toString());
+                }
+            }
+        }
+    }
+
+    private static String getClassName(Object[] pool, int classIndex) {
+        return (String) pool[(Integer) pool[classIndex]];
+    }
+
+    private static void addDescriptorClasses(String descriptor, Set<String> references) {
+        if (descriptor.indexOf('L') < 0) {
+            return;
+        }
+        Matcher matcher = DESCRIPTOR_CLASS.matcher(descriptor);
+        while (matcher.find()) {
+            references.add(matcher.group(1));
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Properties;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Fingerprints of the inputs of the dev mode startup steps, persisted between
+ * runs of dev mode so that steps whose inputs did not change can be skipped.
+ * The install-feature goal keeps the fingerprint of its last installation the
+ * same way, in its own file.
+ */
+public class DevStateSnapshot {
+
+    public static final String FILE_NAME = "liberty-dev-state.properties";
+
+    private final File file;
+    private final Log log;
+    private final Properties state = new Properties();
+
+    /**
+     * Load the snapshot from the given file. A missing or unreadable file
+     * results in an empty snapshot.
+     *
+     * @param file the snapshot file
+     * @param log  the log
+     */
+    public DevStateSnapshot(File file, Log log) {
+        this.file = file;
+        this.log = log;
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                state.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("Could not read dev mode state from " + file + ", starting with an empty state", e);
+                state.clear();
+            }
+        }
+    }
+
+    /**
+     * @param step        the name of the step
+     * @param fingerprint the fingerprint of the current inputs of the step
+     * @return true if the step last completed with the same fingerprint
+     */
+    public synchronized boolean isUnchanged(String step, String fingerprint) {
+        return fingerprint != null && fingerprint.equals(state.getProperty(step + ".fingerprint"));
+    }
+
+    /**
+     * Record that a step completed with the given inputs and save the snapshot.
+     *
+     * @param step        the name of the step
+     * @param fingerprint the fingerprint of the inputs of the step
+     */
+    public synchronized void record(String step, String fingerprint) {
+        if (fingerprint == null) {
+            state.remove(step + ".fingerprint");
+        } else {
+            state.setProperty(step + ".fingerprint", fingerprint);
+        }
+        save();
+    }
+
+    /**
+     * Get a value that was stored for a step, if the step last completed with the given inputs.
+     *
+     * @param step        the name of the step
+     * @param fingerprint the fingerprint of the current inputs of the step
+     * @return the stored value, or null if there is none or the inputs changed
+     */
+    public synchronized String getValue(String step, String fingerprint) {
+        return isUnchanged(step, fingerprint) ? state.getProperty(step + ".value") : null;
+    }
+
+    /**
+     * Store a value computed by a step together with the fingerprint of its inputs and save the snapshot.
+     *
+     * @param step        the name of the step
+     * @param fingerprint the fingerprint of the inputs of the step
+     * @param value       the value to store
+     */
+    public synchronized void putValue(String step, String fingerprint, String value) {
+        if (value == null) {
+            state.remove(step + ".value");
+        } else {
+            state.setProperty(step + ".value", value);
+        }
+        record(step, fingerprint);
+    }
+
+    /**
+     * Forget all recorded steps and delete the snapshot file.
+     */
+    public synchronized void clear() {
+        state.clear();
+        if (file.exists() && !file.delete()) {
+            log.debug("Could not delete dev mode state file " + file);
+        }
+    }
+
+    private void save() {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            log.debug("Could not create directory " + dir + " for the dev mode state");
+            return;
+        }
+        try {
+            File temp = new File(dir, file.getName() + ".tmp");
+            try (OutputStream out = new FileOutputStream(temp)) {
+                state.store(out, "Liberty dev mode state");
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Could not write dev mode state to " + file, e);
+        }
+    }
+
+    /**
+     * Builds a fingerprint from strings, file contents and directory listings.
+     */
+    public static class Fingerprint {
+
+        private final MessageDigest digest;
+
+        public Fingerprint() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 is always available
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public Fingerprint add(String value) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return this;
+        }
+
+        /**
+         * Add the contents of a file, or of every file under a directory.
+         *
+         * @param file     a file or directory, which does not need to exist
+         * @param excludes paths relative to a directory that are left out
+         * @return this fingerprint
+         * @throws IOException if a file cannot be read
+         */
+        public Fingerprint addContents(File file, Collection<String> excludes) throws IOException {
+            add(file == null ? null : file.getAbsolutePath());
+            if (file != null) {
+                addContents(file, "", excludes);
+            }
+            return this;
+        }
+
+        private void addContents(File file, String relativePath, Collection<String> excludes) throws IOException {
+            if (excludes != null && excludes.contains(relativePath)) {
+                return;
+            }
+            if (file.isDirectory()) {
+                String[] names = file.list();
+                if (names != null) {
+                    Arrays.sort(names);
+                    for (String name : names) {
+                        addContents(new File(file, name), relativePath.isEmpty() ? name : relativePath + "/" + name, excludes);
+                    }
+                }
+            } else if (file.isFile()) {
+                add(relativePath);
+                digest.update(Files.readAllBytes(file.toPath()));
+            }
+        }
+
+        /**
+         * Add the relative path, size and modification time of every file under a
+         * directory, listed with a {@link FileTreeIndex#walk(File) parallel walk}.
+         * Cheaper than {@link #addContents(File, Collection)} for large trees such as
+         * compiler output directories.
+         *
+         * @param dir a directory or file, which does not need to exist
+         * @return this fingerprint
+         */
+        public Fingerprint addTimestamps(File dir) {
+            add(dir == null ? null : dir.getAbsolutePath());
+            if (dir == null) {
+                return this;
+            }
+            if (dir.isFile()) {
+                add(" " + dir.length() + " " + dir.lastModified());
+            } else if (dir.isDirectory()) {
+                int rootLength = dir.getAbsolutePath().length() + 1;
+                for (File file : FileTreeIndex.walk(dir).getFiles("")) {
+                    String relativePath = file.getPath().substring(rootLength).replace(File.separatorChar, '/');
+                    add(relativePath + " " + file.length() + " " + file.lastModified());
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            try {
+                // digest a clone so that more inputs can still be added
+                byte[] bytes = ((MessageDigest) digest.clone()).digest();
+                StringBuilder sb = new StringBuilder(bytes.length * 2);
+                for (byte b : bytes) {
+                    sb.append(String.format("%02x", b));
+                }
+                return sb.toString();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Records how long each dev mode step takes, as one JSON object per line in
+ * a timeline file, and summarizes the durations per step as percentiles.
+ * <p>
+ * After a step that updates the application, the server's messages.log is
+ * watched for the application started or updated message, so that the time
+ * until the change is live is recorded as well.
+ */
+public class DevTimeline {
+
+    public static final String FILE_NAME = "liberty-dev-timeline.ndjson";
+    public static final String SUMMARY_FILE_NAME = "liberty-dev-timeline-summary.txt";
+
+    /** The step recorded when the application started or updated after a change. */
+    public static final String APPLICATION_UPDATED = "applicationUpdated";
+
+    private static final String[] APPLICATION_MESSAGES = { "CWWKZ0001I", "CWWKZ0003I" };
+    private static final long APPLICATION_WAIT = 60000;
+    private static final long POLL_INTERVAL = 100;
+
+    private final File file;
+    private final File summaryFile;
+    private final File messagesLog;
+    private final Log log;
+    private final Map<String, List<Long>> durations = new LinkedHashMap<String, List<Long>>();
+    private final AtomicInteger watchGeneration = new AtomicInteger();
+    private final ExecutorService watcher;
+    private final SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ENGLISH);
+
+    /**
+     * @param directory   the directory to write the timeline to, which is the project build directory,
+     *                    or null to not record anything
+     * @param messagesLog the messages.log of the server, or null if it cannot be watched
+     * @param log         the log
+     */
+    public DevTimeline(File directory, File messagesLog, Log log) {
+        this.file = directory == null ? null : new File(directory, FILE_NAME);
+        this.summaryFile = directory == null ? null : new File(directory, SUMMARY_FILE_NAME);
+        this.messagesLog = directory == null ? null : messagesLog;
+        this.log = log;
+        this.timestampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        if (directory == null) {
+            this.watcher = null;
+            return;
+        }
+        directory.mkdirs();
+        // each dev mode session starts a new timeline
+        file.delete();
+        summaryFile.delete();
+        this.watcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "liberty-dev-timeline");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return the current length of the messages.log, to pass to
+     *         {@link #watchApplicationUpdate(String, long, long)} once the step that
+     *         updates the application finished
+     */
+    public long getMessagesLogLength() {
+        return messagesLog == null ? -1 : messagesLog.length();
+    }
+
+    /**
+     * Record a finished step.
+     *
+     * @param step        the name of the step, for example compile
+     * @param project     the name of the project the step ran for, or null
+     * @param startNanos  the {@link System#nanoTime()} when the step started
+     * @param success     whether the step succeeded
+     */
+    public void record(String step, String project, long startNanos, boolean success) {
+        record(step, project, (System.nanoTime() - startNanos) / 1000000L, success, null);
+    }
+
+    /**
+     * Record a step by its duration.
+     *
+     * @param step       the name of the step
+     * @param project    the name of the project the step ran for, or null
+     * @param durationMs the duration in milliseconds
+     * @param success    whether the step succeeded
+     * @param trigger    the step that caused this step, or null
+     */
+    public synchronized void record(String step, String project, long durationMs, boolean success, String trigger) {
+        if (file == null) {
+            return;
+        }
+        List<Long> stepDurations = durations.get(step);
+        if (stepDurations == null) {
+            stepDurations = new ArrayList<Long>();
+            durations.put(step, stepDurations);
+        }
+        stepDurations.add(durationMs);
+
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"time\":\"").append(timestampFormat.format(new Date())).append("\"");
+        json.append(",\"step\":\"").append(escape(step)).append("\"");
+        if (project != null) {
+            json.append(",\"project\":\"").append(escape(project)).append("\"");
+        }
+        json.append(",\"durationMs\":").append(durationMs);
+        json.append(",\"success\":").append(success);
+        if (trigger != null) {
+            json.append(",\"trigger\":\"").append(escape(trigger)).append("\"");
+        }
+        json.append("}\n");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            writer.write(json.toString());
+        } catch (IOException e) {
+            log.debug("Unable to write to " + file, e);
+        }
+        try {
+            Files.write(summaryFile.toPath(), getSummary().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.debug("Unable to write " + summaryFile, e);
+        }
+    }
+
+    /**
+     * Watch the messages.log in the background for the application started or updated
+     * message written after the given offset, and record the time since the step started.
+     * A later call stops the previous watch.
+     *
+     * @param trigger    the step that updated the application
+     * @param startNanos the {@link System#nanoTime()} when the step started
+     * @param offset     the length of the messages.log when the step started
+     */
+    public void watchApplicationUpdate(final String trigger, final long startNanos, final long offset) {
+        if (messagesLog == null || offset < 0) {
+            return;
+        }
+        final int generation = watchGeneration.incrementAndGet();
+        watcher.execute(new Runnable() {
+            @Override
+            public void run() {
+                long deadline = System.currentTimeMillis() + APPLICATION_WAIT;
+                long position = offset;
+                StringBuilder pending = new StringBuilder();
+                while (generation == watchGeneration.get() && System.currentTimeMillis() < deadline) {
+                    try (RandomAccessFile in = new RandomAccessFile(messagesLog, "r")) {
+                        if (in.length() < position) {
+                            // the log rolled over
+                            position = 0;
+                        }
+                        if (in.length() > position) {
+                            byte[] bytes = new byte[(int) Math.min(in.length() - position, 1024 * 1024)];
+                            in.seek(position);
+                            in.readFully(bytes);
+                            position += bytes.length;
+                            pending.append(new String(bytes, StandardCharsets.UTF_8));
+                            for (String message : APPLICATION_MESSAGES) {
+                                if (pending.indexOf(message) >= 0) {
+                                    record(APPLICATION_UPDATED, null, (System.nanoTime() - startNanos) / 1000000L, true, trigger);
+                                    return;
+                                }
+                            }
+                            int lastLine = pending.lastIndexOf("\n");
+                            if (lastLine >= 0) {
+                                pending.delete(0, lastLine + 1);
+                            }
+                        }
+                    } catch (IOException e) {
+                        // the log does not exist yet
+                    }
+                    try {
+                        Thread.sleep(POLL_INTERVAL);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the count and the 50th, 95th and 99th percentile and maximum durations of each step
+     */
+    public synchronized String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ENGLISH, "%-22s %7s %9s %9s %9s %9s%n", "Step", "Count", "p50 (ms)", "p95 (ms)", "p99 (ms)",
+                "Max (ms)"));
+        for (Map.Entry<String, List<Long>> entry : durations.entrySet()) {
+            List<Long> sorted = new ArrayList<Long>(entry.getValue());
+            Collections.sort(sorted);
+            sb.append(String.format(Locale.ENGLISH, "%-22s %7d %9d %9d %9d %9d%n", entry.getKey(), sorted.size(), percentile(sorted, 50),
+                    percentile(sorted, 95), percentile(sorted, 99), sorted.get(sorted.size() - 1)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return true if no step was recorded
+     */
+    public synchronized boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    /**
+     * Stop watching the messages.log.
+     */
+    public void close() {
+        watchGeneration.incrementAndGet();
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
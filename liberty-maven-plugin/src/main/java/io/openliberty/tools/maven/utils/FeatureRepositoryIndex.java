@@ -0,0 +1,358 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Maven coordinates and dependencies of the features in the feature repository
+ * JSON files, such as {@code io.openliberty.features:features:json}, that
+ * install-feature downloads before it resolves features.
+ * <p>
+ * The index is used to guess which ESA files an installation will download, so that
+ * they can be downloaded in parallel ahead of time. Resolving the features to install
+ * is still done by the runtime, so a feature that the index does not know about only
+ * means that its ESA file is not prefetched.
+ */
+public class FeatureRepositoryIndex {
+
+    private static final String WLP_INFORMATION = "wlpInformation";
+
+    // short names and symbolic names, in lower case, to features
+    private final Map<String, FeatureEntry> features = new HashMap<String, FeatureEntry>();
+
+    private static class FeatureEntry {
+        private final String coordinates;
+        private final List<String> requires;
+
+        FeatureEntry(String coordinates, List<String> requires) {
+            this.coordinates = coordinates;
+            this.requires = requires;
+        }
+    }
+
+    /**
+     * Add the features of a feature repository JSON file. A file that cannot be read or
+     * parsed is ignored.
+     *
+     * @param json the JSON file
+     * @return true if the file was added
+     */
+    public synchronized boolean add(File json) {
+        Object assets;
+        try {
+            assets = new JsonParser(new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8)).parse();
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+        if (!(assets instanceof List)) {
+            return false;
+        }
+        for (Object asset : (List<?>) assets) {
+            if (asset instanceof Map) {
+                addAsset((Map<?, ?>) asset);
+            }
+        }
+        return true;
+    }
+
+    private void addAsset(Map<?, ?> asset) {
+        Object info = asset.get(WLP_INFORMATION);
+        if (!(info instanceof Map)) {
+            return;
+        }
+        Map<?, ?> wlpInformation = (Map<?, ?>) info;
+        Object coordinates = wlpInformation.get("mavenCoordinates");
+        if (coordinates == null) {
+            coordinates = asset.get("mavenCoordinates");
+        }
+        if (!(coordinates instanceof String)) {
+            return;
+        }
+        List<String> requires = new ArrayList<String>();
+        Object requireFeature = wlpInformation.get("requireFeature");
+        if (requireFeature instanceof List) {
+            for (Object required : (List<?>) requireFeature) {
+                if (required instanceof String) {
+                    requires.add(stripDirectives((String) required));
+                }
+            }
+        }
+        Object requireWithTolerates = wlpInformation.get("requireFeatureWithTolerates");
+        if (requireWithTolerates instanceof List) {
+            for (Object required : (List<?>) requireWithTolerates) {
+                if (required instanceof Map && ((Map<?, ?>) required).get("feature") instanceof String) {
+                    requires.add((String) ((Map<?, ?>) required).get("feature"));
+                }
+            }
+        }
+        FeatureEntry entry = new FeatureEntry((String) coordinates, requires);
+        Object shortName = wlpInformation.get("shortName");
+        if (shortName instanceof String) {
+            features.put(((String) shortName).toLowerCase(Locale.ENGLISH), entry);
+        }
+        Object provideFeature = wlpInformation.get("provideFeature");
+        if (provideFeature instanceof List) {
+            for (Object provided : (List<?>) provideFeature) {
+                if (provided instanceof String) {
+                    features.put(stripDirectives((String) provided).toLowerCase(Locale.ENGLISH), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if no features were added
+     */
+    public synchronized boolean isEmpty() {
+        return features.isEmpty();
+    }
+
+    /**
+     * Get the Maven coordinates of the given features and the features they require,
+     * leaving out features that are installed already together with what they require.
+     *
+     * @param requested the names of the features to install
+     * @param installed the features installed in the runtime, or null
+     * @return the coordinates, in the form {@code groupId:artifactId:version}
+     */
+    public synchronized Set<String> getCoordinates(Collection<String> requested, InstalledFeatureIndex installed) {
+        Set<String> coordinates = new LinkedHashSet<String>();
+        Set<String> visited = new LinkedHashSet<String>();
+        List<String> level = new ArrayList<String>(requested);
+        while (!level.isEmpty()) {
+            Collection<String> missing = installed == null ? level : installed.getMissingFeatures(level);
+            List<String> next = new ArrayList<String>();
+            for (String feature : missing) {
+                String name = feature.trim().toLowerCase(Locale.ENGLISH);
+                if (!visited.add(name)) {
+                    continue;
+                }
+                FeatureEntry entry = features.get(name);
+                if (entry != null) {
+                    coordinates.add(entry.coordinates);
+                    next.addAll(entry.requires);
+                }
+            }
+            level = next;
+        }
+        return coordinates;
+    }
+
+    private static String stripDirectives(String name) {
+        int directives = name.indexOf(';');
+        return (directives >= 0 ? name.substring(0, directives) : name).trim();
+    }
+
+    /**
+     * A minimal JSON parser to maps, lists, strings, numbers, booleans and null.
+     */
+    private static class JsonParser {
+
+        private final String text;
+        private int pos;
+
+        JsonParser(String text) {
+            this.text = text;
+        }
+
+        Object parse() {
+            Object value = readValue();
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error("Unexpected content");
+            }
+            return value;
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return readLiteral("true", Boolean.TRUE);
+                case 'f':
+                    return readLiteral("false", Boolean.FALSE);
+                case 'n':
+                    return readLiteral("null", null);
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Expected a name");
+                }
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                map.put(name, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> list = new ArrayList<Object>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String readString() {
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Invalid escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object readLiteral(String literal, Object value) {
+            if (!text.startsWith(literal, pos)) {
+                throw error("Unexpected value");
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private Object readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Unexpected character");
+            }
+            try {
+                return Double.valueOf(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Invalid number");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+    }
+}
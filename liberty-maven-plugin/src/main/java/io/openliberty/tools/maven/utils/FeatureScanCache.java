@@ -0,0 +1,244 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * The class files scanned by the last run of the feature generator and the features it
+ * returned, persisted in the build directory so that the next run of generate-features,
+ * from the command line or from dev mode, can tell what changed.
+ * <p>
+ * The feature generator only reports the features of all the classes it scans, not the
+ * API usage of each class. So a scan can be skipped when no class file changed, and
+ * limited to the new class files when classes were only added, since new classes can
+ * only add API usage. A changed or deleted class file can remove API usage, which needs
+ * a full scan.
+ */
+public class FeatureScanCache {
+
+    public static final String FILE_NAME = "liberty-plugin-feature-scan.properties";
+
+    private static final String INPUTS = "inputs";
+    private static final String FEATURES = "features";
+    private static final String CLASS_PREFIX = "class.";
+
+    private final File file;
+    private final String inputs;
+    private final Log log;
+    private final Properties stored = new Properties();
+    // class file path to "size,lastModified,hash"
+    private final Map<String, String> current = new HashMap<String, String>();
+    private final List<String> addedClassFiles = new ArrayList<String>();
+    private boolean changedOrDeleted;
+
+    /**
+     * Load the cache and compare it with the class files in the given directories.
+     *
+     * @param file               the cache file
+     * @param inputs             a fingerprint of the other inputs of the scan, such as the
+     *                           configured features and the EE and MicroProfile versions
+     * @param classesDirectories the directories that are scanned
+     * @param log                the log
+     */
+    public FeatureScanCache(File file, String inputs, Collection<String> classesDirectories, Log log) {
+        this.file = file;
+        this.inputs = inputs;
+        this.log = log;
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                stored.load(in);
+            } catch (IOException e) {
+                log.debug("Could not read the feature scan cache " + file + ", scanning all class files", e);
+                stored.clear();
+            }
+        }
+        for (String directory : classesDirectories) {
+            indexClassFiles(new File(directory));
+        }
+        for (String name : stored.stringPropertyNames()) {
+            if (name.startsWith(CLASS_PREFIX) && !current.containsKey(name.substring(CLASS_PREFIX.length()))) {
+                changedOrDeleted = true;
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return the features of the last scan if its inputs were the same, or null
+     */
+    public Set<String> getCachedFeatures() {
+        if (inputs == null || !inputs.equals(stored.getProperty(INPUTS)) || stored.getProperty(FEATURES) == null) {
+            return null;
+        }
+        Set<String> features = new LinkedHashSet<String>();
+        for (String feature : stored.getProperty(FEATURES).split(",")) {
+            if (!feature.isEmpty()) {
+                features.add(feature);
+            }
+        }
+        return features;
+    }
+
+    /**
+     * @return true if the features of the last scan can be used as they are
+     */
+    public boolean isUnchanged() {
+        return getCachedFeatures() != null && !changedOrDeleted && addedClassFiles.isEmpty();
+    }
+
+    /**
+     * @return the class files added since the last scan, if these are the only changes
+     *         and the other inputs are the same, or null if a full scan is needed
+     */
+    public List<String> getAddedClassFiles() {
+        if (getCachedFeatures() == null || changedOrDeleted) {
+            return null;
+        }
+        return addedClassFiles;
+    }
+
+    /**
+     * Record the features returned by a scan of the current class files and save the cache.
+     *
+     * @param features the features returned by the feature generator
+     */
+    public void store(Set<String> features) {
+        Properties state = new Properties();
+        state.setProperty(INPUTS, inputs);
+        StringBuilder sb = new StringBuilder();
+        for (String feature : features) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(feature);
+        }
+        state.setProperty(FEATURES, sb.toString());
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            state.setProperty(CLASS_PREFIX + entry.getKey(), entry.getValue());
+        }
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            log.debug("Could not create directory " + dir + " for the feature scan cache");
+            return;
+        }
+        try {
+            File temp = new File(dir, file.getName() + ".tmp");
+            try (OutputStream out = new FileOutputStream(temp)) {
+                state.store(out, "Class files scanned by liberty:generate-features");
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Could not write the feature scan cache " + file, e);
+        }
+    }
+
+    /**
+     * Forget the last scan, for example when it failed.
+     */
+    public void clear() {
+        if (file.exists() && !file.delete()) {
+            log.debug("Could not delete the feature scan cache " + file);
+        }
+    }
+
+    private void indexClassFiles(File directory) {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        try {
+            Files.walkFileTree(directory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile() && path.getFileName().toString().endsWith(".class")) {
+                                indexClassFile(path.toFile(), attrs);
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path path, IOException e) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            // the visitor does not throw, so this is only a failure to read the directory
+        }
+    }
+
+    private void indexClassFile(File classFile, BasicFileAttributes attrs) {
+        String path = classFile.getAbsolutePath();
+        String stamp = attrs.size() + "," + attrs.lastModifiedTime().toMillis() + ",";
+        String previous = stored.getProperty(CLASS_PREFIX + path);
+        String entry;
+        if (previous != null && previous.startsWith(stamp)) {
+            // same size and time stamp, so reuse the hash instead of reading the file
+            entry = previous;
+        } else {
+            entry = stamp + hash(classFile);
+        }
+        current.put(path, entry);
+        if (previous == null) {
+            addedClassFiles.add(path);
+        } else if (!getHash(previous).equals(getHash(entry))) {
+            changedOrDeleted = true;
+        }
+    }
+
+    private static String getHash(String entry) {
+        return entry.substring(entry.lastIndexOf(',') + 1);
+    }
+
+    private static String hash(File file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest(Files.readAllBytes(file.toPath()))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // an unreadable file never matches, so it is always scanned
+            return "unreadable-" + System.nanoTime();
+        }
+    }
+}
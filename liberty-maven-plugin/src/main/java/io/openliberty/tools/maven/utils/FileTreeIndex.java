@@ -0,0 +1,280 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An index of the files under a directory, such as a source root, built once with a
+ * parallel walk of the tree and then kept up to date with the files that dev mode
+ * detects as changed, instead of walking the tree again.
+ * <p>
+ * Indexes are cached for the Maven session by {@link #forDirectory(File)}. Code that
+ * only needs to know whether a tree contains a file of some type uses
+ * {@link #containsFile(File, String)}, which uses a cached index if there is one and
+ * otherwise stops walking at the first match.
+ */
+public class FileTreeIndex {
+
+    private static final ConcurrentMap<File, FileTreeIndex> INDEXES = new ConcurrentHashMap<File, FileTreeIndex>();
+
+    private final File root;
+    private final Set<File> files = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+
+    private FileTreeIndex(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Get the index of a directory, building it the first time it is requested.
+     *
+     * @param directory the directory, which does not need to exist
+     * @return the index
+     */
+    public static FileTreeIndex forDirectory(File directory) {
+        File root = directory.getAbsoluteFile();
+        FileTreeIndex index = INDEXES.get(root);
+        if (index == null) {
+            FileTreeIndex built = new FileTreeIndex(root);
+            built.build();
+            index = INDEXES.putIfAbsent(root, built);
+            if (index == null) {
+                index = built;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Build a new index of a directory without caching it, for trees that change without
+     * dev mode detecting it, such as compiler output or the features of the runtime.
+     *
+     * @param directory the directory, which does not need to exist
+     * @return the index
+     */
+    public static FileTreeIndex walk(File directory) {
+        FileTreeIndex index = new FileTreeIndex(directory.getAbsoluteFile());
+        index.build();
+        return index;
+    }
+
+    /**
+     * @param directory a directory, which does not need to exist
+     * @param suffix    the file name suffix, such as {@code .java}, compared ignoring case
+     * @return true if there is a file with the suffix anywhere under the directory
+     */
+    public static boolean containsFile(File directory, String suffix) {
+        FileTreeIndex index = INDEXES.get(directory.getAbsoluteFile());
+        if (index != null) {
+            return index.contains(suffix);
+        }
+        if (!directory.isDirectory()) {
+            return false;
+        }
+        final String lowerCaseSuffix = suffix.toLowerCase(Locale.ENGLISH);
+        final boolean[] found = { false };
+        try {
+            Files.walkFileTree(directory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile() && hasSuffix(file.getFileName().toString(), lowerCaseSuffix)) {
+                                found[0] = true;
+                                return FileVisitResult.TERMINATE;
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException e) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            // the visitor does not throw, so this is only a failure to read the root
+        }
+        return found[0];
+    }
+
+    /**
+     * Update the cached indexes with files that were created, modified or deleted. A file
+     * that no longer exists is removed, together with any files under it if it was a directory.
+     *
+     * @param changedFiles the changed files
+     */
+    public static void update(Collection<File> changedFiles) {
+        if (INDEXES.isEmpty()) {
+            return;
+        }
+        for (File changed : changedFiles) {
+            File file = changed.getAbsoluteFile();
+            for (FileTreeIndex index : INDEXES.values()) {
+                if (isUnder(file, index.root)) {
+                    index.update(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget all cached indexes, so that the next request walks the trees again.
+     */
+    public static void clear() {
+        INDEXES.clear();
+    }
+
+    /**
+     * @param suffix the file name suffix, such as {@code .java}, compared ignoring case
+     * @return the files with the suffix, sorted by path
+     */
+    public List<File> getFiles(String suffix) {
+        String lowerCaseSuffix = suffix.toLowerCase(Locale.ENGLISH);
+        List<File> result = new ArrayList<File>();
+        for (File file : files) {
+            if (hasSuffix(file.getName(), lowerCaseSuffix)) {
+                result.add(file);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * @param suffix the file name suffix, such as {@code .java}, compared ignoring case
+     * @return true if the index contains a file with the suffix
+     */
+    public boolean contains(String suffix) {
+        String lowerCaseSuffix = suffix.toLowerCase(Locale.ENGLISH);
+        for (File file : files) {
+            if (hasSuffix(file.getName(), lowerCaseSuffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void update(File file) {
+        if (file.isFile()) {
+            files.add(file);
+        } else if (file.isDirectory()) {
+            // a new walk, since the directory can be one that was walked before, for example a moved directory
+            new DirectoryWalk(file.toPath(), newWalkedDirectories(file.toPath())).invoke();
+        } else {
+            files.remove(file);
+            String prefix = file.getPath() + File.separator;
+            for (File indexed : files) {
+                if (indexed.getPath().startsWith(prefix)) {
+                    files.remove(indexed);
+                }
+            }
+        }
+    }
+
+    private void build() {
+        if (root.isDirectory()) {
+            ForkJoinPool.commonPool().invoke(new DirectoryWalk(root.toPath(), newWalkedDirectories(root.toPath())));
+        }
+    }
+
+    /**
+     * @param start the directory the walk starts from
+     * @return a set for the keys of the directories visited by one walk, so that symbolic links
+     *         that form a cycle are walked once
+     */
+    private static Set<Object> newWalkedDirectories(Path start) {
+        Set<Object> walkedDirectories = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+        try {
+            Object key = Files.readAttributes(start, BasicFileAttributes.class).fileKey();
+            if (key != null) {
+                walkedDirectories.add(key);
+            }
+        } catch (IOException e) {
+            // the walk lists nothing if the directory cannot be read
+        }
+        return walkedDirectories;
+    }
+
+    /**
+     * Lists one directory and walks its subdirectories in parallel.
+     */
+    private class DirectoryWalk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final Set<Object> walkedDirectories;
+
+        DirectoryWalk(Path directory, Set<Object> walkedDirectories) {
+            this.directory = directory;
+            this.walkedDirectories = walkedDirectories;
+        }
+
+        @Override
+        protected void compute() {
+            final List<DirectoryWalk> subdirectories = new ArrayList<DirectoryWalk>();
+            try {
+                // depth 1 visits the entries of the directory with the attributes read while listing it
+                Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isDirectory()) {
+                            if (attrs.fileKey() == null || walkedDirectories.add(attrs.fileKey())) {
+                                subdirectories.add(new DirectoryWalk(file, walkedDirectories));
+                            }
+                        } else if (attrs.isRegularFile()) {
+                            files.add(file.toFile());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                // the visitor does not throw, so this is only a failure to read the directory
+            }
+            invokeAll(subdirectories);
+        }
+    }
+
+    private static boolean hasSuffix(String name, String lowerCaseSuffix) {
+        return name.toLowerCase(Locale.ENGLISH).endsWith(lowerCaseSuffix);
+    }
+
+    private static boolean isUnder(File file, File directory) {
+        return file.getPath().startsWith(directory.getPath() + File.separator);
+    }
+}
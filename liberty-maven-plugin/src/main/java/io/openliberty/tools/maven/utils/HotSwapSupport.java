@@ -0,0 +1,278 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Applies compiled class changes to a running Liberty server without restarting
+ * the application when only method bodies changed.
+ * <p>
+ * The server is configured to update applications only when told to through the
+ * FileNotificationMBean. Classes whose shape is unchanged are redefined over JDWP.
+ * Every other change is passed to the FileNotificationMBean, which restarts the
+ * application as the application monitor would have.
+ */
+public class HotSwapSupport {
+
+    public static final String CONFIG_OVERRIDE_FILE = "configDropins/overrides/liberty-plugin-hotswap-config.xml";
+
+    private static final String CONFIG_OVERRIDE = "<server description=\"Generated by the Liberty Maven Plugin for hot swap in dev mode\">\n"
+            + "    <featureManager>\n"
+            + "        <feature>localConnector-1.0</feature>\n"
+            + "    </featureManager>\n"
+            + "    <applicationMonitor updateTrigger=\"mbean\"/>\n"
+            + "</server>\n";
+    private static final String JMX_ADDRESS_FILE = "logs/state/com.ibm.ws.jmx.local.address";
+    private static final String FILE_NOTIFICATION_MBEAN = "WebSphere:service=com.ibm.ws.kernel.filemonitor.FileNotificationMBean";
+    private static final int JDWP_TIMEOUT = 5000;
+
+    private final File serverOutputDirectory;
+    private final Log log;
+    private volatile int debugPort;
+
+    /**
+     * @param serverOutputDirectory the output directory of the server, which contains the logs directory
+     * @param debugPort             the port the server listens on for debuggers
+     * @param log                   the log
+     */
+    public HotSwapSupport(File serverOutputDirectory, int debugPort, Log log) {
+        this.serverOutputDirectory = serverOutputDirectory;
+        this.debugPort = debugPort;
+        this.log = log;
+    }
+
+    public void setDebugPort(int debugPort) {
+        this.debugPort = debugPort;
+    }
+
+    /**
+     * Write or remove the configuration that makes the server update applications
+     * only through the FileNotificationMBean.
+     *
+     * @param serverDirectory the server directory
+     * @param enabled         whether hot swap is enabled
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeConfigOverride(File serverDirectory, boolean enabled) throws IOException {
+        File file = new File(serverDirectory, CONFIG_OVERRIDE_FILE);
+        if (enabled) {
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), CONFIG_OVERRIDE.getBytes(StandardCharsets.UTF_8));
+        } else if (file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    /**
+     * Read the class files in the given directories.
+     *
+     * @param directories package directories of a compiler output directory
+     * @return the bytes of each class file
+     */
+    public static Map<File, byte[]> readClassFiles(Collection<File> directories) {
+        Map<File, byte[]> classFiles = new HashMap<File, byte[]>();
+        for (File dir : directories) {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                if (file.isFile() && file.getName().endsWith(".class")) {
+                    try {
+                        classFiles.put(file, Files.readAllBytes(file.toPath()));
+                    } catch (IOException e) {
+                        // a file that cannot be read is treated as deleted
+                    }
+                }
+            }
+        }
+        return classFiles;
+    }
+
+    /**
+     * Check whether a compile wrote class files outside of the given package directories, for
+     * example because the compiler also compiled sources that the changed sources refer to.
+     *
+     * @param classesDirectory   the classes directory
+     * @param packageDirectories the package directories that were read before compiling
+     * @param since              the time the compile started, in milliseconds
+     * @return true if a class file in another directory was modified since the given time
+     */
+    public static boolean hasClassFilesChangedOutside(File classesDirectory, final Collection<File> packageDirectories,
+            long since) {
+        // some file systems only record the modification time in seconds
+        final long modifiedAfter = since - 1000;
+        final boolean[] found = { false };
+        try {
+            Files.walkFileTree(classesDirectory.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (file.getFileName().toString().endsWith(".class") && attrs.lastModifiedTime().toMillis() >= modifiedAfter
+                            && !packageDirectories.contains(file.getParent().toFile())) {
+                        found[0] = true;
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // the classes directory cannot be read, so the changes are not known
+            return true;
+        }
+        return found[0];
+    }
+
+    /**
+     * Apply the differences between two reads of the same class directories to the server.
+     *
+     * @param before the class files before compiling
+     * @param after  the class files after compiling
+     */
+    public void apply(Map<File, byte[]> before, Map<File, byte[]> after) {
+        List<File> created = new ArrayList<File>();
+        List<File> modified = new ArrayList<File>();
+        List<File> deleted = new ArrayList<File>();
+        for (Map.Entry<File, byte[]> entry : after.entrySet()) {
+            byte[] old = before.get(entry.getKey());
+            if (old == null) {
+                created.add(entry.getKey());
+            } else if (!Arrays.equals(old, entry.getValue())) {
+                modified.add(entry.getKey());
+            }
+        }
+        for (File file : before.keySet()) {
+            if (!after.containsKey(file)) {
+                deleted.add(file);
+            }
+        }
+        if (created.isEmpty() && modified.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        if (created.isEmpty() && deleted.isEmpty() && redefine(modified, before, after)) {
+            return;
+        }
+        notifyFileChanges(created, modified, deleted);
+    }
+
+    /**
+     * Redefine the modified classes in the server if none of them changed shape.
+     *
+     * @return true if the classes were redefined, false if the application needs to be restarted instead
+     */
+    private boolean redefine(List<File> modified, Map<File, byte[]> before, Map<File, byte[]> after) {
+        Map<String, byte[]> classes = new HashMap<String, byte[]>();
+        for (File file : modified) {
+            try {
+                ClassFileInfo oldInfo = ClassFileInfo.parse(before.get(file));
+                ClassFileInfo newInfo = ClassFileInfo.parse(after.get(file));
+                if (!oldInfo.getShapeHash().equals(newInfo.getShapeHash())) {
+                    log.debug("Class " + newInfo.getName() + " changed structurally and cannot be hot swapped");
+                    return false;
+                }
+                classes.put(newInfo.getName(), after.get(file));
+            } catch (IOException e) {
+                log.debug("Could not read class file " + file, e);
+                return false;
+            }
+        }
+        long start = System.currentTimeMillis();
+        try (JdwpClient client = JdwpClient.connect("localhost", debugPort, JDWP_TIMEOUT)) {
+            if (!client.canRedefineClasses()) {
+                log.debug("The server JVM does not support redefining classes");
+                return false;
+            }
+            Map<Long, byte[]> loaded = new HashMap<Long, byte[]>();
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                for (Long id : client.getClassesByName(entry.getKey())) {
+                    loaded.put(id, entry.getValue());
+                }
+            }
+            if (!loaded.isEmpty()) {
+                client.redefineClasses(loaded);
+            }
+            log.info("Hot swapped " + classes.size() + " classes in " + (System.currentTimeMillis() - start) + " ms.");
+            return true;
+        } catch (IOException e) {
+            log.debug("Could not hot swap the changed classes over the debug port " + debugPort
+                    + ", restarting the application instead: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Tell the server that files of an application changed so that it updates the application.
+     *
+     * @param created  files that were created
+     * @param modified files that were modified
+     * @param deleted  files that were deleted
+     */
+    public void notifyFileChanges(Collection<File> created, Collection<File> modified, Collection<File> deleted) {
+        File addressFile = new File(serverOutputDirectory, JMX_ADDRESS_FILE);
+        if (!addressFile.exists()) {
+            // the server is not running, it reads the current files when it starts
+            log.debug("The server is not running, skipping the notification of application changes");
+            return;
+        }
+        try {
+            String address = new String(Files.readAllBytes(addressFile.toPath()), StandardCharsets.UTF_8).trim();
+            try (JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(address))) {
+                MBeanServerConnection connection = connector.getMBeanServerConnection();
+                connection.invoke(new ObjectName(FILE_NOTIFICATION_MBEAN), "notifyFileChanges",
+                        new Object[] { getPaths(created), getPaths(modified), getPaths(deleted) },
+                        new String[] { Collection.class.getName(), Collection.class.getName(), Collection.class.getName() });
+            }
+        } catch (Exception e) {
+            log.warn("Could not notify the server of the application changes. Restart the application or the server to pick them up. "
+                    + e.getMessage());
+            log.debug(e);
+        }
+    }
+
+    private static ArrayList<String> getPaths(Collection<File> files) {
+        ArrayList<String> paths = new ArrayList<String>();
+        for (File file : files) {
+            paths.add(file.getAbsolutePath());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,447 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Runs tests on the JUnit Platform inside the dev mode JVM instead of forking a
+ * new JVM for every run.
+ * <p>
+ * The shared dependency jars, which are JUnit itself and any libraries the user
+ * opted in, are loaded by a class loader that is kept across runs as long as the
+ * jars do not change. The compiled classes of the project and the other dependency
+ * jars are loaded by a new child class loader for every run, so changed classes are
+ * picked up without reloading the shared jars. The shared loader cannot see the
+ * classes and resources of the child loader, for example a logback-test.xml in the
+ * test classes, and static state in shared libraries keeps the child loaders of
+ * earlier runs alive, so only libraries without such state should be shared. The
+ * JUnit Platform is driven through reflection because its version comes from the
+ * project.
+ * <p>
+ * Results are written to the reports directory in the same XML format as the
+ * maven-surefire-plugin, so the report goals keep working.
+ */
+public class InProcessTestRunner {
+
+    private final Log log;
+
+    private List<URL> dependencyUrls;
+    private URLClassLoader dependencyLoader;
+
+    /**
+     * The results of a test run.
+     */
+    public static class Result {
+        private int tests;
+        private int failures;
+        private int errors;
+        private int skipped;
+        private final List<String> failureSummaries = new ArrayList<String>();
+
+        public int getTests() {
+            return tests;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return one line for each failed or erroneous test
+         */
+        public List<String> getFailureSummaries() {
+            return failureSummaries;
+        }
+
+        @Override
+        public String toString() {
+            return "Tests run: " + tests + ", Failures: " + failures + ", Errors: " + errors + ", Skipped: " + skipped;
+        }
+    }
+
+    private static class TestCase {
+        final String name;
+        final String className;
+        final double time;
+        final String status;
+        final Throwable throwable;
+        final String skipReason;
+
+        TestCase(String name, String className, double time, String status, Throwable throwable, String skipReason) {
+            this.name = name;
+            this.className = className;
+            this.time = time;
+            this.status = status;
+            this.throwable = throwable;
+            this.skipReason = skipReason;
+        }
+    }
+
+    public InProcessTestRunner(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Run the given test classes.
+     *
+     * @param sharedJars         the jars on the test classpath that stay loaded between runs, which must include the
+     *                           JUnit Platform launcher and engines
+     * @param dependencyJars     the other jars on the test classpath, which are loaded again for every run
+     * @param classesDirectories the directories on the test classpath, in classpath order
+     * @param testClassNames     the fully qualified names of the test classes to run
+     * @param reportsDirectory   the directory to write the XML reports to
+     * @return the results
+     * @throws IOException if the classpath or the reports cannot be used
+     * @throws ReflectiveOperationException if the JUnit Platform cannot be driven
+     */
+    public synchronized Result run(List<File> sharedJars, List<File> dependencyJars, List<File> classesDirectories,
+            Collection<String> testClassNames, File reportsDirectory) throws IOException, ReflectiveOperationException {
+        ClassLoader parent = getDependencyLoader(sharedJars);
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        List<File> classpath = new ArrayList<File>(classesDirectories);
+        classpath.addAll(dependencyJars);
+        try (URLClassLoader loader = new URLClassLoader(toUrls(classpath), parent)) {
+            Thread.currentThread().setContextClassLoader(loader);
+            Map<String, List<TestCase>> results = execute(loader, testClassNames);
+            Result result = new Result();
+            reportsDirectory.mkdirs();
+            for (Map.Entry<String, List<TestCase>> entry : results.entrySet()) {
+                writeReport(reportsDirectory, entry.getKey(), entry.getValue(), result);
+            }
+            return result;
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * Release the shared dependency class loader.
+     */
+    public synchronized void close() {
+        if (dependencyLoader != null) {
+            try {
+                dependencyLoader.close();
+            } catch (IOException e) {
+                log.debug("Unable to close the test class loader", e);
+            }
+            dependencyLoader = null;
+            dependencyUrls = null;
+        }
+    }
+
+    private ClassLoader getDependencyLoader(List<File> sharedJars) throws MalformedURLException {
+        List<URL> urls = new ArrayList<URL>();
+        for (URL url : toUrls(sharedJars)) {
+            urls.add(url);
+        }
+        if (dependencyLoader == null || !urls.equals(dependencyUrls)) {
+            close();
+            log.debug("Loading the shared test dependencies: " + sharedJars);
+            // the parent of the system class loader keeps the classes of Maven and this plugin out of the tests
+            dependencyLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), ClassLoader.getSystemClassLoader().getParent());
+            dependencyUrls = urls;
+        }
+        return dependencyLoader;
+    }
+
+    private Map<String, List<TestCase>> execute(ClassLoader loader, Collection<String> testClassNames) throws ReflectiveOperationException {
+        Class<?> selectorsClass = loader.loadClass("org.junit.platform.engine.discovery.DiscoverySelectors");
+        Method selectClass = selectorsClass.getMethod("selectClass", String.class);
+        List<Object> selectors = new ArrayList<Object>();
+        for (String name : testClassNames) {
+            selectors.add(selectClass.invoke(null, name));
+        }
+        Class<?> builderClass = loader.loadClass("org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder");
+        Object builder = builderClass.getMethod("request").invoke(null);
+        builderClass.getMethod("selectors", List.class).invoke(builder, selectors);
+        Object request = builderClass.getMethod("build").invoke(builder);
+
+        Class<?> listenerClass = loader.loadClass("org.junit.platform.launcher.TestExecutionListener");
+        final Map<String, List<TestCase>> results = new LinkedHashMap<String, List<TestCase>>();
+        final Map<Object, Long> startTimes = new HashMap<Object, Long>();
+        Object listener = Proxy.newProxyInstance(loader, new Class<?>[] { listenerClass }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.equals("executionStarted")) {
+                    startTimes.put(call(args[0], "getUniqueId"), System.nanoTime());
+                } else if (name.equals("executionFinished")) {
+                    finished(args[0], args[1], startTimes, results);
+                } else if (name.equals("executionSkipped")) {
+                    Object identifier = args[0];
+                    if ((Boolean) call(identifier, "isTest") || getMethodName(identifier) == null) {
+                        String className = getClassName(identifier);
+                        if (className != null) {
+                            add(results, new TestCase(getTestName(identifier), className, 0, "skipped", null, (String) args[1]));
+                        }
+                    }
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("toString")) {
+                    return "InProcessTestRunner listener";
+                }
+                return null;
+            }
+        });
+        Object listeners = java.lang.reflect.Array.newInstance(listenerClass, 1);
+        java.lang.reflect.Array.set(listeners, 0, listener);
+
+        Class<?> factoryClass = loader.loadClass("org.junit.platform.launcher.core.LauncherFactory");
+        Object launcher = factoryClass.getMethod("create").invoke(null);
+        Class<?> requestClass = loader.loadClass("org.junit.platform.launcher.LauncherDiscoveryRequest");
+        // the launcher implementations are not public, so call the method of the interface
+        Class<?> launcherClass = loader.loadClass("org.junit.platform.launcher.Launcher");
+        try {
+            launcherClass.getMethod("execute", requestClass, listeners.getClass()).invoke(launcher, request, listeners);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof ReflectiveOperationException) {
+                throw (ReflectiveOperationException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private static void finished(Object identifier, Object executionResult, Map<Object, Long> startTimes,
+            Map<String, List<TestCase>> results) throws ReflectiveOperationException {
+        Long start = startTimes.remove(call(identifier, "getUniqueId"));
+        double time = start == null ? 0 : (System.nanoTime() - start) / 1e9;
+        String status = call(executionResult, "getStatus").toString();
+        Optional<?> throwable = (Optional<?>) call(executionResult, "getThrowable");
+        Throwable cause = throwable.isPresent() ? (Throwable) throwable.get() : null;
+        boolean test = (Boolean) call(identifier, "isTest");
+        if (!test && "SUCCESSFUL".equals(status)) {
+            return;
+        }
+        String className = getClassName(identifier);
+        if (className == null) {
+            // an engine or other container without a class
+            if (!test && cause != null) {
+                add(results, new TestCase(getTestName(identifier), String.valueOf(call(identifier, "getDisplayName")), time,
+                        "error", cause, null));
+            }
+            return;
+        }
+        if ("ABORTED".equals(status)) {
+            add(results, new TestCase(getTestName(identifier), className, time, "skipped", null,
+                    cause == null ? null : cause.getMessage()));
+        } else if ("FAILED".equals(status)) {
+            add(results, new TestCase(getTestName(identifier), className, time, cause instanceof AssertionError ? "failure" : "error",
+                    cause, null));
+        } else {
+            add(results, new TestCase(getTestName(identifier), className, time, "success", null, null));
+        }
+    }
+
+    private static void add(Map<String, List<TestCase>> results, TestCase testCase) {
+        List<TestCase> cases = results.get(testCase.className);
+        if (cases == null) {
+            cases = new ArrayList<TestCase>();
+            results.put(testCase.className, cases);
+        }
+        cases.add(testCase);
+    }
+
+    private static String getTestName(Object identifier) throws ReflectiveOperationException {
+        String methodName = getMethodName(identifier);
+        String displayName = String.valueOf(call(identifier, "getDisplayName"));
+        if (methodName == null) {
+            return displayName;
+        }
+        // parameterized and repeated tests share the method name
+        return displayName.startsWith(methodName + "(") ? methodName : methodName + " " + displayName;
+    }
+
+    private static String getMethodName(Object identifier) throws ReflectiveOperationException {
+        Object source = getSource(identifier);
+        if (source != null && hasMethod(source, "getMethodName")) {
+            return (String) call(source, "getMethodName");
+        }
+        return null;
+    }
+
+    private static String getClassName(Object identifier) throws ReflectiveOperationException {
+        Object source = getSource(identifier);
+        if (source != null && hasMethod(source, "getClassName")) {
+            return (String) call(source, "getClassName");
+        }
+        return null;
+    }
+
+    private static Object getSource(Object identifier) throws ReflectiveOperationException {
+        Optional<?> source = (Optional<?>) call(identifier, "getSource");
+        return source.isPresent() ? source.get() : null;
+    }
+
+    private static boolean hasMethod(Object target, String name) {
+        try {
+            target.getClass().getMethod(name);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Object call(Object target, String name) throws ReflectiveOperationException {
+        Method method = target.getClass().getMethod(name);
+        method.setAccessible(true);
+        return method.invoke(target);
+    }
+
+    private void writeReport(File reportsDirectory, String className, List<TestCase> cases, Result result) throws IOException {
+        int tests = 0;
+        int failures = 0;
+        int errors = 0;
+        int skipped = 0;
+        double time = 0;
+        StringBuilder testCases = new StringBuilder();
+        for (TestCase testCase : cases) {
+            tests++;
+            time += testCase.time;
+            testCases.append("  <testcase name=\"").append(escape(testCase.name)).append("\" classname=\"").append(escape(className))
+                    .append("\" time=\"").append(formatTime(testCase.time)).append("\"");
+            if (testCase.status.equals("success")) {
+                testCases.append("/>\n");
+                continue;
+            }
+            testCases.append(">\n");
+            if (testCase.status.equals("skipped")) {
+                skipped++;
+                testCases.append("    <skipped");
+                if (testCase.skipReason != null) {
+                    testCases.append(" message=\"").append(escape(testCase.skipReason)).append("\"");
+                }
+                testCases.append("/>\n");
+            } else {
+                if (testCase.status.equals("failure")) {
+                    failures++;
+                } else {
+                    errors++;
+                }
+                Throwable throwable = testCase.throwable;
+                testCases.append("    <").append(testCase.status);
+                if (throwable != null) {
+                    if (throwable.getMessage() != null) {
+                        testCases.append(" message=\"").append(escape(throwable.getMessage())).append("\"");
+                    }
+                    testCases.append(" type=\"").append(escape(throwable.getClass().getName())).append("\">");
+                    StringWriter trace = new StringWriter();
+                    throwable.printStackTrace(new PrintWriter(trace));
+                    testCases.append(escape(trace.toString()));
+                } else {
+                    testCases.append(">");
+                }
+                testCases.append("</").append(testCase.status).append(">\n");
+                result.failureSummaries.add(className + "." + testCase.name + " "
+                        + (throwable == null ? testCase.status : throwable.getClass().getSimpleName() + ": " + throwable.getMessage()));
+            }
+            testCases.append("  </testcase>\n");
+        }
+        result.tests += tests;
+        result.failures += failures;
+        result.errors += errors;
+        result.skipped += skipped;
+
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<testsuite name=\"").append(escape(className)).append("\" time=\"").append(formatTime(time)).append("\" tests=\"")
+                .append(tests).append("\" errors=\"").append(errors).append("\" skipped=\"").append(skipped).append("\" failures=\"")
+                .append(failures).append("\">\n");
+        xml.append(testCases);
+        xml.append("</testsuite>\n");
+        Files.write(new File(reportsDirectory, "TEST-" + className + ".xml").toPath(), xml.toString().getBytes(StandardCharsets.UTF_8));
+
+        String summary = "-------------------------------------------------------------------------------\n" + "Test set: " + className
+                + "\n-------------------------------------------------------------------------------\n" + "Tests run: " + tests
+                + ", Failures: " + failures + ", Errors: " + errors + ", Skipped: " + skipped + ", Time elapsed: " + formatTime(time)
+                + " s - in " + className + "\n";
+        Files.write(new File(reportsDirectory, className + ".txt").toPath(), summary.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String formatTime(double seconds) {
+        return String.format(Locale.ENGLISH, "%.3f", seconds);
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    if (c < 0x20 && c != '\n' && c != '\r' && c != '\t') {
+                        // not allowed in XML 1.0, even as a character reference
+                        sb.append('?');
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static URL[] toUrls(List<File> files) throws MalformedURLException {
+        URL[] urls = new URL[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            urls[i] = files.get(i).toURI().toURL();
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,586 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Works out the smallest set of sources that must be recompiled after a change.
+ * When other classes reference the classes of the changed sources, the changed
+ * sources are compiled in memory first and the classes they produce are compared to
+ * the indexed ones. The sources of classes that reference a class whose ABI changed
+ * are added and compiled in memory with them until no more sources are affected, so
+ * that the whole set is compiled to disk in one compile. A changed constant is inlined
+ * into the classes that use it without leaving a reference to its class, so it
+ * recompiles every indexed source in the module. The compiler and file manager are
+ * kept for the whole dev mode session so that each in memory compile starts warm.
+ */
+public class IncrementalJavaCompiler {
+
+    private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;");
+    private static final List<String> OPTIONS_WITH_ARGUMENT = Arrays.asList("-d", "-s", "-h", "-sourcepath", "-classpath", "-cp",
+            "--class-path", "-processorpath", "--processor-path", "-processor");
+
+    private final JavaCompiler compiler;
+    private final StandardJavaFileManager fileManager;
+    private final ClassDependencyIndex index;
+    private final Log log;
+
+    /** source roots discovered from the package declarations of compiled sources */
+    private final Set<File> sourceRoots = new HashSet<File>();
+
+    /** affected classes found in other output directories, compiled the next time that directory is compiled */
+    private final Map<File, Set<String>> pendingClasses = new HashMap<File, Set<String>>();
+
+    /** the ABI and constants hashes of the classes of the sources being compiled, by output directory */
+    private final Map<File, Map<String, ClassFileInfo>> compiling = new HashMap<File, Map<String, ClassFileInfo>>();
+
+    /** classes of deleted sources, which are treated as changed once the compile completes */
+    private final Map<File, Set<String>> deletedClasses = new HashMap<File, Set<String>>();
+
+    public IncrementalJavaCompiler(ClassDependencyIndex index, Log log) {
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        this.fileManager = compiler == null ? null : compiler.getStandardFileManager(null, null, null);
+        this.index = index;
+        this.log = log;
+    }
+
+    public ClassDependencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Determine which of the given sources need to be compiled into the output
+     * directory, which are the changed sources, the sources affected by ABI changes
+     * in them and any sources affected by an earlier compile of another output
+     * directory. Call {@link #compiled} after a successful compile to update the
+     * index and find any sources that still need to be compiled, which only happens
+     * when the affected sources could not be determined in memory.
+     *
+     * @param javaFiles       the sources that dev mode was going to compile
+     * @param outputDirectory the output directory of the compile
+     * @param classpath       the compile classpath, not including the output directory
+     * @param options         the compiler options
+     * @return the sources to compile, which may be empty if nothing needs compiling
+     * @throws IOException if the output directory could not be indexed
+     */
+    public synchronized Collection<File> getSourcesToCompile(Collection<File> javaFiles, File outputDirectory, Collection<String> classpath,
+            List<String> options) throws IOException {
+        File outputDir = outputDirectory.getCanonicalFile();
+        index.indexDirectory(outputDir);
+        Charset encoding = getEncoding(options);
+
+        Set<File> result = new LinkedHashSet<File>();
+        Map<String, ClassFileInfo> previous = new HashMap<String, ClassFileInfo>();
+        Set<String> deleted = new HashSet<String>();
+        for (File file : javaFiles) {
+            File source = file.getCanonicalFile();
+            String packagePath = getPackage(source, encoding);
+            if (!source.isFile()) {
+                // deleted, so every class that was compiled from it is gone
+                result.add(file);
+                if (packagePath != null) {
+                    for (String name : index.getClassesForSource(packagePath, source.getName())) {
+                        deleted.add(name);
+                        previous.put(name, index.getClassInfo(name));
+                    }
+                }
+                continue;
+            }
+            Set<String> classes = packagePath == null ? new HashSet<String>() : index.getClassesForSource(packagePath, source.getName());
+            if (classes.isEmpty() || isNewer(source, classes)) {
+                result.add(file);
+                for (String name : classes) {
+                    previous.put(name, index.getClassInfo(name));
+                }
+            }
+        }
+        Set<String> pending = pendingClasses.remove(outputDir);
+        if (pending != null) {
+            for (File source : findSources(pending)) {
+                if (result.add(source)) {
+                    addClasses(source, encoding, previous);
+                }
+            }
+        }
+        if (compiler != null && !result.isEmpty() && mayAffectOtherClasses(previous, deleted)) {
+            addAffectedSources(result, outputDir, classpath, options, encoding, previous, deleted);
+        }
+        compiling.put(outputDir, previous);
+        deletedClasses.put(outputDir, deleted);
+        return result;
+    }
+
+    /**
+     * @return true if other classes reference the given classes or the given classes define constants
+     */
+    private boolean mayAffectOtherClasses(Map<String, ClassFileInfo> classes, Set<String> deleted) {
+        if (!deleted.isEmpty()) {
+            return true;
+        }
+        for (ClassFileInfo info : classes.values()) {
+            if (info.getConstantsHash() != null) {
+                return true;
+            }
+        }
+        Set<String> dependents = index.getDirectDependents(classes.keySet());
+        dependents.removeAll(classes.keySet());
+        return !dependents.isEmpty();
+    }
+
+    /**
+     * Compile the sources in memory and add the sources of the classes affected by ABI
+     * changes in them, until no more sources are affected. If a compile fails, the
+     * sources are left as they are and {@link #compiled} finds the affected sources
+     * after the real compile.
+     */
+    private void addAffectedSources(Set<File> sources, File outputDir, Collection<String> classpath, List<String> options,
+            Charset encoding, Map<String, ClassFileInfo> previous, Set<String> deleted) throws IOException {
+        Set<File> canonicalSources = new HashSet<File>();
+        for (File source : sources) {
+            canonicalSources.add(source.getCanonicalFile());
+        }
+        while (true) {
+            List<File> existing = new ArrayList<File>();
+            for (File source : sources) {
+                if (source.isFile()) {
+                    existing.add(source);
+                }
+            }
+            Map<String, byte[]> classes = existing.isEmpty() ? new HashMap<String, byte[]>()
+                    : compileInMemory(existing, outputDir, classpath, options);
+            if (classes == null) {
+                // the real compile reports the errors
+                log.debug("In memory compile failed, the affected sources are found after the compile");
+                return;
+            }
+            Set<String> abiChanged = new HashSet<String>(deleted);
+            boolean constantsChanged = false;
+            Set<String> produced = new HashSet<String>();
+            for (byte[] bytes : classes.values()) {
+                ClassFileInfo info = ClassFileInfo.parse(bytes);
+                produced.add(info.getName());
+                ClassFileInfo before = previous.get(info.getName());
+                if (before == null || !before.getAbiHash().equals(info.getAbiHash())) {
+                    abiChanged.add(info.getName());
+                }
+                if (before != null && before.getConstantsHash() != null && !before.getConstantsHash().equals(info.getConstantsHash())) {
+                    constantsChanged = true;
+                }
+            }
+            for (Map.Entry<String, ClassFileInfo> entry : previous.entrySet()) {
+                // classes that are no longer produced by the sources
+                if (!produced.contains(entry.getKey())) {
+                    abiChanged.add(entry.getKey());
+                    constantsChanged |= entry.getValue().getConstantsHash() != null;
+                }
+            }
+
+            Set<String> affected;
+            if (constantsChanged) {
+                log.debug("Constants changed in " + outputDir + ", recompiling every indexed source");
+                affected = index.getIndexedClasses();
+            } else {
+                affected = index.getAffectedClasses(abiChanged);
+            }
+            affected.removeAll(previous.keySet());
+            boolean added = false;
+            for (File source : findSources(getClassesInDirectory(affected, outputDir))) {
+                if (canonicalSources.add(source.getCanonicalFile())) {
+                    sources.add(source);
+                    addClasses(source, encoding, previous);
+                    added = true;
+                }
+            }
+            if (!added || constantsChanged) {
+                // every indexed source is compiled after a constant change
+                return;
+            }
+            log.debug("Sources affected by ABI changes: " + sources);
+        }
+    }
+
+    private void addClasses(File source, Charset encoding, Map<String, ClassFileInfo> classes) throws IOException {
+        File file = source.getCanonicalFile();
+        String packagePath = getPackage(file, encoding);
+        if (packagePath != null) {
+            for (String name : index.getClassesForSource(packagePath, file.getName())) {
+                classes.put(name, index.getClassInfo(name));
+            }
+        }
+    }
+
+    /**
+     * @return the classes that were indexed from the output directory. Classes from other
+     *         output directories are compiled the next time that directory is compiled.
+     */
+    private Set<String> getClassesInDirectory(Set<String> classes, File outputDir) {
+        Set<String> sameDirectory = new HashSet<String>();
+        for (String name : classes) {
+            File otherOutputDir = index.getOutputDirectory(name);
+            if (otherOutputDir == null) {
+                continue;
+            }
+            if (otherOutputDir.equals(outputDir)) {
+                sameDirectory.add(name);
+            } else {
+                Set<String> set = pendingClasses.get(otherOutputDir);
+                if (set == null) {
+                    set = new HashSet<String>();
+                    pendingClasses.put(otherOutputDir, set);
+                }
+                set.add(name);
+            }
+        }
+        return sameDirectory;
+    }
+
+    /**
+     * Update the index after the sources were compiled successfully and get the sources in
+     * the same output directory that must be compiled because of ABI changes in the compiled
+     * classes. Affected classes in other output directories are compiled the next time that
+     * directory is compiled.
+     *
+     * @param sources         the sources that were compiled
+     * @param outputDirectory the output directory of the compile
+     * @param options         the compiler options, used for the source encoding
+     * @return the affected sources that were not compiled yet, which is empty if there are none
+     * @throws IOException if the output directory could not be read
+     */
+    public synchronized Collection<File> compiled(Collection<File> sources, File outputDirectory, List<String> options) throws IOException {
+        File outputDir = outputDirectory.getCanonicalFile();
+        Charset encoding = getEncoding(options);
+        Set<String> packages = new HashSet<String>();
+        Set<String> compiledClasses = new HashSet<String>();
+        for (File file : sources) {
+            File source = file.getCanonicalFile();
+            String packagePath = getPackage(source, encoding);
+            if (packagePath != null) {
+                packages.add(packagePath);
+            }
+        }
+        for (String packagePath : packages) {
+            index.refreshPackage(outputDir, packagePath);
+        }
+        for (File file : sources) {
+            File source = file.getCanonicalFile();
+            String packagePath = getPackage(source, encoding);
+            if (packagePath != null) {
+                compiledClasses.addAll(index.getClassesForSource(packagePath, source.getName()));
+            }
+        }
+
+        Map<String, ClassFileInfo> previous = compiling.remove(outputDir);
+        Set<String> abiChanged = new HashSet<String>();
+        Set<String> deleted = deletedClasses.remove(outputDir);
+        if (deleted != null) {
+            abiChanged.addAll(deleted);
+        }
+        boolean constantsChanged = false;
+        if (previous != null) {
+            for (String name : compiledClasses) {
+                ClassFileInfo before = previous.remove(name);
+                ClassFileInfo after = index.getClassInfo(name);
+                if (before == null || !before.getAbiHash().equals(after.getAbiHash())) {
+                    abiChanged.add(name);
+                }
+                if (before != null && before.getConstantsHash() != null
+                        && !before.getConstantsHash().equals(after.getConstantsHash())) {
+                    constantsChanged = true;
+                }
+            }
+            // classes that are no longer produced by the changed sources
+            abiChanged.addAll(previous.keySet());
+            for (ClassFileInfo removed : previous.values()) {
+                if (removed.getConstantsHash() != null) {
+                    constantsChanged = true;
+                }
+            }
+        }
+
+        Set<String> affected = new HashSet<String>();
+        if (constantsChanged) {
+            log.debug("Constants changed in " + outputDir + ", recompiling every indexed source");
+            affected.addAll(index.getIndexedClasses());
+        } else if (!abiChanged.isEmpty()) {
+            log.debug("Classes with ABI changes: " + abiChanged);
+            affected.addAll(index.getAffectedClasses(abiChanged));
+        }
+        affected.removeAll(compiledClasses);
+
+        Set<String> sameDirectory = getClassesInDirectory(affected, outputDir);
+        Set<File> result = findSources(sameDirectory);
+        Set<File> compiledSources = new HashSet<File>();
+        for (File file : sources) {
+            compiledSources.add(file.getCanonicalFile());
+        }
+        Iterator<File> it = result.iterator();
+        while (it.hasNext()) {
+            if (compiledSources.contains(it.next().getCanonicalFile())) {
+                it.remove();
+            }
+        }
+        if (!result.isEmpty()) {
+            // the next compile diffs the affected classes against their current state
+            Map<String, ClassFileInfo> next = new HashMap<String, ClassFileInfo>();
+            for (String name : sameDirectory) {
+                next.put(name, index.getClassInfo(name));
+            }
+            compiling.put(outputDir, next);
+        }
+        return result;
+    }
+
+    private Set<File> findSources(Collection<String> classes) {
+        Set<File> result = new LinkedHashSet<File>();
+        for (String name : classes) {
+            File source = findSource(index.getClassInfo(name));
+            if (source != null) {
+                result.add(source);
+            } else {
+                log.debug("Could not find the source file for affected class " + name);
+            }
+        }
+        return result;
+    }
+
+    private boolean isNewer(File source, Set<String> classes) {
+        long lastModified = source.lastModified();
+        for (String name : classes) {
+            File classFile = index.getClassFile(name);
+            if (classFile == null || classFile.lastModified() < lastModified) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the package of a source file in internal form, using a known source root when possible
+     * and otherwise reading the package declaration.
+     */
+    private String getPackage(File source, Charset encoding) {
+        String parent = source.getParent();
+        for (File root : sourceRoots) {
+            String rootPath = root.getPath();
+            if (parent.equals(rootPath)) {
+                return "";
+            }
+            if (parent.startsWith(rootPath + File.separator)) {
+                return parent.substring(rootPath.length() + 1).replace(File.separatorChar, '/');
+            }
+        }
+        if (!source.isFile()) {
+            return null;
+        }
+        String packagePath = "";
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), encoding)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = PACKAGE_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    packagePath = matcher.group(1).replace('.', '/');
+                    break;
+                }
+                String trimmed = line.trim();
+                if (trimmed.startsWith("import ") || trimmed.contains(" class ") || trimmed.contains(" interface ")) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // sources in another encoding may not have a readable package line
+            log.debug("Could not read the package of " + source, e);
+            return null;
+        }
+        String packageDir = packagePath.replace('/', File.separatorChar);
+        if (packageDir.isEmpty()) {
+            sourceRoots.add(source.getParentFile());
+        } else if (parent.endsWith(File.separator + packageDir)) {
+            sourceRoots.add(new File(parent.substring(0, parent.length() - packageDir.length() - 1)));
+        }
+        return packagePath;
+    }
+
+    private File findSource(ClassFileInfo info) {
+        if (info == null || info.getSourceFile() == null) {
+            return null;
+        }
+        String relativePath = info.getPackage().replace('/', File.separatorChar);
+        for (File root : sourceRoots) {
+            File source = new File(relativePath.isEmpty() ? root : new File(root, relativePath), info.getSourceFile());
+            if (source.isFile()) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the encoding given with -encoding in the compiler options, or the default encoding
+     */
+    private Charset getEncoding(List<String> options) {
+        if (options != null) {
+            for (int i = 0; i < options.size() - 1; i++) {
+                if ("-encoding".equals(options.get(i))) {
+                    try {
+                        return Charset.forName(options.get(i + 1));
+                    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                        // the compile reports the invalid encoding
+                        log.debug("Unsupported source encoding " + options.get(i + 1));
+                    }
+                }
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
+    /**
+     * Compile the sources without writing anything to disk.
+     *
+     * @return the compiled classes keyed by binary name, or null if the compile failed
+     */
+    private Map<String, byte[]> compileInMemory(List<File> sources, File outputDirectory, Collection<String> classpath, List<String> options)
+            throws IOException {
+        List<File> classpathFiles = new ArrayList<File>();
+        classpathFiles.add(outputDirectory);
+        if (classpath != null) {
+            for (String element : classpath) {
+                classpathFiles.add(new File(element));
+            }
+        }
+        fileManager.setLocation(StandardLocation.CLASS_PATH, classpathFiles);
+
+        List<String> compileOptions = new ArrayList<String>();
+        if (options != null) {
+            Iterator<String> it = options.iterator();
+            while (it.hasNext()) {
+                String option = it.next();
+                if (OPTIONS_WITH_ARGUMENT.contains(option)) {
+                    if (it.hasNext()) {
+                        it.next();
+                    }
+                } else if (!option.startsWith("-proc:") && !option.startsWith("-implicit:")) {
+                    compileOptions.add(option);
+                }
+            }
+        }
+        compileOptions.add("-proc:none");
+        compileOptions.add("-implicit:none");
+
+        MemoryFileManager memoryFileManager = new MemoryFileManager(fileManager);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        boolean success;
+        try {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, memoryFileManager, diagnostics, compileOptions, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources));
+            success = task.call();
+        } catch (RuntimeException e) {
+            log.debug("In memory compile failed", e);
+            return null;
+        }
+        if (!success) {
+            return null;
+        }
+        Map<String, byte[]> classes = new HashMap<String, byte[]>();
+        for (MemoryJavaFileObject output : memoryFileManager.outputs) {
+            if (output.getKind() == Kind.CLASS) {
+                classes.put(output.binaryName, output.getBytes());
+            }
+        }
+        return classes;
+    }
+
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final List<MemoryJavaFileObject> outputs = new ArrayList<MemoryJavaFileObject>();
+
+        MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) {
+            MemoryJavaFileObject output = new MemoryJavaFileObject(className, kind);
+            outputs.add(output);
+            return output;
+        }
+
+        @Override
+        public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) {
+            return new MemoryJavaFileObject(packageName + "." + relativeName, Kind.OTHER);
+        }
+    }
+
+    private static class MemoryJavaFileObject extends SimpleJavaFileObject {
+        private final String binaryName;
+        private ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        MemoryJavaFileObject(String binaryName, Kind kind) {
+            super(URI.create("mem:///" + binaryName.replace('.', '/') + kind.extension), kind);
+            this.binaryName = binaryName;
+        }
+
+        byte[] getBytes() {
+            return content.toByteArray();
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            content = new ByteArrayOutputStream();
+            return content;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(content.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,552 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Copies or filters a single changed resource file into the output directory, applying the
+ * includes, excludes, targetPath and filtering rules of the matching Resource the same way the
+ * maven-resources-plugin does. Whenever a file cannot be handled with certainty the caller is told
+ * to fall back to running the full resources goal.
+ */
+public class IncrementalResourceSync {
+
+    private static final String[] DEFAULT_DELIMITERS = { "${*}", "@" };
+    private static final List<String> DEFAULT_NON_FILTERED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "gif", "bmp", "png");
+    private static final Pattern WINDOWS_PATH_PATTERN = Pattern.compile("^(.*)[a-zA-Z]:\\\\(.*)");
+    private static final int MAX_INTERPOLATION_DEPTH = 20;
+
+    /**
+     * Resources plugin parameters that change how files are selected or copied in ways this class
+     * does not replicate. If any of them is configured, every change runs the full goal.
+     */
+    private static final String[] UNSUPPORTED_CONFIG = { "resources", "outputDirectory", "mavenFilteringHints", "fileNameFiltering",
+            "skip", "supportMultiLineFiltering" };
+
+    private final MavenProject project;
+    private final Properties userProperties;
+    private final Xpp3Dom config;
+    private final Log log;
+
+    private final List<File> filterFiles = new ArrayList<File>();
+    private final Map<File, String> filterFileStamps = new HashMap<File, String>();
+    private Properties filterProperties;
+
+    public IncrementalResourceSync(MavenProject project, Properties userProperties, Xpp3Dom config, Log log) {
+        this.project = project;
+        this.userProperties = userProperties;
+        this.config = config;
+        this.log = log;
+        if (project.getBuild().getFilters() != null && getConfigBoolean("useBuildFilters", true)) {
+            for (String filter : project.getBuild().getFilters()) {
+                filterFiles.add(resolveFile(filter));
+            }
+        }
+        Xpp3Dom filters = config == null ? null : config.getChild("filters");
+        if (filters != null) {
+            for (Xpp3Dom filter : filters.getChildren()) {
+                if (filter.getValue() != null) {
+                    filterFiles.add(resolveFile(filter.getValue().trim()));
+                }
+            }
+        }
+        refreshFilterInputs();
+    }
+
+    /**
+     * @return the project this instance was created for
+     */
+    public MavenProject getProject() {
+        return project;
+    }
+
+    /**
+     * Copy or filter the changed file into the output directory.
+     *
+     * @param fileChanged     the resource file that was modified or created
+     * @param outputDirectory the project output directory
+     * @return true if the change was fully handled, false if the full resources
+     *         goal must be run instead
+     * @throws IOException if the file could not be read or written
+     */
+    public boolean sync(File fileChanged, File outputDirectory) throws IOException {
+        if (hasUnsupportedConfig()) {
+            return false;
+        }
+        File canonicalFile = fileChanged.getCanonicalFile();
+        if (filterInputsChanged() || isFilterFile(canonicalFile)) {
+            log.debug("Resource filter inputs changed, running the full resources goal");
+            return false;
+        }
+
+        Resource match = null;
+        String relativePath = null;
+        for (Resource resource : project.getResources()) {
+            String path = getRelativePath(resource, canonicalFile);
+            if (path != null && isSelected(resource, path)) {
+                if (match != null) {
+                    // the file is selected by more than one resource, let the plugin sort out the precedence
+                    return false;
+                }
+                match = resource;
+                relativePath = path;
+            }
+        }
+        if (match == null) {
+            // not in any resource directory or not selected by includes/excludes, nothing is copied
+            log.debug("Resource " + fileChanged + " is not selected by any resource definition");
+            return !project.getResources().isEmpty();
+        }
+
+        File targetDir = outputDirectory;
+        if (match.getTargetPath() != null) {
+            File targetPath = new File(match.getTargetPath());
+            targetDir = targetPath.isAbsolute() ? targetPath : new File(outputDirectory, match.getTargetPath());
+        }
+        File target = new File(targetDir, relativePath);
+        if (!copy(canonicalFile, target, match.isFiltering())) {
+            log.debug("Resource " + fileChanged + " contains expressions that require the full resources goal");
+            return false;
+        }
+        log.debug("Copied resource " + fileChanged + " to " + target);
+        return true;
+    }
+
+    /**
+     * Copy a file, filtering it with the filters, delimiters and encoding of this instance
+     * when requested and the file extension is not excluded from filtering.
+     *
+     * @param source    the file to copy
+     * @param target    the file to write
+     * @param filtering whether to filter the file
+     * @return true if the file was copied, false if it contains expressions that
+     *         could not be resolved or its encoding is not supported, in which case
+     *         the target is not written
+     * @throws IOException if the file could not be read or written
+     */
+    public boolean copy(File source, File target, boolean filtering) throws IOException {
+        target.getParentFile().mkdirs();
+        if (filtering && !isNonFilteredExtension(source.getName())) {
+            Charset charset = getEncoding(source.getName());
+            if (charset == null) {
+                return false;
+            }
+            String content = new String(Files.readAllBytes(source.toPath()), charset);
+            String filtered = filter(content);
+            if (filtered == null) {
+                return false;
+            }
+            Files.write(target.toPath(), filtered.getBytes(charset));
+        } else {
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Records the current state of the filter files so that the next call to sync
+     * only falls back to the full goal if they change again. Should be called after
+     * the full resources goal runs.
+     */
+    public void refreshFilterInputs() {
+        filterProperties = null;
+        filterFileStamps.clear();
+        for (File filterFile : filterFiles) {
+            filterFileStamps.put(filterFile, getStamp(filterFile));
+        }
+    }
+
+    /**
+     * Check whether a filter file changed since the filter inputs were last recorded.
+     * The new state is recorded, so the change is reported only once.
+     *
+     * @return true if a filter file changed
+     */
+    public boolean filterInputsChanged() {
+        for (File filterFile : filterFiles) {
+            if (!getStamp(filterFile).equals(filterFileStamps.get(filterFile))) {
+                refreshFilterInputs();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFilterFile(File file) {
+        for (File filterFile : filterFiles) {
+            if (filterFile.getAbsoluteFile().equals(file.getAbsoluteFile())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasUnsupportedConfig() {
+        if (config == null) {
+            return false;
+        }
+        for (String name : UNSUPPORTED_CONFIG) {
+            Xpp3Dom child = config.getChild(name);
+            if (child != null && (child.getChildCount() > 0 || (child.getValue() != null && !"false".equals(child.getValue().trim())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String getRelativePath(Resource resource, File file) throws IOException {
+        if (resource.getDirectory() == null) {
+            return null;
+        }
+        String dir = resolveFile(resource.getDirectory()).getCanonicalPath();
+        String path = file.getPath();
+        if (path.startsWith(dir + File.separator)) {
+            return path.substring(dir.length() + 1);
+        }
+        return null;
+    }
+
+    private boolean isSelected(Resource resource, String relativePath) {
+        List<String> includes = resource.getIncludes();
+        boolean included = includes == null || includes.isEmpty();
+        if (!included) {
+            for (String include : includes) {
+                if (matches(include, relativePath)) {
+                    included = true;
+                    break;
+                }
+            }
+        }
+        if (!included) {
+            return false;
+        }
+        List<String> excludes = new ArrayList<String>();
+        if (resource.getExcludes() != null) {
+            excludes.addAll(resource.getExcludes());
+        }
+        if (getConfigBoolean("addDefaultExcludes", true)) {
+            excludes.addAll(Arrays.asList(DirectoryScanner.DEFAULTEXCLUDES));
+        }
+        for (String exclude : excludes) {
+            if (matches(exclude, relativePath)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String pattern, String relativePath) {
+        String normalized = pattern.trim().replace('/', File.separatorChar).replace('\\', File.separatorChar);
+        if (normalized.endsWith(File.separator)) {
+            normalized += "**";
+        }
+        return SelectorUtils.matchPath(normalized, relativePath, true);
+    }
+
+    private boolean isNonFilteredExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return false;
+        }
+        String extension = fileName.substring(dot + 1).toLowerCase(Locale.ENGLISH);
+        Set<String> nonFiltered = new HashSet<String>(DEFAULT_NON_FILTERED_EXTENSIONS);
+        Xpp3Dom extensions = config == null ? null : config.getChild("nonFilteredFileExtensions");
+        if (extensions != null) {
+            for (Xpp3Dom ext : extensions.getChildren()) {
+                if (ext.getValue() != null) {
+                    nonFiltered.add(ext.getValue().trim().toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return nonFiltered.contains(extension);
+    }
+
+    /**
+     * @return the encoding of the file, or null if the configured encoding is not supported
+     */
+    private Charset getEncoding(String fileName) {
+        String encoding = null;
+        if (fileName.endsWith(".properties")) {
+            encoding = getConfigValue("propertiesEncoding");
+        }
+        if (encoding == null) {
+            encoding = getConfigValue("encoding");
+        }
+        if (encoding == null) {
+            // the name used by the maven-war-plugin
+            encoding = getConfigValue("resourceEncoding");
+        }
+        if (encoding == null) {
+            encoding = project.getProperties().getProperty("project.build.sourceEncoding");
+        }
+        if (encoding == null) {
+            return Charset.defaultCharset();
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            // let the resources goal report the invalid encoding
+            log.debug("Unsupported resource encoding " + encoding);
+            return null;
+        }
+    }
+
+    /**
+     * Interpolates the expressions in the content using the configured delimiters.
+     *
+     * @return the filtered content, or null if an expression could not be resolved
+     */
+    private String filter(String content) throws IOException {
+        String escapeString = getConfigValue("escapeString");
+        String result = content;
+        for (String delimiter : getDelimiters()) {
+            String begin;
+            String end;
+            int star = delimiter.indexOf('*');
+            if (star < 0) {
+                begin = delimiter;
+                end = delimiter;
+            } else {
+                begin = delimiter.substring(0, star);
+                end = delimiter.substring(star + 1);
+            }
+            result = interpolate(result, begin, end, escapeString, 0);
+            if (result == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private String interpolate(String content, String begin, String end, String escapeString, int depth) throws IOException {
+        if (depth > MAX_INTERPOLATION_DEPTH) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(content.length());
+        int index = 0;
+        while (true) {
+            int start = content.indexOf(begin, index);
+            if (start < 0) {
+                break;
+            }
+            int stop = content.indexOf(end, start + begin.length());
+            int lineEnd = content.indexOf('\n', start);
+            if (stop < 0 || (lineEnd >= 0 && lineEnd < stop)) {
+                // expressions do not span lines
+                sb.append(content, index, start + begin.length());
+                index = start + begin.length();
+                continue;
+            }
+            String expression = content.substring(start + begin.length(), stop);
+            if (escapeString != null && !escapeString.isEmpty() && start >= escapeString.length()
+                    && content.startsWith(escapeString, start - escapeString.length())) {
+                sb.append(content, index, start - escapeString.length());
+                sb.append(content, start, stop + end.length());
+                index = stop + end.length();
+                continue;
+            }
+            if (expression.trim().isEmpty() || expression.contains(begin) || expression.trim().matches(".*\\s.*")) {
+                // not an expression, for example text between two @ characters
+                sb.append(content, index, start + begin.length());
+                index = start + begin.length();
+                continue;
+            }
+            String value = resolve(expression.trim());
+            if (value == null) {
+                return null;
+            }
+            if (value.contains(begin)) {
+                value = interpolate(value, begin, end, escapeString, depth + 1);
+                if (value == null) {
+                    return null;
+                }
+            }
+            if (getConfigBoolean("escapeWindowsPaths", true)) {
+                value = escapeWindowsPath(value);
+            }
+            sb.append(content, index, start);
+            sb.append(value);
+            index = stop + end.length();
+        }
+        sb.append(content, index, content.length());
+        return sb.toString();
+    }
+
+    /**
+     * Resolve an expression in the order of maven-filtering: user properties, system
+     * properties, project properties, filter files, then the project model.
+     */
+    private String resolve(String expression) throws IOException {
+        if (userProperties.containsKey(expression)) {
+            return userProperties.getProperty(expression);
+        }
+        if (System.getProperties().containsKey(expression)) {
+            return System.getProperty(expression);
+        }
+        if (project.getProperties().containsKey(expression)) {
+            return project.getProperties().getProperty(expression);
+        }
+        Properties filters = getFilterProperties();
+        if (filters.containsKey(expression)) {
+            return filters.getProperty(expression);
+        }
+        if (expression.startsWith("project.") || expression.startsWith("pom.")) {
+            Object value = getModelValue(expression.substring(expression.indexOf('.') + 1));
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        if (expression.startsWith("env.")) {
+            return System.getenv(expression.substring(4));
+        }
+        return null;
+    }
+
+    private Properties getFilterProperties() throws IOException {
+        if (filterProperties == null) {
+            Properties props = new Properties();
+            for (File filterFile : filterFiles) {
+                if (filterFile.isFile()) {
+                    try (InputStream in = new FileInputStream(filterFile)) {
+                        props.load(in);
+                    }
+                }
+            }
+            filterProperties = props;
+        }
+        return filterProperties;
+    }
+
+    /**
+     * Evaluate a simple property path such as build.finalName against the project
+     * using its getters.
+     */
+    private Object getModelValue(String path) {
+        Object current = project;
+        for (String segment : path.split("\\.")) {
+            if (current == null || segment.isEmpty()) {
+                return null;
+            }
+            String getter = Character.toUpperCase(segment.charAt(0)) + segment.substring(1);
+            Method method = null;
+            for (String prefix : new String[] { "get", "is" }) {
+                try {
+                    method = current.getClass().getMethod(prefix + getter);
+                    break;
+                } catch (NoSuchMethodException e) {
+                    // try the next prefix
+                }
+            }
+            if (method == null) {
+                return null;
+            }
+            try {
+                current = method.invoke(current);
+            } catch (ReflectiveOperationException e) {
+                log.debug("Could not evaluate project expression " + path, e);
+                return null;
+            }
+        }
+        if (current instanceof String || current instanceof Number || current instanceof Boolean || current instanceof File) {
+            return current;
+        }
+        return null;
+    }
+
+    private List<String> getDelimiters() {
+        List<String> delimiters = new ArrayList<String>();
+        Xpp3Dom configured = config == null ? null : config.getChild("delimiters");
+        if (configured != null) {
+            for (Xpp3Dom delimiter : configured.getChildren()) {
+                if (delimiter.getValue() != null && !delimiter.getValue().trim().isEmpty()) {
+                    delimiters.add(delimiter.getValue().trim());
+                }
+            }
+        }
+        if (getConfigBoolean("useDefaultDelimiters", true)) {
+            delimiters.addAll(Arrays.asList(DEFAULT_DELIMITERS));
+        }
+        return delimiters;
+    }
+
+    private static String escapeWindowsPath(String value) {
+        if (value.isEmpty() || !WINDOWS_PATH_PATTERN.matcher(value).matches()) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        int start = 0;
+        int end;
+        while ((end = value.indexOf('\\', start)) != -1) {
+            sb.append(value, start, end).append("\\\\");
+            end++;
+            if (end < value.length() && value.charAt(end) == '\\') {
+                end++;
+            }
+            start = end;
+        }
+        sb.append(value, start, value.length());
+        return sb.toString();
+    }
+
+    private String getConfigValue(String name) {
+        Xpp3Dom child = config == null ? null : config.getChild(name);
+        if (child == null || child.getValue() == null || child.getValue().trim().isEmpty()) {
+            return null;
+        }
+        return child.getValue().trim();
+    }
+
+    private boolean getConfigBoolean(String name, boolean defaultValue) {
+        String value = getConfigValue(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    private File resolveFile(String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(project.getBasedir(), path);
+    }
+
+    private static String getStamp(File file) {
+        return file.exists() ? file.lastModified() + ":" + file.length() : "missing";
+    }
+}
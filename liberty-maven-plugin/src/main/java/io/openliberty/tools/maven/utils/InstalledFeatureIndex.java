@@ -0,0 +1,144 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+/**
+ * The features installed in a Liberty runtime, read from the feature manifests in
+ * {@code lib/features} and {@code usr/extension/lib/features}.
+ * <p>
+ * Dev mode uses the index to tell which of the features added to the server
+ * configuration are missing from the runtime, so that it only runs feature resolution
+ * when there is something to install, and install-feature uses it to prefetch only the
+ * ESA files of missing features. The manifests are read again only when one of
+ * the feature directories changes.
+ */
+public class InstalledFeatureIndex {
+
+    private static final String SHORT_NAME = "IBM-ShortName";
+    private static final String SYMBOLIC_NAME = "Subsystem-SymbolicName";
+    private static final String USER_PREFIX = "usr:";
+
+    private final File productFeatureDirectory;
+    private final File userFeatureDirectory;
+
+    private Set<String> productFeatures = new HashSet<String>();
+    private Set<String> userFeatures = new HashSet<String>();
+    private String productStamp;
+    private String userStamp;
+
+    /**
+     * @param installDirectory the Liberty installation directory
+     * @param userDirectory    the Liberty user directory
+     */
+    public InstalledFeatureIndex(File installDirectory, File userDirectory) {
+        this.productFeatureDirectory = new File(installDirectory, "lib/features");
+        this.userFeatureDirectory = new File(userDirectory, "extension/lib/features");
+    }
+
+    /**
+     * Get the features that are not installed in the runtime. A versionless feature or a
+     * feature from a product extension is reported as missing, since its installed
+     * version cannot be told from the manifests alone.
+     *
+     * @param features the feature names from the server configuration
+     * @return the features that are not installed, in the order they were given
+     */
+    public synchronized Set<String> getMissingFeatures(Collection<String> features) {
+        refresh();
+        Set<String> missing = new LinkedHashSet<String>();
+        for (String feature : features) {
+            if (!isInstalled(feature)) {
+                missing.add(feature);
+            }
+        }
+        return missing;
+    }
+
+    private boolean isInstalled(String feature) {
+        String name = feature.trim().toLowerCase(Locale.ENGLISH);
+        if (name.startsWith(USER_PREFIX)) {
+            return userFeatures.contains(name.substring(USER_PREFIX.length()));
+        }
+        // a short name without a version is versionless, a symbolic name is looked up as it is
+        if (name.indexOf(':') >= 0 || (name.indexOf('.') < 0 && name.lastIndexOf('-') < 0)) {
+            return false;
+        }
+        return productFeatures.contains(name);
+    }
+
+    private void refresh() {
+        String stamp = getStamp(productFeatureDirectory);
+        if (!stamp.equals(productStamp)) {
+            productFeatures = readFeatures(productFeatureDirectory);
+            productStamp = stamp;
+        }
+        stamp = getStamp(userFeatureDirectory);
+        if (!stamp.equals(userStamp)) {
+            userFeatures = readFeatures(userFeatureDirectory);
+            userStamp = stamp;
+        }
+    }
+
+    // installing a feature adds a manifest, which changes the directory time stamp and the file count
+    private static String getStamp(File directory) {
+        String[] names = directory.list();
+        return directory.lastModified() + ":" + (names == null ? -1 : names.length);
+    }
+
+    private static Set<String> readFeatures(File directory) {
+        Set<String> result = new HashSet<String>();
+        File[] manifests = directory.listFiles();
+        if (manifests == null) {
+            return result;
+        }
+        for (File file : manifests) {
+            if (!file.isFile() || !file.getName().endsWith(".mf")) {
+                continue;
+            }
+            Attributes attributes;
+            try (InputStream in = new FileInputStream(file)) {
+                attributes = new Manifest(in).getMainAttributes();
+            } catch (IOException e) {
+                continue;
+            }
+            String shortName = attributes.getValue(SHORT_NAME);
+            if (shortName != null) {
+                result.add(shortName.trim().toLowerCase(Locale.ENGLISH));
+            }
+            String symbolicName = attributes.getValue(SYMBOLIC_NAME);
+            if (symbolicName != null) {
+                int directives = symbolicName.indexOf(';');
+                if (directives >= 0) {
+                    symbolicName = symbolicName.substring(0, directives);
+                }
+                result.add(symbolicName.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return result;
+    }
+}
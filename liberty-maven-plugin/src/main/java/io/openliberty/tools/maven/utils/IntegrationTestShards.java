@@ -0,0 +1,534 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.maven.plugin.logging.Log;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Copies of the dev mode server that integration tests run against in parallel, so that
+ * the dev mode server itself is left alone.
+ * <p>
+ * Each shard is a server next to the dev mode server with the same configuration and
+ * applications, and the ports of every HTTP, IIOP and JMS endpoint in the server configuration
+ * offset from the ports of the dev mode server. The integration test classes are split between
+ * the shards by their duration in the last run.
+ */
+public class IntegrationTestShards {
+
+    public static final String CONFIG_OVERRIDE_FILE = "configDropins/overrides/liberty-plugin-it-shard-config.xml";
+
+    /** Server files and directories that are not copied to the shards. */
+    private static final Set<String> EXCLUDED_PATHS = new LinkedHashSet<String>(Arrays.asList("logs", "workarea",
+            HotSwapSupport.CONFIG_OVERRIDE_FILE, CONFIG_OVERRIDE_FILE));
+
+    private static final Pattern SUITE_TIME = Pattern.compile("<testsuite\\b[^>]*\\btime\\s*=\\s*\"([0-9.,]+)\"");
+    private static final String DEFAULT_HTTP_ENDPOINT = "defaultHttpEndpoint";
+    private static final String HTTP_ENDPOINT = "httpEndpoint";
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    /** The port attributes of the endpoint elements and their default values. */
+    private static final Map<String, Map<String, String>> ENDPOINT_PORTS = new LinkedHashMap<String, Map<String, String>>();
+
+    static {
+        Map<String, String> http = new LinkedHashMap<String, String>();
+        http.put("httpPort", "9080");
+        http.put("httpsPort", "9443");
+        ENDPOINT_PORTS.put(HTTP_ENDPOINT, http);
+        ENDPOINT_PORTS.put("iiopEndpoint", Collections.singletonMap("iiopPort", "2809"));
+        Map<String, String> jms = new LinkedHashMap<String, String>();
+        jms.put("wasJmsPort", "7276");
+        jms.put("wasJmsSSLPort", "7286");
+        ENDPOINT_PORTS.put("wasJmsEndpoint", jms);
+    }
+
+    /**
+     * An endpoint in the server configuration and the ports of the dev mode server that the
+     * ports of the shards are offset from.
+     */
+    private static class Endpoint {
+        final String element;
+        final String id;
+        final Map<String, String> attributes = new HashMap<String, String>();
+        final Map<String, Integer> ports = new LinkedHashMap<String, Integer>();
+
+        Endpoint(String element, String id) {
+            this.element = element;
+            this.id = id;
+        }
+    }
+
+    /**
+     * One copy of the server and the test classes that run against it.
+     */
+    public static class Shard {
+        private final int index;
+        private final String serverName;
+        private final File serverDirectory;
+        private final List<String> testClasses = new ArrayList<String>();
+        private int httpPort;
+        private int httpsPort;
+        private long estimatedMillis;
+
+        Shard(int index, String serverName, File serverDirectory) {
+            this.index = index;
+            this.serverName = serverName;
+            this.serverDirectory = serverDirectory;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getServerName() {
+            return serverName;
+        }
+
+        public File getServerDirectory() {
+            return serverDirectory;
+        }
+
+        public int getHttpPort() {
+            return httpPort;
+        }
+
+        public int getHttpsPort() {
+            return httpsPort;
+        }
+
+        /**
+         * @return the fully qualified names of the test classes assigned to this shard
+         */
+        public List<String> getTestClasses() {
+            return testClasses;
+        }
+
+        /**
+         * @param reportsDirectory the failsafe reports directory of the project
+         * @return the reports directory of this shard
+         */
+        public File getReportsDirectory(File reportsDirectory) {
+            return new File(reportsDirectory, "shard-" + index);
+        }
+    }
+
+    private final File serverDirectory;
+    private final int portOffset;
+    private final Log log;
+    private final List<Shard> shards = new ArrayList<Shard>();
+    private String unsupportedReason;
+
+    /**
+     * @param serverDirectory the directory of the dev mode server
+     * @param count           the number of shards
+     * @param portOffset      the difference between the ports of consecutive shards
+     * @param log             the log
+     */
+    public IntegrationTestShards(File serverDirectory, int count, int portOffset, Log log) {
+        this.serverDirectory = serverDirectory;
+        this.portOffset = portOffset;
+        this.log = log;
+        String serverName = serverDirectory.getName();
+        for (int i = 1; i <= count; i++) {
+            String shardName = serverName + "-it" + i;
+            shards.add(new Shard(i, shardName, new File(serverDirectory.getParentFile(), shardName)));
+        }
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Copy the configuration and applications of the dev mode server to the shards, removing
+     * files that were removed from the dev mode server, and configure the ports of each shard.
+     * Logs and the work area of the shards are kept.
+     * <p>
+     * Nothing is copied if the ports of an endpoint in the server configuration cannot be
+     * offset, since the shards would then use the same ports as the dev mode server. The
+     * reason is logged as a warning.
+     *
+     * @param httpPort  the HTTP port of the dev mode server
+     * @param httpsPort the HTTPS port of the dev mode server
+     * @return true if the servers were copied, false if the server cannot be copied
+     * @throws IOException if a file cannot be copied
+     */
+    public boolean syncServers(int httpPort, int httpsPort) throws IOException {
+        List<Endpoint> endpoints = new ArrayList<Endpoint>();
+        String reason = getEndpoints(httpPort, httpsPort, endpoints);
+        if (reason != null) {
+            if (!reason.equals(unsupportedReason)) {
+                log.warn("Running the integration tests against the dev mode server instead of copies of it, since " + reason + ".");
+            }
+            unsupportedReason = reason;
+            return false;
+        }
+        unsupportedReason = null;
+        for (Shard shard : shards) {
+            shard.httpPort = httpPort + portOffset * shard.index;
+            shard.httpsPort = httpsPort + portOffset * shard.index;
+            sync(serverDirectory.toPath(), shard.serverDirectory.toPath());
+            writeConfigOverride(shard, endpoints);
+        }
+        return true;
+    }
+
+    private void sync(final Path source, final Path target) throws IOException {
+        final Set<Path> copied = new LinkedHashSet<Path>();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (isExcluded(source.relativize(dir))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relative = source.relativize(file);
+                if (!isExcluded(relative)) {
+                    Path copy = target.resolve(relative.toString());
+                    copied.add(copy);
+                    if (!Files.isRegularFile(copy) || Files.size(copy) != attrs.size()
+                            || !Files.getLastModifiedTime(copy).equals(attrs.lastModifiedTime())) {
+                        Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        // remove what was removed from the dev mode server
+        Files.walkFileTree(target, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return isExcluded(target.relativize(dir)) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!isExcluded(target.relativize(file)) && !copied.contains(file)) {
+                    log.debug("Removing " + file + " from the integration test server");
+                    Files.delete(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isExcluded(Path relativePath) {
+        return EXCLUDED_PATHS.contains(relativePath.toString().replace(File.separatorChar, '/'));
+    }
+
+    /**
+     * Find the endpoints in the server configuration and the ports to offset for each of them.
+     * The main HTTP endpoint, which is defaultHttpEndpoint or the only HTTP endpoint, uses the ports
+     * of the running dev mode server. The ports of the other endpoints are read from the configuration,
+     * resolving variables from the configuration and bootstrap.properties.
+     *
+     * @param httpPort  the HTTP port of the dev mode server
+     * @param httpsPort the HTTPS port of the dev mode server
+     * @param endpoints the list that the endpoints are added to
+     * @return the reason why the ports cannot be offset, or null if they can
+     */
+    private String getEndpoints(int httpPort, int httpsPort, List<Endpoint> endpoints) throws IOException {
+        Map<String, Endpoint> found = new LinkedHashMap<String, Endpoint>();
+        Properties variables = new Properties();
+        Properties defaultVariables = new Properties();
+        File bootstrapProperties = new File(serverDirectory, "bootstrap.properties");
+        if (bootstrapProperties.isFile()) {
+            try (InputStream in = new FileInputStream(bootstrapProperties)) {
+                variables.load(in);
+            }
+        }
+        for (File file : getConfigFiles()) {
+            Element server;
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                server = factory.newDocumentBuilder().parse(file).getDocumentElement();
+            } catch (ParserConfigurationException | SAXException e) {
+                return "the ports in " + file + " cannot be read: " + e.getMessage();
+            }
+            for (Node node = server.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (!(node instanceof Element)) {
+                    continue;
+                }
+                Element element = (Element) node;
+                String name = element.getTagName();
+                if (name.equals("variable") && element.hasAttribute("name")) {
+                    if (element.hasAttribute("value")) {
+                        variables.setProperty(element.getAttribute("name"), element.getAttribute("value"));
+                    } else if (element.hasAttribute("defaultValue")) {
+                        defaultVariables.setProperty(element.getAttribute("name"), element.getAttribute("defaultValue"));
+                    }
+                } else if (ENDPOINT_PORTS.containsKey(name)) {
+                    String id = element.getAttribute("id");
+                    if (id.isEmpty()) {
+                        return "the " + name + " element in " + file + " has no id";
+                    }
+                    if (element.getElementsByTagName("iiopsOptions").getLength() > 0) {
+                        return "the IIOPS port of the iiopEndpoint " + id + " cannot be offset";
+                    }
+                    Endpoint endpoint = found.get(name + " " + id);
+                    if (endpoint == null) {
+                        endpoint = new Endpoint(name, id);
+                        found.put(name + " " + id, endpoint);
+                    }
+                    for (String attribute : ENDPOINT_PORTS.get(name).keySet()) {
+                        if (element.hasAttribute(attribute)) {
+                            endpoint.attributes.put(attribute, element.getAttribute(attribute));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Endpoint> httpEndpoints = new ArrayList<Endpoint>();
+        for (Endpoint endpoint : found.values()) {
+            if (endpoint.element.equals(HTTP_ENDPOINT)) {
+                httpEndpoints.add(endpoint);
+            }
+        }
+        Endpoint main = found.get(HTTP_ENDPOINT + " " + DEFAULT_HTTP_ENDPOINT);
+        if (main == null && httpEndpoints.size() == 1) {
+            main = httpEndpoints.get(0);
+        } else if (main == null) {
+            main = new Endpoint(HTTP_ENDPOINT, DEFAULT_HTTP_ENDPOINT);
+            endpoints.add(main);
+        }
+        main.ports.put("httpPort", httpPort);
+        if (!"-1".equals(main.attributes.get("httpsPort"))) {
+            main.ports.put("httpsPort", httpsPort);
+        }
+        for (Endpoint endpoint : found.values()) {
+            endpoints.add(endpoint);
+            if (endpoint == main) {
+                continue;
+            }
+            for (Map.Entry<String, String> attribute : ENDPOINT_PORTS.get(endpoint.element).entrySet()) {
+                String value = endpoint.attributes.get(attribute.getKey());
+                value = resolve(value == null ? attribute.getValue() : value, variables, defaultVariables);
+                try {
+                    int port = Integer.parseInt(value.trim());
+                    // a negative port disables the port
+                    if (port >= 0) {
+                        endpoint.ports.put(attribute.getKey(), port);
+                    }
+                } catch (NumberFormatException e) {
+                    return "the " + attribute.getKey() + " of the " + endpoint.element + " " + endpoint.id + " is not known: " + value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the server configuration files, in the order in which their values take precedence
+     */
+    private List<File> getConfigFiles() {
+        List<File> configFiles = new ArrayList<File>();
+        addConfigFiles(new File(serverDirectory, "configDropins/defaults"), configFiles);
+        configFiles.add(new File(serverDirectory, "server.xml"));
+        addConfigFiles(new File(serverDirectory, "configDropins/overrides"), configFiles);
+        List<File> result = new ArrayList<File>();
+        for (File file : configFiles) {
+            if (file.isFile() && file.getName().endsWith(".xml")) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private static void addConfigFiles(File dir, List<File> configFiles) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            Arrays.sort(files);
+            configFiles.addAll(Arrays.asList(files));
+        }
+    }
+
+    private static String resolve(String value, Properties variables, Properties defaultVariables) {
+        Matcher matcher = VARIABLE.matcher(value);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String resolved = variables.getProperty(name, defaultVariables.getProperty(name));
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(resolved == null ? matcher.group() : resolved));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private void writeConfigOverride(Shard shard, List<Endpoint> endpoints) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<server description=\"Generated by the Liberty Maven Plugin for integration test shard ").append(shard.index)
+                .append(" in dev mode\">\n");
+        for (Endpoint endpoint : endpoints) {
+            sb.append("    <").append(endpoint.element).append(" id=\"").append(endpoint.id).append('"');
+            for (Map.Entry<String, Integer> port : endpoint.ports.entrySet()) {
+                sb.append(' ').append(port.getKey()).append("=\"").append(port.getValue() + portOffset * shard.index).append('"');
+            }
+            sb.append("/>\n");
+        }
+        sb.append("</server>\n");
+        File file = new File(shard.serverDirectory, CONFIG_OVERRIDE_FILE);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Find the test classes in a test output directory.
+     *
+     * @param testClassesDirectory the test output directory
+     * @param includes             include patterns for test sources, for example **&#47;*IT.java
+     * @param excludes             exclude patterns for test sources
+     * @return the fully qualified names of the test classes
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<String> findTestClasses(File testClassesDirectory, final List<String> includes, final List<String> excludes)
+            throws IOException {
+        final List<String> classes = new ArrayList<String>();
+        if (!testClassesDirectory.isDirectory()) {
+            return classes;
+        }
+        final Path root = testClassesDirectory.toPath();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (name.endsWith(".class") && name.indexOf('$') < 0) {
+                    String className = name.substring(0, name.length() - ".class".length());
+                    if (TestImpactSelector.isIncluded(className, includes, excludes)) {
+                        classes.add(className.replace('/', '.'));
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(classes);
+        return classes;
+    }
+
+    /**
+     * Split the test classes between the shards so that the shards take about the same time,
+     * using the duration of each class in the last run, longest first. Classes without a
+     * report from the last run count as taking as long as the average class.
+     *
+     * @param testClasses      the fully qualified names of the test classes
+     * @param reportsDirectory the failsafe reports directory of the project
+     */
+    public void assignTests(Collection<String> testClasses, File reportsDirectory) {
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        long total = 0;
+        for (String testClass : testClasses) {
+            long duration = getLastDuration(testClass, reportsDirectory);
+            if (duration >= 0) {
+                durations.put(testClass, duration);
+                total += duration;
+            }
+        }
+        long average = durations.isEmpty() ? 1 : Math.max(total / durations.size(), 1);
+        List<String> ordered = new ArrayList<String>(testClasses);
+        for (String testClass : ordered) {
+            if (!durations.containsKey(testClass)) {
+                durations.put(testClass, average);
+            }
+        }
+        Collections.sort(ordered, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                int byDuration = Long.compare(durations.get(b), durations.get(a));
+                return byDuration != 0 ? byDuration : a.compareTo(b);
+            }
+        });
+        for (Shard shard : shards) {
+            shard.testClasses.clear();
+            shard.estimatedMillis = 0;
+        }
+        for (String testClass : ordered) {
+            Shard shortest = shards.get(0);
+            for (Shard shard : shards) {
+                if (shard.estimatedMillis < shortest.estimatedMillis) {
+                    shortest = shard;
+                }
+            }
+            shortest.testClasses.add(testClass);
+            shortest.estimatedMillis += durations.get(testClass);
+        }
+    }
+
+    /**
+     * @return the duration in milliseconds of the test class in the last run, or -1 if there is no report
+     */
+    private long getLastDuration(String testClass, File reportsDirectory) {
+        List<File> reports = new ArrayList<File>();
+        reports.add(new File(reportsDirectory, "TEST-" + testClass + ".xml"));
+        for (Shard shard : shards) {
+            reports.add(new File(shard.getReportsDirectory(reportsDirectory), "TEST-" + testClass + ".xml"));
+        }
+        File latest = null;
+        for (File report : reports) {
+            if (report.isFile() && (latest == null || report.lastModified() > latest.lastModified())) {
+                latest = report;
+            }
+        }
+        if (latest == null) {
+            return -1;
+        }
+        try {
+            Matcher matcher = SUITE_TIME.matcher(new String(Files.readAllBytes(latest.toPath()), StandardCharsets.UTF_8));
+            if (matcher.find()) {
+                return (long) (Double.parseDouble(matcher.group(1).replace(",", "")) * 1000);
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Could not read the duration of " + testClass + " from " + latest, e);
+        }
+        return -1;
+    }
+}
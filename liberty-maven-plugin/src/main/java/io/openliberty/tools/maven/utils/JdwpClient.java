@@ -0,0 +1,220 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal client for the Java Debug Wire Protocol, with just the commands
+ * needed to redefine classes in a running JVM.
+ */
+public class JdwpClient implements Closeable {
+
+    private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
+    private static final int REPLY_FLAG = 0x80;
+
+    // VirtualMachine command set
+    private static final int VIRTUAL_MACHINE = 1;
+    private static final int CLASSES_BY_SIGNATURE = 2;
+    private static final int DISPOSE = 6;
+    private static final int ID_SIZES = 7;
+    private static final int CAPABILITIES_NEW = 17;
+    private static final int REDEFINE_CLASSES = 18;
+
+    private static final int CAN_REDEFINE_CLASSES = 7;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int nextId = 1;
+    private int referenceTypeIdSize = 8;
+
+    private JdwpClient(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(socket.getInputStream());
+        this.out = new DataOutputStream(socket.getOutputStream());
+    }
+
+    /**
+     * Connect to a JVM that listens for debuggers on a socket.
+     *
+     * @param host          the host of the JVM
+     * @param port          the debug port
+     * @param timeoutMillis the connect and read timeout
+     * @return the connected client
+     * @throws IOException if the JVM cannot be reached or another debugger is attached
+     */
+    public static JdwpClient connect(String host, int port, int timeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.getOutputStream().write(HANDSHAKE);
+            byte[] reply = new byte[HANDSHAKE.length];
+            new DataInputStream(socket.getInputStream()).readFully(reply);
+            for (int i = 0; i < reply.length; i++) {
+                if (reply[i] != HANDSHAKE[i]) {
+                    throw new IOException("Unexpected JDWP handshake reply from " + host + ":" + port);
+                }
+            }
+            JdwpClient client = new JdwpClient(socket);
+            client.readIdSizes();
+            return client;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the JVM supports redefining classes
+     * @throws IOException if the command fails
+     */
+    public boolean canRedefineClasses() throws IOException {
+        DataInputStream reply = send(CAPABILITIES_NEW, new byte[0]);
+        boolean result = false;
+        for (int i = 0; i <= CAN_REDEFINE_CLASSES; i++) {
+            result = reply.readBoolean();
+        }
+        return result;
+    }
+
+    /**
+     * Find the loaded classes with the given name. A class can be loaded by several class loaders.
+     *
+     * @param name the internal name of the class, for example com/example/Foo$Bar
+     * @return the reference type IDs of the loaded classes, which is empty if the class is not loaded
+     * @throws IOException if the command fails
+     */
+    public List<Long> getClassesByName(String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        writeString(data, "L" + name + ";");
+        DataInputStream reply = send(CLASSES_BY_SIGNATURE, bytes.toByteArray());
+        int count = reply.readInt();
+        List<Long> ids = new ArrayList<Long>(count);
+        for (int i = 0; i < count; i++) {
+            reply.readByte(); // type tag
+            ids.add(readId(reply, referenceTypeIdSize));
+            reply.readInt(); // status
+        }
+        return ids;
+    }
+
+    /**
+     * Redefine loaded classes with new class file bytes.
+     *
+     * @param classes the new class file bytes by reference type ID
+     * @throws IOException if the command fails, for example because a class changed in a way
+     *                     that cannot be redefined
+     */
+    public void redefineClasses(Map<Long, byte[]> classes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(classes.size());
+        for (Map.Entry<Long, byte[]> entry : classes.entrySet()) {
+            writeId(data, entry.getKey(), referenceTypeIdSize);
+            data.writeInt(entry.getValue().length);
+            data.write(entry.getValue());
+        }
+        send(REDEFINE_CLASSES, bytes.toByteArray());
+    }
+
+    /**
+     * Detach from the JVM, which keeps running.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            send(DISPOSE, new byte[0]);
+        } catch (IOException e) {
+            // the connection is closed below anyway
+        } finally {
+            socket.close();
+        }
+    }
+
+    private void readIdSizes() throws IOException {
+        DataInputStream reply = send(ID_SIZES, new byte[0]);
+        reply.readInt(); // fieldID
+        reply.readInt(); // methodID
+        reply.readInt(); // objectID
+        referenceTypeIdSize = reply.readInt();
+    }
+
+    private DataInputStream send(int command, byte[] data) throws IOException {
+        int id = nextId++;
+        out.writeInt(11 + data.length);
+        out.writeInt(id);
+        out.writeByte(0);
+        out.writeByte(VIRTUAL_MACHINE);
+        out.writeByte(command);
+        out.write(data);
+        out.flush();
+        while (true) {
+            int length = in.readInt();
+            int replyId = in.readInt();
+            int flags = in.readUnsignedByte();
+            byte[] body;
+            if ((flags & REPLY_FLAG) != 0) {
+                int errorCode = in.readUnsignedShort();
+                body = new byte[length - 11];
+                in.readFully(body);
+                if (replyId != id) {
+                    continue;
+                }
+                if (errorCode != 0) {
+                    throw new IOException("JDWP command " + VIRTUAL_MACHINE + "." + command + " failed with error code " + errorCode);
+                }
+                return new DataInputStream(new ByteArrayInputStream(body));
+            }
+            // a command sent by the JVM, such as an event, which is not used
+            body = new byte[length - 9];
+            in.readFully(body);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static long readId(DataInputStream data, int size) throws IOException {
+        long id = 0;
+        for (int i = 0; i < size; i++) {
+            id = (id << 8) | data.readUnsignedByte();
+        }
+        return id;
+    }
+
+    private static void writeId(DataOutputStream data, long id, int size) throws IOException {
+        for (int i = size - 1; i >= 0; i--) {
+            data.writeByte((int) (id >>> (8 * i)));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDK Flight Recorder events for the major operations of the plugin, so that a
+ * build run with {@code MAVEN_OPTS=-XX:StartFlightRecording} shows how long each
+ * operation took, including the time spent waiting on the server process.
+ * <p>
+ * The event types are defined at runtime through {@code jdk.jfr.EventFactory},
+ * because the plugin must still run on Java 8. Where Flight Recorder is not
+ * available, the events are not recorded.
+ */
+public final class JfrEvents {
+
+    private static final String EVENT_NAME_PREFIX = "io.openliberty.tools.maven.";
+    private static final String CATEGORY = "Liberty Maven Plugin";
+    private static final String[] FIELDS = { "project", "server", "artifact" };
+    private static final String[] FIELD_LABELS = { "Project", "Server", "Artifact" };
+
+    public enum Type {
+        INSTALL_SERVER("InstallServer", "Install Server"),
+        COPY_CONFIG_FILES("CopyConfigFiles", "Copy Config Files"),
+        INSTALL_APPLICATION("InstallApplication", "Install Application"),
+        INSTALL_LOOSE_APPLICATION("InstallLooseApplication", "Install Loose Application"),
+        INSTALL_FEATURES("InstallFeatures", "Install Features"),
+        GENERATE_FEATURES("GenerateFeatures", "Generate Features"),
+        PACKAGE_SERVER("PackageServer", "Package Server"),
+        START_SERVER("StartServer", "Start Server"),
+        STOP_SERVER("StopServer", "Stop Server"),
+        RUN_SERVER("RunServer", "Run Server");
+
+        private final String name;
+        private final String label;
+
+        Type(String name, String label) {
+            this.name = name;
+            this.label = label;
+        }
+    }
+
+    /**
+     * An operation in progress. Closing it records the event.
+     */
+    public static final class Operation implements AutoCloseable {
+
+        private static final Operation NONE = new Operation(null);
+
+        private final Object event;
+
+        private Operation(Object event) {
+            this.event = event;
+        }
+
+        @Override
+        public void close() {
+            if (event == null) {
+                return;
+            }
+            try {
+                eventEnd.invoke(event);
+                if ((Boolean) eventShouldCommit.invoke(event)) {
+                    eventCommit.invoke(event);
+                }
+            } catch (Exception e) {
+                // recording is best effort and must not fail the build
+            }
+        }
+    }
+
+    private static final Map<Type, Object> factories = new EnumMap<Type, Object>(Type.class);
+    private static boolean available;
+    private static Method factoryCreate;
+    private static Method factoryNewEvent;
+    private static Method eventBegin;
+    private static Method eventSet;
+    private static Method eventEnd;
+    private static Method eventShouldCommit;
+    private static Method eventCommit;
+    private static Constructor<?> annotationElement;
+    private static Constructor<?> valueDescriptor;
+    private static Class<?> nameAnnotation;
+    private static Class<?> labelAnnotation;
+    private static Class<?> categoryAnnotation;
+
+    static {
+        try {
+            Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+            Class<?> event = Class.forName("jdk.jfr.Event");
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            factoryCreate = eventFactory.getMethod("create", List.class, List.class);
+            factoryNewEvent = eventFactory.getMethod("newEvent");
+            eventBegin = event.getMethod("begin");
+            eventSet = event.getMethod("set", int.class, Object.class);
+            eventEnd = event.getMethod("end");
+            eventShouldCommit = event.getMethod("shouldCommit");
+            eventCommit = event.getMethod("commit");
+            annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+            nameAnnotation = Class.forName("jdk.jfr.Name");
+            labelAnnotation = Class.forName("jdk.jfr.Label");
+            categoryAnnotation = Class.forName("jdk.jfr.Category");
+            available = true;
+        } catch (Exception e) {
+            // Java 8, or a runtime without the jdk.jfr module
+            available = false;
+        }
+    }
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Start timing an operation. Use it in a try-with-resources statement so that the
+     * event is recorded when the operation ends, whether or not it succeeded.
+     *
+     * @param type     the operation
+     * @param project  the ID of the Maven project, or null
+     * @param server   the name of the Liberty server, or null
+     * @param artifact the artifact the operation works on, or null
+     * @return the operation in progress
+     */
+    public static Operation begin(Type type, String project, String server, String artifact) {
+        if (!available) {
+            return Operation.NONE;
+        }
+        try {
+            Object event = factoryNewEvent.invoke(getFactory(type));
+            eventSet.invoke(event, 0, project);
+            eventSet.invoke(event, 1, server);
+            eventSet.invoke(event, 2, artifact);
+            eventBegin.invoke(event);
+            return new Operation(event);
+        } catch (Exception e) {
+            return Operation.NONE;
+        }
+    }
+
+    private static synchronized Object getFactory(Type type) throws Exception {
+        // the factory is kept for the life of the JVM, since the event type is unregistered when it is garbage collected
+        Object factory = factories.get(type);
+        if (factory == null) {
+            List<Object> annotations = new ArrayList<Object>();
+            annotations.add(annotationElement.newInstance(nameAnnotation, EVENT_NAME_PREFIX + type.name));
+            annotations.add(annotationElement.newInstance(labelAnnotation, type.label));
+            annotations.add(annotationElement.newInstance(categoryAnnotation, new String[] { CATEGORY }));
+            List<Object> fields = new ArrayList<Object>();
+            for (int i = 0; i < FIELDS.length; i++) {
+                List<Object> fieldAnnotations = Collections.singletonList(annotationElement.newInstance(labelAnnotation, FIELD_LABELS[i]));
+                fields.add(valueDescriptor.newInstance(String.class, FIELDS[i], fieldAnnotations));
+            }
+            factory = factoryCreate.invoke(null, annotations, fields);
+            factories.put(type, factory);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Cache of Maven projects built from pom files with their dependencies resolved.
+ * <p>
+ * A cached project is reused as long as its pom, its parent poms, the poms of the reactor
+ * modules it depends on, the active profiles and the user properties are unchanged. When they changed, the model is rebuilt
+ * without resolving dependencies first, and the resolved artifacts of the cached
+ * project are reused if the declared and managed dependencies, the repositories and
+ * the poms of the reactor modules it depends on are unchanged. Only then is the
+ * dependency graph resolved again. A changed SNAPSHOT artifact, for example one that
+ * was installed again from another build, also resolves the dependencies again. SNAPSHOT
+ * artifacts of reactor modules are only checked through their poms, since they are
+ * rebuilt by every compile of the module.
+ * <p>
+ * The cache is shared by the goals that run in the same Maven session. Callers get a
+ * copy of the cached project, so they can modify it without affecting other callers.
+ */
+public class ProjectModelCache {
+
+    private final Map<File, Entry> entries = new HashMap<File, Entry>();
+
+    private static class Entry {
+        final MavenProject project;
+        final String inputs;
+        final String dependencies;
+
+        Entry(MavenProject project, String inputs, String dependencies) {
+            this.project = project;
+            this.inputs = inputs;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * Get the cache of a Maven session, which is kept in the data of its repository session.
+     *
+     * @param session the Maven session
+     * @return the cache
+     */
+    public static ProjectModelCache getInstance(MavenSession session) {
+        SessionData data = session.getRepositorySession().getData();
+        ProjectModelCache cache = (ProjectModelCache) data.get(ProjectModelCache.class);
+        if (cache == null) {
+            data.set(ProjectModelCache.class, null, new ProjectModelCache());
+            cache = (ProjectModelCache) data.get(ProjectModelCache.class);
+        }
+        return cache;
+    }
+
+    /**
+     * Get the project for a pom file with its dependencies resolved.
+     *
+     * @param builder         the project builder
+     * @param buildFile       the pom file
+     * @param request         the project building request of the session, which is not modified
+     * @param reactorProjects the projects in the reactor, used to detect changes in the reactor
+     *                        modules the project depends on
+     * @param log             the log
+     * @return a copy of the project
+     * @throws ProjectBuildingException if the project cannot be built
+     */
+    public synchronized MavenProject build(ProjectBuilder builder, File buildFile, ProjectBuildingRequest request,
+            Collection<MavenProject> reactorProjects, Log log) throws ProjectBuildingException {
+        File key = getCanonicalFile(buildFile);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.inputs.equals(getInputs(entry.project, request, reactorProjects))) {
+            log.debug("Reusing the cached project for " + buildFile);
+            return entry.project.clone();
+        }
+
+        MavenProject project = null;
+        if (entry != null) {
+            ProjectBuildingRequest modelRequest = new DefaultProjectBuildingRequest(request).setResolveDependencies(false);
+            MavenProject model = builder.build(buildFile, modelRequest).getProject();
+            if (entry.dependencies.equals(getDependencies(model, entry.project.getArtifacts(), reactorProjects))) {
+                log.debug("Dependencies of " + buildFile + " are unchanged, reusing the resolved artifacts");
+                model.setArtifacts(entry.project.getArtifacts());
+                model.setDependencyArtifacts(entry.project.getDependencyArtifacts());
+                project = model;
+            }
+        }
+        if (project == null) {
+            log.debug("Resolving the dependencies of " + buildFile);
+            ProjectBuildingRequest resolveRequest = new DefaultProjectBuildingRequest(request).setResolveDependencies(true);
+            project = builder.build(buildFile, resolveRequest).getProject();
+        }
+        entries.put(key, new Entry(project, getInputs(project, request, reactorProjects),
+                getDependencies(project, project.getArtifacts(), reactorProjects)));
+        return project.clone();
+    }
+
+    /**
+     * Remove all cached projects.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static String getInputs(MavenProject project, ProjectBuildingRequest request, Collection<MavenProject> reactorProjects) {
+        DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint();
+        try {
+            addPomChain(project, fingerprint);
+        } catch (IOException e) {
+            // a pom that cannot be read never matches
+            fingerprint.add(e.toString()).add(Long.toString(System.nanoTime()));
+        }
+        fingerprint.add(String.valueOf(request.getActiveProfileIds()));
+        fingerprint.add(String.valueOf(request.getInactiveProfileIds()));
+        fingerprint.add(String.valueOf(new TreeMap<Object, Object>(request.getUserProperties())));
+        addReactorDependencies(project.getArtifacts(), reactorProjects, fingerprint);
+        return fingerprint.toString();
+    }
+
+    private static String getDependencies(MavenProject project, Collection<Artifact> resolvedArtifacts,
+            Collection<MavenProject> reactorProjects) {
+        DevStateSnapshot.Fingerprint fingerprint = new DevStateSnapshot.Fingerprint();
+        for (Dependency dependency : project.getDependencies()) {
+            addDependency(dependency, fingerprint);
+        }
+        if (project.getDependencyManagement() != null) {
+            fingerprint.add("dependencyManagement");
+            for (Dependency dependency : project.getDependencyManagement().getDependencies()) {
+                addDependency(dependency, fingerprint);
+            }
+        }
+        for (ArtifactRepository repository : project.getRemoteArtifactRepositories()) {
+            fingerprint.add(repository.getId() + " " + repository.getUrl());
+        }
+        addReactorDependencies(resolvedArtifacts, reactorProjects, fingerprint);
+        return fingerprint.toString();
+    }
+
+    /**
+     * Add the resolved SNAPSHOT artifacts and the poms of the reactor modules the project depends on,
+     * directly or transitively, since they can change the transitive dependencies.
+     */
+    private static void addReactorDependencies(Collection<Artifact> resolvedArtifacts, Collection<MavenProject> reactorProjects,
+            DevStateSnapshot.Fingerprint fingerprint) {
+        if (resolvedArtifacts == null) {
+            return;
+        }
+        List<MavenProject> reactorDependencies = new ArrayList<MavenProject>();
+        for (Artifact artifact : resolvedArtifacts) {
+            MavenProject reactorProject = getReactorProject(artifact, reactorProjects);
+            if (reactorProject != null) {
+                reactorDependencies.add(reactorProject);
+            } else if (artifact.isSnapshot() && artifact.getFile() != null && !artifact.getFile().isDirectory()) {
+                fingerprint.add(artifact.getId()).addTimestamps(artifact.getFile());
+            }
+        }
+        try {
+            for (MavenProject reactorProject : reactorDependencies) {
+                addPomChain(reactorProject, fingerprint);
+            }
+        } catch (IOException e) {
+            fingerprint.add(e.toString()).add(Long.toString(System.nanoTime()));
+        }
+    }
+
+    private static MavenProject getReactorProject(Artifact artifact, Collection<MavenProject> reactorProjects) {
+        if (reactorProjects != null) {
+            for (MavenProject reactorProject : reactorProjects) {
+                if (artifact.getGroupId().equals(reactorProject.getGroupId())
+                        && artifact.getArtifactId().equals(reactorProject.getArtifactId())) {
+                    return reactorProject;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void addDependency(Dependency dependency, DevStateSnapshot.Fingerprint fingerprint) {
+        StringBuilder sb = new StringBuilder(dependency.getManagementKey()).append(':').append(dependency.getVersion()).append(':')
+                .append(dependency.getScope()).append(':').append(dependency.getOptional()).append(':')
+                .append(dependency.getSystemPath());
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            sb.append(" -").append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId());
+        }
+        fingerprint.add(sb.toString());
+    }
+
+    private static void addPomChain(MavenProject project, DevStateSnapshot.Fingerprint fingerprint) throws IOException {
+        for (MavenProject current = project; current != null; current = current.getParent()) {
+            File pom = current.getFile();
+            if (pom != null) {
+                fingerprint.addContents(pom, null);
+            } else {
+                fingerprint.add(current.getId());
+            }
+        }
+    }
+
+    private static File getCanonicalFile(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Runs the steps of dev mode startup as a graph, where each step starts as soon as
+ * the steps it depends on have finished, so that independent steps run concurrently.
+ * <p>
+ * With one thread the steps run one at a time in the order they were added. After
+ * the graph runs, {@link #getCriticalPath()} returns the chain of steps that
+ * determined how long the startup took.
+ */
+public class StartupTaskGraph {
+
+    public interface Task {
+        void run() throws MojoExecutionException;
+    }
+
+    private static class Node {
+        final String name;
+        final Task task;
+        final List<Node> dependencies = new ArrayList<Node>();
+        volatile long startNanos;
+        volatile long endNanos;
+        boolean submitted;
+        boolean finished;
+
+        Node(String name, Task task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        long getDurationMillis() {
+            return (endNanos - startNanos) / 1000000L;
+        }
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+    private long graphStartNanos;
+    private long graphEndNanos;
+
+    /**
+     * Add a step to the graph.
+     *
+     * @param name         the unique name of the step
+     * @param task         the step
+     * @param dependencies the names of steps that must finish before this step starts,
+     *                     which must already be added
+     */
+    public void add(String name, Task task, String... dependencies) {
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate startup step " + name);
+        }
+        Node node = new Node(name, task);
+        for (String dependency : dependencies) {
+            Node dependencyNode = nodes.get(dependency);
+            if (dependencyNode == null) {
+                throw new IllegalArgumentException("Startup step " + name + " depends on unknown step " + dependency);
+            }
+            node.dependencies.add(dependencyNode);
+        }
+        nodes.put(name, node);
+    }
+
+    /**
+     * @param name the name of a step
+     * @return true if the step was added
+     */
+    public boolean contains(String name) {
+        return nodes.containsKey(name);
+    }
+
+    /**
+     * Run the steps. If a step fails, no further steps start, the steps that are already
+     * running finish, and the failure of the first step that failed is thrown.
+     *
+     * @param threads the maximum number of steps that run at the same time
+     * @throws MojoExecutionException if a step fails
+     */
+    public void run(int threads) throws MojoExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        CompletionService<Node> completion = new ExecutorCompletionService<Node>(executor);
+        graphStartNanos = System.nanoTime();
+        MojoExecutionException failure = null;
+        int running = 0;
+        int finished = 0;
+        try {
+            while (finished < nodes.size()) {
+                if (failure == null) {
+                    for (final Node node : nodes.values()) {
+                        if (!node.submitted && isReady(node)) {
+                            node.submitted = true;
+                            running++;
+                            completion.submit(new Callable<Node>() {
+                                @Override
+                                public Node call() throws MojoExecutionException {
+                                    node.startNanos = System.nanoTime();
+                                    try {
+                                        node.task.run();
+                                    } finally {
+                                        node.endNanos = System.nanoTime();
+                                    }
+                                    return node;
+                                }
+                            });
+                        }
+                    }
+                }
+                if (running == 0) {
+                    break;
+                }
+                try {
+                    completion.take().get().finished = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof MojoExecutionException ? (MojoExecutionException) e.getCause()
+                                : new MojoExecutionException("Error starting dev mode.", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while starting dev mode.", e);
+                }
+                running--;
+                finished++;
+            }
+        } finally {
+            executor.shutdownNow();
+            graphEndNanos = System.nanoTime();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static boolean isReady(Node node) {
+        for (Node dependency : node.dependencies) {
+            if (!dependency.finished) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the chain of steps, from first to last, where each step is the one that finished
+     *         last among the dependencies of the next step, ending with the step that finished last
+     */
+    public List<String> getCriticalPath() {
+        List<String> path = new ArrayList<String>();
+        Node current = null;
+        for (Node node : nodes.values()) {
+            if (node.finished && (current == null || node.endNanos > current.endNanos)) {
+                current = node;
+            }
+        }
+        while (current != null) {
+            path.add(current.name);
+            Node gating = null;
+            for (Node dependency : current.dependencies) {
+                if (gating == null || dependency.endNanos > gating.endNanos) {
+                    gating = dependency;
+                }
+            }
+            current = gating;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return the total time the graph took and the duration of each step on the critical path
+     */
+    public String getCriticalPathSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ENGLISH, "Dev mode startup steps took %.1f s. Critical path: ",
+                (graphEndNanos - graphStartNanos) / 1000000000.0));
+        List<String> path = getCriticalPath();
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                sb.append(" -> ");
+            }
+            sb.append(String.format(Locale.ENGLISH, "%s (%.1f s)", path.get(i), nodes.get(path.get(i)).getDurationMillis() / 1000.0));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Selects the test classes affected by the classes that changed since a test
+ * run last passed. A test class is affected if it references a changed class
+ * directly or through other classes, based on the references in the compiled
+ * class files.
+ */
+public class TestImpactSelector {
+
+    private final ClassDependencyIndex index = new ClassDependencyIndex();
+
+    /**
+     * Classes changed since the last passing run, per test run key. A null value
+     * means the next run for that key must run every test.
+     */
+    private final Map<String, Set<String>> pendingChanges = new HashMap<String, Set<String>>();
+
+    /**
+     * Get the tests to run for a test run.
+     *
+     * @param key                a key identifying the test run, for example the project and goal
+     * @param classesDirectories every compiler output directory the tests depend on, including the test classes directory
+     * @param testClassesDirectory the output directory of the test classes
+     * @param includes           include patterns for test sources, for example **&#47;*Test.java
+     * @param excludes           exclude patterns for test sources
+     * @return the fully qualified names of the affected test classes, which is empty if no tests are affected,
+     *         or null if all tests should run
+     * @throws IOException if a class file cannot be read
+     */
+    public synchronized Set<String> select(String key, Collection<File> classesDirectories, File testClassesDirectory,
+            List<String> includes, List<String> excludes) throws IOException {
+        Set<String> changed = new TreeSet<String>();
+        for (File dir : classesDirectories) {
+            changed.addAll(index.refreshDirectory(dir));
+        }
+        for (Set<String> pending : pendingChanges.values()) {
+            if (pending != null) {
+                pending.addAll(changed);
+            }
+        }
+        Set<String> pending = pendingChanges.get(key);
+        if (pending == null) {
+            // never passed, or no record of what changed since
+            return null;
+        }
+        if (pending.isEmpty()) {
+            // nothing changed, for example a manual run or a configuration change
+            return null;
+        }
+
+        File testDir = testClassesDirectory.getCanonicalFile();
+        Set<String> candidates = new TreeSet<String>(pending);
+        candidates.addAll(index.getTransitiveDependents(pending));
+        Set<String> tests = new TreeSet<String>();
+        for (String name : candidates) {
+            if (!testDir.equals(index.getOutputDirectory(name))) {
+                continue;
+            }
+            int nested = name.indexOf('$');
+            String topLevel = nested < 0 ? name : name.substring(0, nested);
+            if (isIncluded(topLevel, includes, excludes)) {
+                tests.add(topLevel.replace('/', '.'));
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Record that every selected test for the key passed, so only classes that change
+     * after this point affect the next run.
+     *
+     * @param key the key of the test run
+     */
+    public synchronized void testsPassed(String key) {
+        pendingChanges.put(key, new TreeSet<String>());
+    }
+
+    static boolean isIncluded(String className, List<String> includes, List<String> excludes) {
+        return matches(className, includes) && (excludes == null || !matches(className, excludes));
+    }
+
+    private static boolean matches(String className, List<String> patterns) {
+        for (String pattern : patterns) {
+            String normalized = pattern.trim().replace('\\', '/');
+            String path = className;
+            if (normalized.endsWith(".java")) {
+                path += ".java";
+            } else if (normalized.endsWith(".class")) {
+                path += ".class";
+            }
+            if (SelectorUtils.matchPath(normalized, path, "/", true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,462 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Decides which parts of the directories monitored by dev mode are watched with native
+ * file system watches, which are polled, and which are ignored.
+ * <p>
+ * The watchers register every directory under a monitored directory. A monitored directory
+ * that contains excluded or polled subdirectories is therefore replaced by its subdirectories
+ * that do not, and the files directly inside the directories that were replaced are polled
+ * instead, as are the polled subdirectories. Excluded subdirectories are neither watched nor
+ * polled. Glob patterns are matched against paths relative to the project directory, using
+ * {@code /} as the separator.
+ * <p>
+ * Directories that are created in a directory that was replaced after the watchers started
+ * cannot be registered with them, so polling finds them and polls their whole tree, unless
+ * they are excluded.
+ */
+public class WatchPlan {
+
+    /** Excluded when no exclude patterns are configured. */
+    public static final List<String> DEFAULT_EXCLUDES = Collections.unmodifiableList(Arrays.asList("**/node_modules/**"));
+
+    /**
+     * Receives the changes found by polling.
+     */
+    public interface Listener {
+        /**
+         * @param root     the monitored directory that contains the changed files
+         * @param changed  the files that were created or modified
+         * @param deleted  the files that were deleted
+         */
+        void filesChanged(File root, List<File> changed, List<File> deleted);
+    }
+
+    private static class Pattern {
+        final PathMatcher matcher;
+        // matches the directory itself for patterns that end with /**
+        final PathMatcher directoryMatcher;
+
+        Pattern(String glob) {
+            String normalized = glob.trim().replace('\\', '/');
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalized);
+            directoryMatcher = normalized.endsWith("/**")
+                    ? FileSystems.getDefault().getPathMatcher("glob:" + normalized.substring(0, normalized.length() - 3))
+                    : null;
+        }
+
+        boolean matches(Path relativePath, boolean directory) {
+            return matcher.matches(relativePath) || (directory && directoryMatcher != null && directoryMatcher.matches(relativePath));
+        }
+    }
+
+    /**
+     * A directory that is polled, either only its files or its whole tree.
+     */
+    private static class PolledDirectory {
+        final File directory;
+        final File root;
+        final boolean recursive;
+        Map<File, String> snapshot;
+        // the subdirectories found by the last poll of a directory that is not polled recursively
+        Set<File> directories;
+
+        PolledDirectory(File directory, File root, boolean recursive) {
+            this.directory = directory;
+            this.root = root;
+            this.recursive = recursive;
+        }
+    }
+
+    private final Path baseDirectory;
+    private final List<Pattern> includes = new ArrayList<Pattern>();
+    private final List<Pattern> excludes = new ArrayList<Pattern>();
+    private final List<Pattern> polled = new ArrayList<Pattern>();
+    private final Log log;
+
+    private final Map<File, File> watchedRoots = new HashMap<File, File>();
+    private final List<PolledDirectory> shallowDirectories = new CopyOnWriteArrayList<PolledDirectory>();
+    private final List<PolledDirectory> polledTrees = new CopyOnWriteArrayList<PolledDirectory>();
+    // directories created after planning, polled at the interval of the directories they were created in
+    private final List<PolledDirectory> createdTrees = new CopyOnWriteArrayList<PolledDirectory>();
+    private Thread poller;
+
+    /**
+     * @param baseDirectory    the project directory that the patterns are relative to
+     * @param includeGlobs     only files that match one of these patterns are watched, or all files if empty or null
+     * @param excludeGlobs     files and directories that are not watched, or null for {@link #DEFAULT_EXCLUDES}
+     * @param pollGlobs        directories that are polled instead of watched, or null
+     * @param log              the log
+     */
+    public WatchPlan(File baseDirectory, List<String> includeGlobs, List<String> excludeGlobs, List<String> pollGlobs, Log log) {
+        this.baseDirectory = baseDirectory.getAbsoluteFile().toPath();
+        this.log = log;
+        addPatterns(includes, includeGlobs);
+        addPatterns(excludes, excludeGlobs == null ? DEFAULT_EXCLUDES : excludeGlobs);
+        addPatterns(polled, pollGlobs);
+    }
+
+    private static void addPatterns(List<Pattern> patterns, List<String> globs) {
+        if (globs != null) {
+            for (String glob : globs) {
+                if (glob != null && !glob.trim().isEmpty()) {
+                    patterns.add(new Pattern(glob));
+                }
+            }
+        }
+    }
+
+    /**
+     * Plan how the given directories are monitored.
+     *
+     * @param roots the directories to monitor
+     * @return the directories to watch with native watches, which are the given directories
+     *         unless they contain excluded or polled subdirectories
+     */
+    public synchronized List<File> plan(List<File> roots) {
+        List<File> result = new ArrayList<File>();
+        for (File root : roots) {
+            File absoluteRoot = root.getAbsoluteFile();
+            if (excludes.isEmpty() && polled.isEmpty() || !absoluteRoot.isDirectory()) {
+                result.add(root);
+                watchedRoots.put(absoluteRoot, absoluteRoot);
+                continue;
+            }
+            Set<File> split = findDirectoriesToSplit(absoluteRoot);
+            planDirectory(absoluteRoot, absoluteRoot, split, result);
+        }
+        return result;
+    }
+
+    /**
+     * Plan how the given directories are monitored.
+     *
+     * @param roots the directories to monitor
+     * @return the directories to watch with native watches
+     * @see #plan(List)
+     */
+    public List<Path> planPaths(List<Path> roots) {
+        List<File> files = new ArrayList<File>();
+        for (Path root : roots) {
+            files.add(root.toFile());
+        }
+        List<Path> result = new ArrayList<Path>();
+        for (File file : plan(files)) {
+            result.add(file.toPath());
+        }
+        return result;
+    }
+
+    /**
+     * @return the ancestors, within the root, of the directories that are excluded or polled
+     */
+    private Set<File> findDirectoriesToSplit(final File root) {
+        final Set<File> split = new HashSet<File>();
+        try {
+            Files.walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root.toPath()) && (isExcluded(dir, true) || isPolled(dir))) {
+                        File parent = dir.toFile().getParentFile();
+                        while (parent != null && split.add(parent) && !parent.equals(root)) {
+                            parent = parent.getParentFile();
+                        }
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Could not walk " + root + " to plan the file watches", e);
+        }
+        return split;
+    }
+
+    private void planDirectory(File directory, File root, Set<File> split, List<File> result) {
+        if (isExcluded(directory.toPath(), true)) {
+            log.debug("Not watching excluded directory " + directory);
+        } else if (isPolled(directory.toPath())) {
+            log.debug("Polling directory " + directory);
+            polledTrees.add(new PolledDirectory(directory, root, true));
+        } else if (!split.contains(directory)) {
+            result.add(directory);
+            watchedRoots.put(directory, root);
+        } else {
+            PolledDirectory shallowDirectory = new PolledDirectory(directory, root, false);
+            shallowDirectory.directories = new HashSet<File>();
+            shallowDirectories.add(shallowDirectory);
+            File[] children = directory.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    if (child.isDirectory()) {
+                        shallowDirectory.directories.add(child);
+                        planDirectory(child, root, split, result);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param watchedDirectory a directory returned by {@link #plan(List)}
+     * @return the monitored directory that contains it, which file changes are relative to
+     */
+    public synchronized File getRoot(File watchedDirectory) {
+        File root = watchedRoots.get(watchedDirectory.getAbsoluteFile());
+        return root == null ? watchedDirectory : root;
+    }
+
+    /**
+     * @param file a file in a monitored directory
+     * @return true if changes to the file should be processed
+     */
+    public boolean isWatched(File file) {
+        Path path = file.getAbsoluteFile().toPath();
+        if (isExcluded(path, false)) {
+            return false;
+        }
+        // a file in an excluded directory that a native watch still reported
+        for (Path parent = path.getParent(); parent != null && parent.startsWith(baseDirectory); parent = parent.getParent()) {
+            if (isExcluded(parent, true)) {
+                return false;
+            }
+        }
+        return includes.isEmpty() || matches(includes, path, false);
+    }
+
+    /**
+     * @return true if some directories are polled
+     */
+    public boolean hasPolledDirectories() {
+        return !shallowDirectories.isEmpty() || !polledTrees.isEmpty() || !createdTrees.isEmpty();
+    }
+
+    /**
+     * Start polling in the background. The files directly inside the directories that are not
+     * watched, and the trees of directories created in them, are polled at the shorter interval,
+     * and polled directory trees at the longer one.
+     *
+     * @param interval     the interval in milliseconds for the files of directories that are not watched
+     * @param treeInterval the interval in milliseconds for polled directory trees
+     * @param listener     the listener
+     */
+    public synchronized void startPolling(final long interval, final long treeInterval, final Listener listener) {
+        if (poller != null || !hasPolledDirectories()) {
+            return;
+        }
+        // the subdirectories of the shallow directories are kept from planning, so that polling
+        // finds the directories created since then
+        for (PolledDirectory polledDirectory : shallowDirectories) {
+            polledDirectory.snapshot = snapshot(polledDirectory, null);
+        }
+        for (PolledDirectory polledDirectory : polledTrees) {
+            polledDirectory.snapshot = snapshot(polledDirectory, null);
+        }
+        poller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long lastTreePoll = System.currentTimeMillis();
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(interval);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    poll(shallowDirectories, listener);
+                    poll(createdTrees, listener);
+                    if (System.currentTimeMillis() - lastTreePoll >= treeInterval) {
+                        poll(polledTrees, listener);
+                        lastTreePoll = System.currentTimeMillis();
+                    }
+                }
+            }
+        }, "liberty-dev-watch-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /**
+     * Stop polling.
+     */
+    public synchronized void stopPolling() {
+        if (poller != null) {
+            poller.interrupt();
+            poller = null;
+        }
+    }
+
+    private void poll(List<PolledDirectory> directories, Listener listener) {
+        for (PolledDirectory polledDirectory : directories) {
+            Set<File> currentDirectories = polledDirectory.recursive ? null : new HashSet<File>();
+            Map<File, String> current = snapshot(polledDirectory, currentDirectories);
+            if (currentDirectories != null) {
+                for (File directory : currentDirectories) {
+                    if (!polledDirectory.directories.contains(directory)) {
+                        directoryCreated(directory, polledDirectory.root);
+                    }
+                }
+                polledDirectory.directories = currentDirectories;
+            }
+            List<File> changed = new ArrayList<File>();
+            List<File> deleted = new ArrayList<File>();
+            for (Map.Entry<File, String> entry : current.entrySet()) {
+                if (!entry.getValue().equals(polledDirectory.snapshot.get(entry.getKey())) && isWatched(entry.getKey())) {
+                    changed.add(entry.getKey());
+                }
+            }
+            for (File file : polledDirectory.snapshot.keySet()) {
+                if (!current.containsKey(file) && isWatched(file)) {
+                    deleted.add(file);
+                }
+            }
+            polledDirectory.snapshot = current;
+            if (!changed.isEmpty() || !deleted.isEmpty()) {
+                try {
+                    listener.filesChanged(polledDirectory.root, changed, deleted);
+                } catch (RuntimeException e) {
+                    log.debug("Could not process the changes in " + polledDirectory.directory, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Poll the tree of a directory that was created in a directory that is not watched, unless it is
+     * excluded or already polled. It is polled even if it should be watched, since it cannot be
+     * registered with the watchers after they started. Its files are reported by its first poll.
+     */
+    private void directoryCreated(File directory, File root) {
+        if (isExcluded(directory.toPath(), true) || isPolledDirectory(directory)) {
+            return;
+        }
+        PolledDirectory created = new PolledDirectory(directory, root, true);
+        created.snapshot = new HashMap<File, String>();
+        if (isPolled(directory.toPath())) {
+            log.debug("Polling new directory " + directory);
+            polledTrees.add(created);
+        } else {
+            log.debug("Polling new directory " + directory + " since it cannot be watched");
+            createdTrees.add(created);
+        }
+    }
+
+    private boolean isPolledDirectory(File directory) {
+        return contains(shallowDirectories, directory) || contains(polledTrees, directory) || contains(createdTrees, directory);
+    }
+
+    private static boolean contains(List<PolledDirectory> directories, File directory) {
+        for (PolledDirectory polledDirectory : directories) {
+            if (polledDirectory.directory.equals(directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param directories the set that the subdirectories of a directory that is not polled recursively
+     *                    are added to, or null
+     * @return the size and modification time of each file in the polled directory
+     */
+    private Map<File, String> snapshot(final PolledDirectory polledDirectory, final Set<File> directories) {
+        final Map<File, String> snapshot = new LinkedHashMap<File, String>();
+        try {
+            Files.walkFileTree(polledDirectory.directory.toPath(), Collections.<FileVisitOption>emptySet(),
+                    polledDirectory.recursive ? Integer.MAX_VALUE : 1, new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                            return isExcluded(dir, true) && !dir.equals(polledDirectory.directory.toPath())
+                                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile()) {
+                                snapshot.put(file.toFile(), attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+                            } else if (attrs.isDirectory() && directories != null) {
+                                // the entries of the directory are visited as files when they are at the maximum depth
+                                directories.add(file.toFile());
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException e) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            log.debug("Could not poll " + polledDirectory.directory, e);
+        }
+        return snapshot;
+    }
+
+    private boolean isExcluded(Path path, boolean directory) {
+        return matches(excludes, path, directory);
+    }
+
+    private boolean isPolled(Path directory) {
+        return matches(polled, directory, true);
+    }
+
+    private boolean matches(List<Pattern> patterns, Path path, boolean directory) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        Path absolutePath = path.toAbsolutePath();
+        if (!absolutePath.startsWith(baseDirectory)) {
+            return false;
+        }
+        Path relativePath = baseDirectory.relativize(absolutePath);
+        for (Pattern pattern : patterns) {
+            if (pattern.matches(relativePath, directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.applications;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExplodedWarSyncTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File basedir;
+    private File webResources;
+    private File warSource;
+    private File classes;
+    private File webapp;
+    private ExplodedWarSync sync;
+
+    @Before
+    public void setUp() throws Exception {
+        basedir = temp.newFolder("project");
+        webResources = new File(basedir, "src/main/web-resources");
+        warSource = new File(basedir, "src/main/webapp");
+        classes = new File(basedir, "target/classes");
+        webapp = new File(basedir, "target/app");
+        write(new File(warSource, "index.html"), "index");
+
+        MavenProject project = new MavenProject(new Model());
+        project.setFile(new File(basedir, "pom.xml"));
+        project.getModel().setBuild(new Build());
+        project.getBuild().setDirectory(new File(basedir, "target").getPath());
+        project.getBuild().setOutputDirectory(classes.getPath());
+        project.getBuild().setFinalName("app");
+        Plugin warPlugin = new Plugin();
+        warPlugin.setGroupId("org.apache.maven.plugins");
+        warPlugin.setArtifactId("maven-war-plugin");
+        Xpp3Dom config = Xpp3DomBuilder.build(new StringReader("<configuration><webResources><resource>"
+                + "<directory>src/main/web-resources</directory><targetPath>static</targetPath>"
+                + "<excludes><exclude>**/*.tmp</exclude></excludes></resource></webResources></configuration>"));
+        warPlugin.setConfiguration(config);
+        project.getBuild().addPlugin(warPlugin);
+        sync = new ExplodedWarSync(project, new Properties(), config, new SystemStreamLog());
+    }
+
+    @After
+    public void tearDown() {
+        sync.close();
+    }
+
+    @Test
+    public void changed_files_are_copied_to_their_target_paths() throws IOException {
+        // given
+        sync.reset();
+        File style = write(new File(webResources, "css/site.css"), "body {}");
+        File page = write(new File(warSource, "about.html"), "about");
+        File classFile = write(new File(classes, "app/App.class"), "class");
+
+        // when
+        assertTrue(sync.sync(Arrays.asList(style, page, classFile)));
+
+        // then
+        assertEquals("body {}", read(new File(webapp, "static/css/site.css")));
+        assertEquals("about", read(new File(webapp, "about.html")));
+        assertEquals("class", read(new File(webapp, "WEB-INF/classes/app/App.class")));
+    }
+
+    @Test
+    public void excluded_files_are_not_copied() throws IOException {
+        // given
+        sync.reset();
+        File excluded = write(new File(webResources, "draft.tmp"), "draft");
+
+        // when
+        assertTrue(sync.sync(Collections.singleton(excluded)));
+
+        // then
+        assertFalse(new File(webapp, "static/draft.tmp").exists());
+    }
+
+    @Test
+    public void deleted_file_is_replaced_by_the_next_source_that_provides_it() throws IOException {
+        // given
+        write(new File(warSource, "static/logo.txt"), "war source");
+        File resource = write(new File(webResources, "logo.txt"), "web resource");
+        sync.reset();
+        assertTrue(sync.sync(Collections.singleton(resource)));
+        assertEquals("web resource", read(new File(webapp, "static/logo.txt")));
+
+        // when
+        resource.delete();
+        assertTrue(sync.sync(Collections.singleton(resource)));
+
+        // then
+        assertEquals("war source", read(new File(webapp, "static/logo.txt")));
+    }
+
+    @Test
+    public void deleted_file_that_no_source_provides_is_deleted() throws IOException {
+        // given
+        sync.reset();
+        File page = write(new File(warSource, "old.html"), "old");
+        assertTrue(sync.sync(Collections.singleton(page)));
+
+        // when
+        page.delete();
+        assertTrue(sync.sync(Collections.singleton(page)));
+
+        // then
+        assertFalse(new File(webapp, "old.html").exists());
+    }
+
+    @Test
+    public void watched_changes_are_synced() throws Exception {
+        // given
+        webResources.mkdirs();
+        sync.reset();
+
+        // when
+        write(new File(webResources, "js/new/app.js"), "app");
+
+        // then
+        File target = new File(webapp, "static/js/new/app.js");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!target.isFile() && System.currentTimeMillis() < deadline) {
+            assertTrue(sync.sync());
+            Thread.sleep(20);
+        }
+        assertEquals("app", read(target));
+    }
+
+    @Test
+    public void changes_before_the_first_reset_require_the_exploded_goal() throws IOException {
+        assertFalse(sync.sync());
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
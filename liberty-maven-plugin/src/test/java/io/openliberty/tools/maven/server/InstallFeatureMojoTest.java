@@ -0,0 +1,108 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class InstallFeatureMojoTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File installDirectory;
+    private File userDirectory;
+    private File manifest;
+    private final List<String> settings = Arrays.asList("features=[]", "dependencies=[]", "acceptLicense=false");
+
+    @Before
+    public void setUp() throws IOException {
+        installDirectory = temp.newFolder("wlp");
+        userDirectory = new File(installDirectory, "usr");
+        write(new File(installDirectory, "lib/versions/openliberty.properties"), "com.ibm.websphere.productVersion=26.0.0.1");
+        manifest = write(new File(installDirectory, "lib/features/io.openliberty.servlet-6.0.mf"), "Subsystem-SymbolicName: servlet-6.0");
+    }
+
+    @Test
+    public void unchanged_inputs_have_the_same_fingerprint() throws IOException {
+        // given
+        String before = fingerprint(Arrays.asList("servlet-6.0"));
+
+        // then
+        assertEquals(before, fingerprint(Arrays.asList("servlet-6.0")));
+    }
+
+    @Test
+    public void changed_server_feature_changes_the_fingerprint() throws IOException {
+        // given
+        String before = fingerprint(Arrays.asList("servlet-6.0"));
+
+        // when
+        String after = fingerprint(Arrays.asList("servlet-6.0", "jsonp-2.1"));
+
+        // then
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    public void changed_runtime_version_changes_the_fingerprint() throws IOException {
+        // given
+        String before = fingerprint(Arrays.asList("servlet-6.0"));
+
+        // when
+        write(new File(installDirectory, "lib/versions/openliberty.properties"), "com.ibm.websphere.productVersion=26.0.0.2");
+
+        // then
+        assertNotEquals(before, fingerprint(Arrays.asList("servlet-6.0")));
+    }
+
+    @Test
+    public void deleted_manifest_changes_the_fingerprint() throws IOException {
+        // given
+        String before = fingerprint(Arrays.asList("servlet-6.0"));
+
+        // when
+        Files.delete(manifest.toPath());
+
+        // then
+        assertNotEquals(before, fingerprint(Arrays.asList("servlet-6.0")));
+    }
+
+    private String fingerprint(List<String> serverFeatures) throws IOException {
+        String inputs = InstallFeatureMojo.getInstallInputs(installDirectory, settings, Collections.<File>emptyList(),
+                serverFeatures, Collections.<String>emptyList());
+        return InstallFeatureMojo.getInstallFingerprint(inputs, installDirectory, userDirectory);
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
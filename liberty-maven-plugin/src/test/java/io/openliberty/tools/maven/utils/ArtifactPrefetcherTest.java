@@ -0,0 +1,253 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.connector.basic.BasicRepositoryConnectorFactory;
+import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.transport.file.FileTransporterFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ArtifactPrefetcherTest {
+
+    private static final long TIMEOUT = 10;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File remoteRepository;
+    private File localRepository;
+    private AtomicInteger resolveCount;
+    private ArtifactPrefetcher.Resolver aetherResolver;
+    private ArtifactPrefetcher prefetcher;
+
+    /**
+     * Counts the artifacts resolved through Aether from a file:// remote repository.
+     */
+    private class CountingResolver implements ArtifactPrefetcher.Resolver {
+        @Override
+        public File resolve(Artifact artifact) throws Exception {
+            resolveCount.incrementAndGet();
+            return aetherResolver.resolve(artifact);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        remoteRepository = temp.newFolder("remote");
+        localRepository = temp.newFolder("local");
+        resolveCount = new AtomicInteger();
+
+        DefaultServiceLocator locator = MavenRepositorySystemUtils.newServiceLocator();
+        locator.addService(RepositoryConnectorFactory.class, BasicRepositoryConnectorFactory.class);
+        locator.addService(TransporterFactory.class, FileTransporterFactory.class);
+        RepositorySystem repositorySystem = locator.getService(RepositorySystem.class);
+        DefaultRepositorySystemSession repoSession = MavenRepositorySystemUtils.newSession();
+        repoSession.setLocalRepositoryManager(repositorySystem.newLocalRepositoryManager(repoSession,
+                new LocalRepository(localRepository)));
+        // the test repository has no checksum files
+        repoSession.setChecksumPolicy(RepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        RemoteRepository remote = new RemoteRepository.Builder("remote", "default", remoteRepository.toURI().toString()).build();
+        aetherResolver = ArtifactPrefetcher.aetherResolver(repositorySystem, repoSession, Collections.singletonList(remote));
+    }
+
+    @After
+    public void tearDown() {
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+    }
+
+    @Test
+    public void prefetch_copies_artifacts_to_local_repository() throws IOException {
+        // given
+        Artifact featureGen = new DefaultArtifact("io.openliberty.tools", "liberty-feature-generator", "jar", "1.0");
+        Artifact featureList = new DefaultArtifact("io.openliberty.features", "open_liberty_featurelist", "xml", "26.0.0.1");
+        deploy(featureGen, "jar");
+        deploy(featureList, "list");
+        prefetcher = new ArtifactPrefetcher(new CountingResolver(), 2, new SystemStreamLog());
+
+        // when
+        prefetcher.prefetch(Arrays.asList(featureGen, featureList));
+        File featureGenFile = prefetcher.await(featureGen, TIMEOUT, TimeUnit.SECONDS);
+        File featureListFile = prefetcher.await(featureList, TIMEOUT, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(new File(localRepository, getPath(featureGen)), featureGenFile);
+        assertEquals("list", new String(Files.readAllBytes(featureListFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void prefetch_resolves_each_artifact_once() {
+        // given
+        Artifact artifact = new DefaultArtifact("io.openliberty.features", "features", "json", "26.0.0.1");
+        deploy(artifact, "{}");
+        prefetcher = new ArtifactPrefetcher(new CountingResolver(), 2, new SystemStreamLog());
+
+        // when
+        prefetcher.prefetch(Arrays.asList(artifact, artifact));
+        prefetcher.prefetch(Arrays.<Artifact>asList(new DefaultArtifact("io.openliberty.features", "features", "json", "26.0.0.1")));
+        prefetcher.await(artifact, TIMEOUT, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(1, resolveCount.get());
+    }
+
+    @Test
+    public void missing_artifact_is_not_an_error() {
+        // given
+        Artifact missing = new DefaultArtifact("io.openliberty.features", "missing", "esa", "26.0.0.1");
+        prefetcher = new ArtifactPrefetcher(new CountingResolver(), 1, new SystemStreamLog());
+
+        // when
+        prefetcher.prefetch(Arrays.asList(missing));
+
+        // then
+        assertNull(prefetcher.await(missing, TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(new File(localRepository, getPath(missing)).exists());
+    }
+
+    @Test
+    public void artifact_not_prefetched_returns_null() {
+        // given
+        prefetcher = new ArtifactPrefetcher(new CountingResolver(), 1, new SystemStreamLog());
+
+        // then
+        assertNull(prefetcher.await(new DefaultArtifact("g", "a", "jar", "1"), TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(0, resolveCount.get());
+    }
+
+    @Test
+    public void version_range_is_resolved_to_the_highest_version() throws IOException {
+        // given
+        deploy(new DefaultArtifact("io.openliberty.tools", "liberty-feature-generator", "jar", "1.0"), "1.0");
+        deploy(new DefaultArtifact("io.openliberty.tools", "liberty-feature-generator", "jar", "1.1"), "1.1");
+        File metadata = new File(remoteRepository, "io/openliberty/tools/liberty-feature-generator/maven-metadata.xml");
+        Files.write(metadata.toPath(), ("<metadata><groupId>io.openliberty.tools</groupId><artifactId>liberty-feature-generator</artifactId>"
+                + "<versioning><versions><version>1.0</version><version>1.1</version></versions></versioning></metadata>")
+                .getBytes(StandardCharsets.UTF_8));
+        Artifact range = new DefaultArtifact("io.openliberty.tools", "liberty-feature-generator", "jar", "[1.0,2.0)");
+        prefetcher = new ArtifactPrefetcher(new CountingResolver(), 1, new SystemStreamLog());
+
+        // when
+        prefetcher.prefetch(Arrays.asList(range));
+        File file = prefetcher.await(range, TIMEOUT, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("1.1", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void artifacts_are_resolved_in_parallel() throws InterruptedException {
+        // given
+        final CountDownLatch started = new CountDownLatch(2);
+        ArtifactPrefetcher.Resolver resolver = new ArtifactPrefetcher.Resolver() {
+            @Override
+            public File resolve(Artifact artifact) throws Exception {
+                started.countDown();
+                // each resolution waits for the other one to start
+                if (!started.await(TIMEOUT, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Artifacts were resolved one at a time");
+                }
+                return new CountingResolver().resolve(artifact);
+            }
+        };
+        Artifact first = new DefaultArtifact("g", "first", "jar", "1");
+        Artifact second = new DefaultArtifact("g", "second", "jar", "1");
+        deploy(first, "1");
+        deploy(second, "2");
+        prefetcher = new ArtifactPrefetcher(resolver, 2, new SystemStreamLog());
+
+        // when
+        prefetcher.prefetch(Arrays.asList(first, second));
+
+        // then
+        assertTrue(prefetcher.await(first, TIMEOUT, TimeUnit.SECONDS).isFile());
+        assertTrue(prefetcher.await(second, TIMEOUT, TimeUnit.SECONDS).isFile());
+    }
+
+    @Test
+    public void close_interrupts_the_artifacts_being_resolved() throws InterruptedException {
+        // given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        prefetcher = new ArtifactPrefetcher(new ArtifactPrefetcher.Resolver() {
+            @Override
+            public File resolve(Artifact artifact) throws Exception {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return null;
+            }
+        }, 1, new SystemStreamLog());
+        prefetcher.prefetch(Arrays.<Artifact>asList(new DefaultArtifact("g", "slow", "jar", "1")));
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+
+        // when
+        prefetcher.close();
+
+        // then
+        assertTrue(interrupted.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    private void deploy(Artifact artifact, String content) {
+        File file = new File(remoteRepository, getPath(artifact));
+        file.getParentFile().mkdirs();
+        try {
+            Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getPath(Artifact artifact) {
+        return artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/" + artifact.getVersion() + "/"
+                + artifact.getArtifactId() + "-" + artifact.getVersion() + "." + artifact.getExtension();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChangeCoalescerTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File root;
+    private final ChangeCoalescer coalescer = new ChangeCoalescer(100, 1000, 3);
+
+    @Before
+    public void setUp() throws IOException {
+        root = temp.newFolder("src");
+        write(new File(root, "app/A.java"), "class A {}");
+    }
+
+    @After
+    public void tearDown() {
+        FileTreeIndex.clear();
+    }
+
+    @Test
+    public void quiet_directory_ends_the_wait_after_the_base_window() {
+        // when
+        long start = System.currentTimeMillis();
+        Map<File, Long> snapshot = coalescer.awaitQuiet(Collections.singleton(root), ".java");
+
+        // then
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(Collections.singleton(new File(root, "app/A.java").getAbsoluteFile()), snapshot.keySet());
+    }
+
+    @Test
+    public void changes_widen_the_quiet_period() throws Exception {
+        // given
+        final AtomicLong lastWrite = new AtomicLong();
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < 4; i++) {
+                        Thread.sleep(60);
+                        write(new File(root, "app/new/B" + i + ".java"), "class B" + i + " {}");
+                        lastWrite.set(System.currentTimeMillis());
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        writer.start();
+
+        // when
+        Map<File, Long> snapshot = coalescer.awaitQuiet(Collections.singleton(root), ".java");
+        long end = System.currentTimeMillis();
+        writer.join();
+
+        // then
+        assertTrue("waited " + (end - lastWrite.get()) + " ms after the last change", end - lastWrite.get() >= 200);
+        assertEquals(5, snapshot.size());
+        assertTrue(snapshot.containsKey(new File(root, "app/new/B3.java").getAbsoluteFile()));
+    }
+
+    @Test
+    public void files_of_the_bulk_update_are_coalesced_until_they_change() throws IOException {
+        // given
+        File file = new File(root, "app/A.java");
+        coalescer.bulkUpdated("src", Collections.singletonMap(file.getAbsoluteFile(), file.lastModified()));
+
+        // then
+        assertTrue(coalescer.isCoalesced("src", file));
+        assertFalse(coalescer.isCoalesced("resources", file));
+        assertEquals(1, coalescer.takeCoalescedCount("src"));
+        assertEquals(0, coalescer.takeCoalescedCount("src"));
+
+        // when
+        file.setLastModified(file.lastModified() + 10000);
+
+        // then
+        assertFalse(coalescer.isCoalesced("src", file));
+    }
+
+    @Test
+    public void bulk_update_starts_at_the_threshold() {
+        assertFalse(coalescer.recordChanges(2));
+        assertTrue(coalescer.recordChanges(1));
+
+        // when
+        coalescer.bulkUpdated("src", Collections.<File, Long>emptyMap());
+
+        // then
+        assertFalse(coalescer.recordChanges(1));
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
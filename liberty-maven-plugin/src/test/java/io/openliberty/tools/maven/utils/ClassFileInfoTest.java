@@ -0,0 +1,123 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ClassFileInfoTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void class_structure_is_read() throws IOException {
+        // when
+        ClassFileInfo info = compile("com/example/Foo",
+                "package com.example;\n"
+                + "public class Foo extends java.util.ArrayList<String> implements Runnable {\n"
+                + "    private java.util.Map<String, java.net.URI> map;\n"
+                + "    public void run() { System.out.println(new StringBuilder()); }\n"
+                + "}\n");
+
+        // then
+        assertEquals("com/example/Foo", info.getName());
+        assertEquals("com/example", info.getPackage());
+        assertEquals("java/util/ArrayList", info.getSuperName());
+        assertEquals(Arrays.asList("java/lang/Runnable"), info.getInterfaces());
+        assertEquals("Foo.java", info.getSourceFile());
+        assertTrue(info.getReferences().contains("java/util/Map"));
+        assertTrue(info.getReferences().contains("java/net/URI"));
+        assertTrue(info.getReferences().contains("java/lang/StringBuilder"));
+        assertFalse(info.getReferences().contains("com/example/Foo"));
+        assertNull(info.getConstantsHash());
+    }
+
+    @Test
+    public void method_body_change_keeps_abi_and_shape() throws IOException {
+        // when
+        ClassFileInfo before = compile("Foo", "public class Foo { public int get() { return 1; } }");
+        ClassFileInfo after = compile("Foo", "public class Foo { public int get() { return 2; } }");
+
+        // then
+        assertEquals(before.getAbiHash(), after.getAbiHash());
+        assertEquals(before.getShapeHash(), after.getShapeHash());
+    }
+
+    @Test
+    public void private_member_change_keeps_abi_but_not_shape() throws IOException {
+        // when
+        ClassFileInfo before = compile("Foo", "public class Foo { }");
+        ClassFileInfo after = compile("Foo", "public class Foo { private void helper() { } }");
+
+        // then
+        assertEquals(before.getAbiHash(), after.getAbiHash());
+        assertNotEquals(before.getShapeHash(), after.getShapeHash());
+    }
+
+    @Test
+    public void signature_change_changes_abi() throws IOException {
+        // when
+        ClassFileInfo before = compile("Foo", "public class Foo { public int get() { return 1; } }");
+        ClassFileInfo after = compile("Foo", "public class Foo { public long get() { return 1; } }");
+
+        // then
+        assertNotEquals(before.getAbiHash(), after.getAbiHash());
+    }
+
+    @Test
+    public void constant_change_changes_constants_hash() throws IOException {
+        // when
+        ClassFileInfo before = compile("Foo", "public class Foo { public static final String NAME = \"a\"; }");
+        ClassFileInfo after = compile("Foo", "public class Foo { public static final String NAME = \"b\"; }");
+        ClassFileInfo privateConstant = compile("Foo", "public class Foo { private static final String NAME = \"a\"; }");
+
+        // then
+        assertNotEquals(before.getConstantsHash(), after.getConstantsHash());
+        assertNotEquals(before.getAbiHash(), after.getAbiHash());
+        assertNull(privateConstant.getConstantsHash());
+    }
+
+    @Test(expected = IOException.class)
+    public void invalid_class_file_is_rejected() throws IOException {
+        ClassFileInfo.parse("not a class".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClassFileInfo compile(String className, String source) throws IOException {
+        File dir = temp.newFolder();
+        File sourceFile = new File(dir, className.substring(className.lastIndexOf('/') + 1) + ".java");
+        Files.write(sourceFile.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-d", dir.getPath(), sourceFile.getPath()));
+        return ClassFileInfo.parse(Files.readAllBytes(new File(dir, className + ".class").toPath()));
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DevStateSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(temp.getRoot(), "target/" + DevStateSnapshot.FILE_NAME);
+    }
+
+    @Test
+    public void recorded_step_is_unchanged_in_the_next_run() {
+        // given
+        new DevStateSnapshot(file, new SystemStreamLog()).record("compile", "abc");
+
+        // when
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+
+        // then
+        assertTrue(snapshot.isUnchanged("compile", "abc"));
+        assertFalse(snapshot.isUnchanged("compile", "def"));
+        assertFalse(snapshot.isUnchanged("deploy", "abc"));
+        assertFalse(snapshot.isUnchanged("compile", null));
+    }
+
+    @Test
+    public void recording_no_fingerprint_forgets_the_step() {
+        // given
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+        snapshot.putValue("processorPath", "abc", "/lib/processor.jar");
+
+        // when
+        snapshot.record("processorPath", null);
+
+        // then
+        assertFalse(new DevStateSnapshot(file, new SystemStreamLog()).isUnchanged("processorPath", "abc"));
+    }
+
+    @Test
+    public void value_is_returned_only_for_the_same_fingerprint() {
+        // given
+        new DevStateSnapshot(file, new SystemStreamLog()).putValue("processorPath", "abc", "/lib/processor.jar");
+
+        // when
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+
+        // then
+        assertEquals("/lib/processor.jar", snapshot.getValue("processorPath", "abc"));
+        assertNull(snapshot.getValue("processorPath", "def"));
+    }
+
+    @Test
+    public void clear_forgets_all_steps_and_deletes_the_file() {
+        // given
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+        snapshot.record("compile", "abc");
+        assertTrue(file.isFile());
+
+        // when
+        snapshot.clear();
+
+        // then
+        assertFalse(snapshot.isUnchanged("compile", "abc"));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void save_replaces_the_file_without_leaving_a_temporary_file() throws IOException {
+        // given
+        File leftOver = new File(file.getParentFile(), file.getName() + ".tmp");
+        write(leftOver, "partial");
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+        snapshot.record("compile", "abc");
+
+        // when
+        snapshot.record("deploy", "def");
+
+        // then
+        assertFalse(leftOver.exists());
+        DevStateSnapshot loaded = new DevStateSnapshot(file, new SystemStreamLog());
+        assertTrue(loaded.isUnchanged("compile", "abc"));
+        assertTrue(loaded.isUnchanged("deploy", "def"));
+    }
+
+    @Test
+    public void unreadable_file_is_an_empty_snapshot() throws IOException {
+        // given
+        write(file, "compile.fingerprint=\\u12");
+
+        // when
+        DevStateSnapshot snapshot = new DevStateSnapshot(file, new SystemStreamLog());
+
+        // then
+        assertFalse(snapshot.isUnchanged("compile", "abc"));
+    }
+
+    @Test
+    public void fingerprint_changes_with_the_inputs() throws IOException {
+        // given
+        File dir = temp.newFolder("src");
+        File source = write(new File(dir, "app/App.java"), "class App {}");
+        String before = new DevStateSnapshot.Fingerprint().add("option").addContents(dir, null).toString();
+        assertEquals(before, new DevStateSnapshot.Fingerprint().add("option").addContents(dir, null).toString());
+
+        // when
+        write(source, "class App { }");
+
+        // then
+        assertNotEquals(before, new DevStateSnapshot.Fingerprint().add("option").addContents(dir, null).toString());
+        assertNotEquals(before, new DevStateSnapshot.Fingerprint().add("other").addContents(dir, null).toString());
+    }
+
+    @Test
+    public void timestamps_fingerprint_changes_when_a_file_is_added() throws IOException {
+        // given
+        File dir = temp.newFolder("classes");
+        write(new File(dir, "app/App.class"), "class");
+        String before = new DevStateSnapshot.Fingerprint().addTimestamps(dir).toString();
+        assertEquals(before, new DevStateSnapshot.Fingerprint().addTimestamps(dir).toString());
+
+        // when
+        write(new File(dir, "app/Other.class"), "class");
+
+        // then
+        assertNotEquals(before, new DevStateSnapshot.Fingerprint().addTimestamps(dir).toString());
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureRepositoryIndexTest {
+
+    private static final String SERVLET = "io.openliberty.features:servlet-4.0:26.0.0.1";
+    private static final String CDI = "io.openliberty.features:cdi-2.0:26.0.0.1";
+    private static final String INTERNAL = "io.openliberty.features:io.openliberty.internal-1.0:26.0.0.1";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private FeatureRepositoryIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        index = new FeatureRepositoryIndex();
+        File json = temp.newFile("features.json");
+        write(json, "[\n"
+                + " {\"name\": \"Java Servlets \\\"4.0\\\"\", \"size\": 1.5e3, \"public\": true, \"icon\": null,\n"
+                + "  \"wlpInformation\": {\"shortName\": \"servlet-4.0\",\n"
+                + "   \"provideFeature\": [\"com.ibm.websphere.appserver.servlet-4.0\"],\n"
+                + "   \"requireFeature\": [\"io.openliberty.internal-1.0; type=\\\"osgi.subsystem.feature\\\"\"],\n"
+                + "   \"requireFeatureWithTolerates\": [{\"feature\": \"com.ibm.websphere.appserver.cdi-2.0\", \"tolerates\": [\"3.0\"]}],\n"
+                + "   \"mavenCoordinates\": \"" + SERVLET + "\"}},\n"
+                + " {\"wlpInformation\": {\"provideFeature\": [\"io.openliberty.internal-1.0\"],\n"
+                + "   \"requireFeature\": [\"com.ibm.websphere.appserver.servlet-4.0\"],\n"
+                + "   \"mavenCoordinates\": \"" + INTERNAL + "\"}},\n"
+                + " {\"wlpInformation\": {\"shortName\": \"cdi-2.0\", \"provideFeature\": [\"com.ibm.websphere.appserver.cdi-2.0\"],\n"
+                + "   \"mavenCoordinates\": \"" + CDI + "\"}}\n"
+                + "]\n");
+        assertTrue(index.add(json));
+    }
+
+    @Test
+    public void closure_follows_required_features() {
+        // when
+        Set<String> coordinates = index.getCoordinates(Arrays.asList("Servlet-4.0"), null);
+
+        // then
+        assertEquals(new LinkedHashSet<String>(Arrays.asList(SERVLET, INTERNAL, CDI)), coordinates);
+    }
+
+    @Test
+    public void installed_features_are_left_out() throws IOException {
+        // given
+        File installDirectory = temp.newFolder("wlp");
+        File features = new File(installDirectory, "lib/features");
+        features.mkdirs();
+        write(new File(features, "com.ibm.websphere.appserver.cdi-2.0.mf"),
+                "IBM-ShortName: cdi-2.0\nSubsystem-SymbolicName: com.ibm.websphere.appserver.cdi-2.0; visibility:=public\n");
+
+        // when
+        Set<String> coordinates = index.getCoordinates(Arrays.asList("servlet-4.0", "cdi-2.0"),
+                new InstalledFeatureIndex(installDirectory, new File(installDirectory, "usr")));
+
+        // then
+        assertEquals(new LinkedHashSet<String>(Arrays.asList(SERVLET, INTERNAL)), coordinates);
+    }
+
+    @Test
+    public void unknown_features_are_ignored() {
+        assertTrue(index.getCoordinates(Arrays.asList("servlet", "usr:myFeature-1.0"), null).isEmpty());
+    }
+
+    @Test
+    public void invalid_json_is_not_added() throws IOException {
+        // given
+        FeatureRepositoryIndex empty = new FeatureRepositoryIndex();
+        File json = temp.newFile("invalid.json");
+        write(json, "[{\"wlpInformation\": ");
+
+        // then
+        assertFalse(empty.add(json));
+        assertTrue(empty.isEmpty());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FileTreeIndexTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File root;
+    private File source;
+
+    @Before
+    public void setUp() throws IOException {
+        root = temp.newFolder("src").getAbsoluteFile();
+        source = write(new File(root, "app/App.java"), "class App {}");
+        write(new File(root, "app/messages.properties"), "greeting=hello");
+    }
+
+    @After
+    public void tearDown() {
+        FileTreeIndex.clear();
+    }
+
+    @Test
+    public void files_are_indexed_by_suffix() {
+        // when
+        FileTreeIndex index = FileTreeIndex.forDirectory(root);
+
+        // then
+        assertEquals(Collections.singletonList(source), index.getFiles(".JAVA"));
+        assertEquals(2, index.getFiles("").size());
+        assertTrue(index.contains(".properties"));
+        assertFalse(index.contains(".xml"));
+    }
+
+    @Test
+    public void symbolic_link_cycle_is_walked_once() throws IOException {
+        // given
+        File link = new File(root, "app/loop");
+        try {
+            Files.createSymbolicLink(link.toPath(), root.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Assume.assumeNoException("symbolic links are not supported", e);
+        }
+
+        // when
+        FileTreeIndex index = FileTreeIndex.forDirectory(root);
+
+        // then
+        assertEquals(Collections.singletonList(source), index.getFiles(".java"));
+        assertTrue(FileTreeIndex.containsFile(new File(root, "app"), ".java"));
+        assertTrue(new DevStateSnapshot.Fingerprint().addTimestamps(root).toString().length() > 0);
+    }
+
+    @Test
+    public void moved_directory_is_walked_again() throws IOException {
+        // given
+        FileTreeIndex index = FileTreeIndex.forDirectory(root);
+        File app = new File(root, "app");
+        File moved = new File(root, "moved/app");
+        moved.getParentFile().mkdirs();
+
+        // when
+        assertTrue(app.renameTo(moved));
+        FileTreeIndex.update(Arrays.asList(app, moved));
+
+        // then
+        assertEquals(Collections.singletonList(new File(moved, "App.java")), index.getFiles(".java"));
+        assertFalse(index.getFiles(".properties").contains(new File(app, "messages.properties")));
+    }
+
+    @Test
+    public void deleted_file_is_removed() {
+        // given
+        FileTreeIndex index = FileTreeIndex.forDirectory(root);
+
+        // when
+        assertTrue(source.delete());
+        FileTreeIndex.update(Collections.singleton(source));
+
+        // then
+        assertFalse(index.contains(".java"));
+        assertFalse(FileTreeIndex.containsFile(root, ".java"));
+    }
+
+    @Test
+    public void clear_walks_the_tree_again() throws IOException {
+        // given
+        FileTreeIndex index = FileTreeIndex.forDirectory(root);
+        assertSame(index, FileTreeIndex.forDirectory(root));
+        File added = write(new File(root, "app/Added.java"), "class Added {}");
+
+        // when
+        FileTreeIndex.clear();
+
+        // then
+        FileTreeIndex rebuilt = FileTreeIndex.forDirectory(root);
+        assertNotSame(index, rebuilt);
+        assertTrue(rebuilt.getFiles(".java").contains(added));
+        assertFalse(index.getFiles(".java").contains(added));
+    }
+
+    @Test
+    public void walk_is_not_cached() throws IOException {
+        // given
+        FileTreeIndex.forDirectory(root);
+        File added = write(new File(root, "app/Added.java"), "class Added {}");
+
+        // then
+        assertTrue(FileTreeIndex.walk(root).getFiles(".java").contains(added));
+        assertFalse(FileTreeIndex.forDirectory(root).getFiles(".java").contains(added));
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
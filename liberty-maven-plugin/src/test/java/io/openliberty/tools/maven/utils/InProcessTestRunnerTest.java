@@ -0,0 +1,177 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.ToolProvider;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InProcessTestRunnerTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File platformJar;
+    private File classesDirectory;
+    private File reportsDirectory;
+    private InProcessTestRunner runner;
+
+    @Before
+    public void setUp() throws Exception {
+        // the standalone jar contains the JUnit Platform launcher and the Jupiter engine
+        platformJar = new File(Class.forName("org.junit.platform.launcher.core.LauncherFactory").getProtectionDomain()
+                .getCodeSource().getLocation().toURI());
+        classesDirectory = temp.newFolder("test-classes");
+        reportsDirectory = new File(temp.getRoot(), "surefire-reports");
+        runner = new InProcessTestRunner(new SystemStreamLog());
+    }
+
+    @After
+    public void tearDown() {
+        runner.close();
+    }
+
+    @Test
+    public void tests_are_run_and_reported() throws Exception {
+        // given
+        compile(classesDirectory, "app/CalculatorTest", "package app;\n"
+                + "import org.junit.jupiter.api.Test;\n"
+                + "import static org.junit.jupiter.api.Assertions.assertEquals;\n"
+                + "public class CalculatorTest {\n"
+                + "  @Test void adds() { assertEquals(2, 1 + 1); }\n"
+                + "  @Test void fails() { assertEquals(3, 1 + 1); }\n"
+                + "}\n", platformJar);
+
+        // when
+        InProcessTestRunner.Result result = run(Collections.<File>emptyList());
+
+        // then
+        assertEquals(2, result.getTests());
+        assertEquals(1, result.getFailures());
+        assertEquals(0, result.getErrors());
+        String report = read(new File(reportsDirectory, "TEST-app.CalculatorTest.xml"));
+        assertTrue(report, report.contains("<testcase name=\"adds\" classname=\"app.CalculatorTest\""));
+        assertTrue(report, report.contains("<testcase name=\"fails\" classname=\"app.CalculatorTest\""));
+        assertTrue(report, report.contains("<failure"));
+    }
+
+    @Test
+    public void changed_test_classes_are_loaded_for_every_run() throws Exception {
+        // given
+        String test = "package app;\n"
+                + "import org.junit.jupiter.api.Test;\n"
+                + "import static org.junit.jupiter.api.Assertions.assertEquals;\n"
+                + "public class ValueTest {\n"
+                + "  @Test void value() { assertEquals(2, %d); }\n"
+                + "}\n";
+        compile(classesDirectory, "app/ValueTest", String.format(test, 1), platformJar);
+        assertEquals(1, run(Collections.<File>emptyList()).getFailures());
+
+        // when
+        compile(classesDirectory, "app/ValueTest", String.format(test, 2), platformJar);
+
+        // then
+        assertEquals(0, run(Collections.<File>emptyList()).getFailures());
+    }
+
+    @Test
+    public void dependencies_see_the_test_resources() throws Exception {
+        // given
+        File libraryClasses = temp.newFolder("library-classes");
+        compile(libraryClasses, "lib/Config", "package lib;\n"
+                + "public class Config {\n"
+                + "  public static boolean isConfigured() { return Config.class.getClassLoader().getResource(\"lib-test.properties\") != null; }\n"
+                + "}\n");
+        File libraryJar = jar(libraryClasses, "lib/Config.class");
+        Files.write(new File(classesDirectory, "lib-test.properties").toPath(), "configured=true".getBytes(StandardCharsets.UTF_8));
+        compile(classesDirectory, "app/ConfigTest", "package app;\n"
+                + "import org.junit.jupiter.api.Test;\n"
+                + "import static org.junit.jupiter.api.Assertions.assertTrue;\n"
+                + "public class ConfigTest {\n"
+                + "  @Test void configured() { assertTrue(lib.Config.isConfigured()); }\n"
+                + "}\n", platformJar, libraryJar);
+
+        // when
+        InProcessTestRunner.Result result = run(Collections.singletonList(libraryJar));
+
+        // then
+        assertEquals(1, result.getTests());
+        assertEquals(0, result.getFailures());
+    }
+
+    private InProcessTestRunner.Result run(List<File> dependencyJars) throws Exception {
+        File[] classFiles = new File(classesDirectory, "app").listFiles();
+        List<String> testClasses = new ArrayList<String>();
+        for (File classFile : classFiles) {
+            testClasses.add("app." + classFile.getName().substring(0, classFile.getName().length() - ".class".length()));
+        }
+        return runner.run(Collections.singletonList(platformJar), dependencyJars, Collections.singletonList(classesDirectory),
+                testClasses, reportsDirectory);
+    }
+
+    private void compile(File outputDirectory, String name, String content, File... classpath) throws IOException {
+        File source = new File(temp.getRoot(), "src/" + name + ".java");
+        source.getParentFile().mkdirs();
+        Files.write(source.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        List<String> args = new ArrayList<String>(Arrays.asList("-d", outputDirectory.getPath()));
+        if (classpath.length > 0) {
+            StringBuilder cp = new StringBuilder();
+            for (File file : classpath) {
+                cp.append(cp.length() == 0 ? "" : File.pathSeparator).append(file.getPath());
+            }
+            args.add("-cp");
+            args.add(cp.toString());
+        }
+        args.add(source.getPath());
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+    }
+
+    private File jar(File directory, String... entries) throws IOException {
+        File jar = new File(temp.getRoot(), directory.getName() + ".jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                out.putNextEntry(new JarEntry(entry));
+                out.write(Files.readAllBytes(new File(directory, entry).toPath()));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.ToolProvider;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalJavaCompilerTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static final List<String> OPTIONS = Arrays.asList("-encoding", "UTF-8");
+
+    private File sourceDirectory;
+    private File outputDirectory;
+    private IncrementalJavaCompiler compiler;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDirectory = temp.newFolder("src");
+        outputDirectory = temp.newFolder("classes");
+        write("Base", "package app; public class Base { public int get() { return 1; } public static final String NAME = \"a\"; }");
+        write("Sub", "package app; public class Sub extends Base { }");
+        write("UsesBase", "package app; public class UsesBase { int call() { return new Base().get(); } }");
+        write("UsesSub", "package app; public class UsesSub { int call() { return new Sub().get(); } }");
+        write("UsesName", "package app; public class UsesName { String name() { return Base.NAME; } }");
+        write("Other", "package app; public class Other { }");
+        javac(new File(sourceDirectory, "app").listFiles());
+        compiler = new IncrementalJavaCompiler(new ClassDependencyIndex(), new SystemStreamLog());
+    }
+
+    @Test
+    public void method_body_change_compiles_only_the_changed_source() throws IOException {
+        // when
+        Collection<File> toCompile = change("Base",
+                "package app; public class Base { public int get() { return 2; } public static final String NAME = \"a\"; }", OPTIONS);
+
+        // then
+        assertEquals(names("Base"), getNames(toCompile));
+        assertTrue(compiled(toCompile, OPTIONS).isEmpty());
+    }
+
+    @Test
+    public void signature_change_compiles_dependents_and_users_of_subclasses() throws IOException {
+        // when
+        Collection<File> toCompile = change("Base",
+                "package app; public class Base { public Integer get() { return 1; } public static final String NAME = \"a\"; }", OPTIONS);
+
+        // then
+        Set<String> names = getNames(toCompile);
+        assertTrue(names.containsAll(names("Base", "Sub", "UsesBase", "UsesSub")));
+        assertFalse(names.contains("Other"));
+        assertTrue(compiled(toCompile, OPTIONS).isEmpty());
+    }
+
+    @Test
+    public void constant_change_compiles_every_source() throws IOException {
+        // when
+        Collection<File> toCompile = change("Base",
+                "package app; public class Base { public int get() { return 1; } public static final String NAME = \"b\"; }", OPTIONS);
+
+        // then
+        assertEquals(names("Base", "Sub", "UsesBase", "UsesSub", "UsesName", "Other"), getNames(toCompile));
+        assertTrue(compiled(toCompile, OPTIONS).isEmpty());
+    }
+
+    @Test
+    public void dependents_are_found_after_the_compile_when_the_in_memory_compile_fails() throws IOException {
+        // given
+        List<String> options = Arrays.asList("-encoding", "UTF-8", "-Xunknown-option");
+
+        // when
+        Collection<File> toCompile = change("Base",
+                "package app; public class Base { public Integer get() { return 1; } public static final String NAME = \"a\"; }", options);
+
+        // then
+        assertEquals(names("Base"), getNames(toCompile));
+        Set<String> names = getNames(compiled(toCompile, options));
+        assertTrue(names.containsAll(names("Sub", "UsesBase", "UsesSub")));
+        assertFalse(names.contains("Other"));
+    }
+
+    @Test
+    public void up_to_date_sources_are_not_compiled() throws IOException {
+        // given
+        File source = new File(sourceDirectory, "app/Other.java");
+        source.setLastModified(new File(outputDirectory, "app/Other.class").lastModified() - 10000);
+
+        // then
+        assertTrue(compiler.getSourcesToCompile(Collections.singletonList(source), outputDirectory, null, null).isEmpty());
+    }
+
+    /**
+     * Change a source and get the sources that dev mode compiles for the change.
+     */
+    private Collection<File> change(String name, String content, List<String> options) throws IOException {
+        File source = write(name, content);
+        source.setLastModified(new File(outputDirectory, "app/" + name + ".class").lastModified() + 10000);
+        return compiler.getSourcesToCompile(Collections.singletonList(source), outputDirectory, Collections.<String>emptyList(), options);
+    }
+
+    /**
+     * Compile the sources the way dev mode does.
+     *
+     * @return the affected sources that dev mode compiles next
+     */
+    private Collection<File> compiled(Collection<File> toCompile, List<String> options) throws IOException {
+        javac(toCompile.toArray(new File[0]));
+        return compiler.compiled(toCompile, outputDirectory, options);
+    }
+
+    private File write(String name, String content) throws IOException {
+        File source = new File(sourceDirectory, "app/" + name + ".java");
+        source.getParentFile().mkdirs();
+        Files.write(source.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return source;
+    }
+
+    private void javac(File... sources) {
+        List<String> args = new ArrayList<String>(Arrays.asList("-d", outputDirectory.getPath(), "-cp", outputDirectory.getPath()));
+        for (File source : sources) {
+            args.add(source.getPath());
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+    }
+
+    private static Set<String> names(String... names) {
+        return new HashSet<String>(Arrays.asList(names));
+    }
+
+    private static Set<String> getNames(Collection<File> sources) {
+        Set<String> result = new HashSet<String>();
+        for (File source : sources) {
+            result.add(source.getName().substring(0, source.getName().length() - ".java".length()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalResourceSyncTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private MavenProject project;
+    private Properties userProperties;
+    private File resourceDirectory;
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        File basedir = temp.newFolder("project");
+        project = new MavenProject(new Model());
+        project.setFile(new File(basedir, "pom.xml"));
+        project.getModel().setBuild(new Build());
+        project.getProperties().setProperty("greeting", "hello");
+        userProperties = new Properties();
+        resourceDirectory = new File(basedir, "src/main/resources");
+        resourceDirectory.mkdirs();
+        outputDirectory = new File(basedir, "target/classes");
+        Resource resource = new Resource();
+        resource.setDirectory("src/main/resources");
+        resource.setFiltering(true);
+        project.getBuild().addResource(resource);
+    }
+
+    @Test
+    public void default_delimiters_are_replaced() throws IOException {
+        assertEquals("hello hello", sync(null, "${greeting} @greeting@"));
+    }
+
+    @Test
+    public void text_between_at_signs_is_not_an_expression() throws IOException {
+        assertEquals("mail me @ home or @ work", sync(null, "mail me @ home or @ work"));
+    }
+
+    @Test
+    public void escaped_expressions_are_kept() throws IOException {
+        // given
+        Xpp3Dom config = config("escapeString", "\\");
+
+        // then
+        assertEquals("${greeting} hello", sync(config, "\\${greeting} ${greeting}"));
+    }
+
+    @Test
+    public void custom_delimiters_replace_the_defaults() throws IOException {
+        // given
+        Xpp3Dom config = config("useDefaultDelimiters", "false");
+        Xpp3Dom delimiters = new Xpp3Dom("delimiters");
+        delimiters.addChild(value("delimiter", "#{*}"));
+        config.addChild(delimiters);
+
+        // then
+        assertEquals("hello ${greeting} @greeting@", sync(config, "#{greeting} ${greeting} @greeting@"));
+    }
+
+    @Test
+    public void filter_files_are_used() throws IOException {
+        // given
+        File filter = write(new File(project.getBasedir(), "filter.properties"), "name=world\n");
+        project.getBuild().addFilter(filter.getName());
+
+        // then
+        assertEquals("hello world", sync(null, "${greeting} ${name}"));
+    }
+
+    @Test
+    public void properties_take_precedence_over_filter_files() throws IOException {
+        // given
+        File filter = write(new File(project.getBasedir(), "filter.properties"), "greeting=hi\nname=world\n");
+        project.getBuild().addFilter(filter.getName());
+        userProperties.setProperty("name", "user");
+
+        // then
+        assertEquals("hello user", sync(null, "${greeting} ${name}"));
+    }
+
+    @Test
+    public void project_model_is_resolved() throws IOException {
+        // given
+        project.getModel().setArtifactId("app");
+
+        // then
+        assertEquals("app", sync(null, "${project.artifactId}"));
+    }
+
+    @Test
+    public void unresolved_expression_falls_back_to_the_goal() throws IOException {
+        // given
+        File source = write(new File(resourceDirectory, "app.properties"), "${unknown.property}");
+        IncrementalResourceSync sync = new IncrementalResourceSync(project, userProperties, null, new SystemStreamLog());
+
+        // then
+        assertFalse(sync.sync(source, outputDirectory));
+        assertFalse(new File(outputDirectory, "app.properties").exists());
+    }
+
+    @Test
+    public void invalid_encoding_falls_back_to_the_goal() throws IOException {
+        // given
+        File source = write(new File(resourceDirectory, "app.txt"), "${greeting}");
+        IncrementalResourceSync sync = new IncrementalResourceSync(project, userProperties, config("encoding", "no such encoding"),
+                new SystemStreamLog());
+
+        // then
+        assertFalse(sync.sync(source, outputDirectory));
+    }
+
+    private String sync(Xpp3Dom config, String content) throws IOException {
+        File source = write(new File(resourceDirectory, "app.txt"), content);
+        IncrementalResourceSync sync = new IncrementalResourceSync(project, userProperties, config, new SystemStreamLog());
+        assertTrue(sync.sync(source, outputDirectory));
+        return new String(Files.readAllBytes(new File(outputDirectory, "app.txt").toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static Xpp3Dom config(String name, String value) {
+        Xpp3Dom config = new Xpp3Dom("configuration");
+        config.addChild(value(name, value));
+        return config;
+    }
+
+    private static Xpp3Dom value(String name, String value) {
+        Xpp3Dom child = new Xpp3Dom(name);
+        child.setValue(value);
+        return child;
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
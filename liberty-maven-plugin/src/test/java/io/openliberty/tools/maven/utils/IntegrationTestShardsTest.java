@@ -0,0 +1,185 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntegrationTestShardsTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File serverDirectory;
+    private File reportsDirectory;
+    private IntegrationTestShards shards;
+
+    @Before
+    public void setUp() throws IOException {
+        serverDirectory = temp.newFolder("servers", "defaultServer");
+        reportsDirectory = temp.newFolder("failsafe-reports");
+        write(new File(serverDirectory, "server.xml"), "<server><httpEndpoint id=\"defaultHttpEndpoint\" httpPort=\"9080\"/></server>");
+        shards = new IntegrationTestShards(serverDirectory, 2, 100, new SystemStreamLog());
+    }
+
+    @Test
+    public void tests_are_split_by_their_last_duration() throws IOException {
+        // given
+        report(new File(reportsDirectory, "TEST-app.SlowIT.xml"), "30.0");
+        report(new File(reportsDirectory, "TEST-app.MediumIT.xml"), "20.0");
+        report(new File(reportsDirectory, "TEST-app.FastIT.xml"), "10.0");
+
+        // when
+        shards.assignTests(Arrays.asList("app.FastIT", "app.MediumIT", "app.SlowIT"), reportsDirectory);
+
+        // then
+        assertEquals(Arrays.asList("app.SlowIT"), shards.getShards().get(0).getTestClasses());
+        assertEquals(Arrays.asList("app.MediumIT", "app.FastIT"), shards.getShards().get(1).getTestClasses());
+    }
+
+    @Test
+    public void latest_shard_report_is_used() throws IOException {
+        // given
+        File old = report(new File(reportsDirectory, "TEST-app.AIT.xml"), "1.0");
+        old.setLastModified(old.lastModified() - 10000);
+        report(new File(shards.getShards().get(1).getReportsDirectory(reportsDirectory), "TEST-app.AIT.xml"), "50.0");
+        report(new File(reportsDirectory, "TEST-app.BIT.xml"), "20.0");
+        report(new File(reportsDirectory, "TEST-app.CIT.xml"), "20.0");
+
+        // when
+        shards.assignTests(Arrays.asList("app.AIT", "app.BIT", "app.CIT"), reportsDirectory);
+
+        // then
+        assertEquals(Arrays.asList("app.AIT"), shards.getShards().get(0).getTestClasses());
+        assertEquals(Arrays.asList("app.BIT", "app.CIT"), shards.getShards().get(1).getTestClasses());
+    }
+
+    @Test
+    public void tests_without_reports_are_spread_evenly() {
+        // when
+        shards.assignTests(Arrays.asList("app.AIT", "app.BIT", "app.CIT", "app.DIT"), reportsDirectory);
+
+        // then
+        assertEquals(2, shards.getShards().get(0).getTestClasses().size());
+        assertEquals(2, shards.getShards().get(1).getTestClasses().size());
+    }
+
+    @Test
+    public void servers_are_copied_without_logs_and_removed_files() throws IOException {
+        // given
+        write(new File(serverDirectory, "apps/app.war.xml"), "<archive/>");
+        write(new File(serverDirectory, "logs/messages.log"), "dev mode server log");
+        File shardDirectory = shards.getShards().get(0).getServerDirectory();
+        write(new File(shardDirectory, "apps/removed.war.xml"), "<archive/>");
+        write(new File(shardDirectory, "logs/messages.log"), "shard log");
+
+        // when
+        assertTrue(shards.syncServers(9080, 9443));
+
+        // then
+        assertEquals("<archive/>", read(new File(shardDirectory, "apps/app.war.xml")));
+        assertFalse(new File(shardDirectory, "apps/removed.war.xml").exists());
+        assertEquals("shard log", read(new File(shardDirectory, "logs/messages.log")));
+        assertTrue(new File(shards.getShards().get(1).getServerDirectory(), "server.xml").isFile());
+    }
+
+    @Test
+    public void ports_of_every_endpoint_are_offset() throws IOException {
+        // given
+        write(new File(serverDirectory, "server.xml"), "<server>\n"
+                + "  <variable name=\"admin.port\" defaultValue=\"9090\"/>\n"
+                + "  <httpEndpoint id=\"defaultHttpEndpoint\" httpPort=\"${default.http.port}\" httpsPort=\"${default.https.port}\"/>\n"
+                + "  <httpEndpoint id=\"adminEndpoint\" httpPort=\"${admin.port}\" httpsPort=\"-1\"/>\n"
+                + "  <iiopEndpoint id=\"defaultIiopEndpoint\"/>\n"
+                + "  <wasJmsEndpoint id=\"jmsEndpoint\" wasJmsPort=\"7000\" wasJmsSSLPort=\"${jms.ssl.port}\"/>\n"
+                + "</server>\n");
+        write(new File(serverDirectory, "bootstrap.properties"), "jms.ssl.port=7001\n");
+
+        // when
+        assertTrue(shards.syncServers(9080, 9443));
+
+        // then
+        IntegrationTestShards.Shard shard = shards.getShards().get(1);
+        assertEquals(9280, shard.getHttpPort());
+        assertEquals(9643, shard.getHttpsPort());
+        String override = read(new File(shard.getServerDirectory(), IntegrationTestShards.CONFIG_OVERRIDE_FILE));
+        assertTrue(override, override.contains("<httpEndpoint id=\"defaultHttpEndpoint\" httpPort=\"9280\" httpsPort=\"9643\"/>"));
+        assertTrue(override, override.contains("<httpEndpoint id=\"adminEndpoint\" httpPort=\"9290\"/>"));
+        assertTrue(override, override.contains("<iiopEndpoint id=\"defaultIiopEndpoint\" iiopPort=\"3009\"/>"));
+        assertTrue(override, override.contains("<wasJmsEndpoint id=\"jmsEndpoint\" wasJmsPort=\"7200\" wasJmsSSLPort=\"7201\"/>"));
+    }
+
+    @Test
+    public void overrides_take_precedence_over_server_xml() throws IOException {
+        // given
+        write(new File(serverDirectory, "server.xml"), "<server><wasJmsEndpoint id=\"jms\" wasJmsPort=\"7000\"/></server>");
+        write(new File(serverDirectory, "configDropins/overrides/ports.xml"), "<server><wasJmsEndpoint id=\"jms\" wasJmsPort=\"7100\"/></server>");
+
+        // when
+        assertTrue(shards.syncServers(9080, 9443));
+
+        // then
+        String override = read(new File(shards.getShards().get(0).getServerDirectory(), IntegrationTestShards.CONFIG_OVERRIDE_FILE));
+        assertTrue(override, override.contains("<wasJmsEndpoint id=\"jms\" wasJmsPort=\"7200\" wasJmsSSLPort=\"7386\"/>"));
+    }
+
+    @Test
+    public void server_with_unknown_port_is_not_copied() throws IOException {
+        // given
+        write(new File(serverDirectory, "server.xml"), "<server><wasJmsEndpoint id=\"jms\" wasJmsPort=\"${undefined.port}\"/></server>");
+
+        // then
+        assertFalse(shards.syncServers(9080, 9443));
+        assertFalse(shards.getShards().get(0).getServerDirectory().exists());
+    }
+
+    @Test
+    public void server_with_iiops_options_is_not_copied() throws IOException {
+        // given
+        write(new File(serverDirectory, "server.xml"),
+                "<server><iiopEndpoint id=\"orb\" iiopPort=\"2809\"><iiopsOptions iiopsPort=\"2810\"/></iiopEndpoint></server>");
+
+        // then
+        assertFalse(shards.syncServers(9080, 9443));
+    }
+
+    private static File report(File file, String time) throws IOException {
+        return write(file, "<?xml version=\"1.0\"?>\n<testsuite name=\"test\" time=\"" + time + "\" tests=\"1\"></testsuite>\n");
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
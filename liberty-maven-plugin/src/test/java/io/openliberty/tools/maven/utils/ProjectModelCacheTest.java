@@ -0,0 +1,247 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProjectModelCacheTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final ProjectModelCache cache = new ProjectModelCache();
+    private final ProjectBuildingRequest request = new DefaultProjectBuildingRequest();
+    private final CountingProjectBuilder builder = new CountingProjectBuilder();
+    private File pom;
+    private File libraryPom;
+    private File libraryClasses;
+    private List<MavenProject> reactorProjects;
+
+    @Before
+    public void setUp() throws Exception {
+        pom = write(new File(temp.getRoot(), "app/pom.xml"), pom("app", "<dependency><groupId>test</groupId>"
+                + "<artifactId>library</artifactId><version>1.0-SNAPSHOT</version></dependency>"));
+        libraryPom = write(new File(temp.getRoot(), "library/pom.xml"), pom("library", ""));
+        libraryClasses = new File(temp.getRoot(), "library/target/classes");
+        write(new File(libraryClasses, "library/Library.class"), "class");
+        reactorProjects = Collections.singletonList(builder.build(libraryPom, request).getProject());
+        builder.resolveCount = 0;
+        builder.modelCount = 0;
+    }
+
+    @Test
+    public void unchanged_project_is_reused() throws Exception {
+        // given
+        MavenProject first = build();
+
+        // when
+        MavenProject second = build();
+
+        // then
+        assertEquals(1, builder.resolveCount);
+        assertEquals(0, builder.modelCount);
+        assertNotSame(first, second);
+        assertEquals(first.getArtifacts(), second.getArtifacts());
+    }
+
+    @Test
+    public void compiled_reactor_module_is_not_a_change() throws Exception {
+        // given
+        build();
+        File classFile = new File(libraryClasses, "library/Library.class");
+        write(classFile, "changed class");
+        classFile.setLastModified(classFile.lastModified() + 10000);
+
+        // when
+        build();
+
+        // then
+        assertEquals(1, builder.resolveCount);
+        assertEquals(0, builder.modelCount);
+    }
+
+    @Test
+    public void artifacts_are_reused_when_dependencies_are_unchanged() throws Exception {
+        // given
+        MavenProject first = build();
+        write(pom, pom("app", "<dependency><groupId>test</groupId><artifactId>library</artifactId>"
+                + "<version>1.0-SNAPSHOT</version></dependency>").replace("<name>app</name>", "<name>renamed</name>"));
+
+        // when
+        MavenProject second = build();
+
+        // then
+        assertEquals(1, builder.resolveCount);
+        assertEquals(1, builder.modelCount);
+        assertEquals("renamed", second.getName());
+        assertEquals(first.getArtifacts(), second.getArtifacts());
+    }
+
+    @Test
+    public void changed_dependencies_are_resolved_again() throws Exception {
+        // given
+        build();
+        write(pom, pom("app", "<dependency><groupId>test</groupId><artifactId>other</artifactId><version>2.0</version></dependency>"));
+
+        // when
+        build();
+
+        // then
+        assertEquals(2, builder.resolveCount);
+        assertEquals(1, builder.modelCount);
+    }
+
+    @Test
+    public void changed_reactor_dependency_pom_is_resolved_again() throws Exception {
+        // given
+        build();
+        write(libraryPom, pom("library", "<dependency><groupId>test</groupId><artifactId>other</artifactId>"
+                + "<version>2.0</version></dependency>"));
+
+        // when
+        build();
+
+        // then
+        assertEquals(2, builder.resolveCount);
+        assertEquals(1, builder.modelCount);
+    }
+
+    private MavenProject build() throws ProjectBuildingException {
+        return cache.build(builder, pom, request, reactorProjects, new SystemStreamLog());
+    }
+
+    private static String pom(String artifactId, String dependencies) {
+        return "<project><modelVersion>4.0.0</modelVersion><groupId>test</groupId><artifactId>" + artifactId
+                + "</artifactId><version>1.0-SNAPSHOT</version><name>" + artifactId + "</name><dependencies>" + dependencies
+                + "</dependencies></project>";
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Builds projects from their pom files, resolving every dependency to the
+     * classes directory of the library module.
+     */
+    private class CountingProjectBuilder implements ProjectBuilder {
+        int resolveCount;
+        int modelCount;
+
+        @Override
+        public ProjectBuildingResult build(File projectFile, ProjectBuildingRequest request) throws ProjectBuildingException {
+            Model model;
+            try (Reader reader = Files.newBufferedReader(projectFile.toPath(), StandardCharsets.UTF_8)) {
+                model = new MavenXpp3Reader().read(reader);
+            } catch (Exception e) {
+                throw new ProjectBuildingException(projectFile.getPath(), e.getMessage(), e);
+            }
+            final MavenProject project = new MavenProject(model);
+            project.setFile(projectFile);
+            if (request.isResolveDependencies()) {
+                resolveCount++;
+                Set<Artifact> artifacts = new LinkedHashSet<Artifact>();
+                Artifact library = new DefaultArtifact("test", "library", "1.0-SNAPSHOT", "compile", "jar", null,
+                        new DefaultArtifactHandler("jar"));
+                library.setFile(libraryClasses);
+                artifacts.add(library);
+                project.setArtifacts(artifacts);
+            } else {
+                modelCount++;
+            }
+            return new ProjectBuildingResult() {
+                @Override
+                public String getProjectId() {
+                    return project.getId();
+                }
+
+                @Override
+                public File getPomFile() {
+                    return project.getFile();
+                }
+
+                @Override
+                public MavenProject getProject() {
+                    return project;
+                }
+
+                @Override
+                public List<ModelProblem> getProblems() {
+                    return Collections.emptyList();
+                }
+
+                @Override
+                public DependencyResolutionResult getDependencyResolutionResult() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public ProjectBuildingResult build(Artifact projectArtifact, ProjectBuildingRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProjectBuildingResult build(Artifact projectArtifact, boolean allowStubModel, ProjectBuildingRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProjectBuildingResult build(ModelSource modelSource, ProjectBuildingRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ProjectBuildingResult> build(List<File> pomFiles, boolean recursive, ProjectBuildingRequest request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
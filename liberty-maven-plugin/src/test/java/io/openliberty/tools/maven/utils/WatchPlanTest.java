@@ -0,0 +1,192 @@
+/**
+ * (C) Copyright IBM Corporation 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.openliberty.tools.maven.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WatchPlanTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File basedir;
+    private File root;
+    private WatchPlan plan;
+    private final BlockingQueue<File> changes = new LinkedBlockingQueue<File>();
+    private final List<File> received = new ArrayList<File>();
+
+    @Before
+    public void setUp() throws IOException {
+        basedir = temp.newFolder("project");
+        root = new File(basedir, "src/main/resources");
+        write(new File(root, "app.properties"));
+        write(new File(root, "config/config.properties"));
+        write(new File(root, "node_modules/lib/index.js"));
+    }
+
+    @After
+    public void tearDown() {
+        if (plan != null) {
+            plan.stopPolling();
+        }
+    }
+
+    @Test
+    public void directory_without_excluded_subdirectories_is_watched() throws IOException {
+        // given
+        new File(root, "node_modules/lib/index.js").delete();
+        new File(root, "node_modules/lib").delete();
+        new File(root, "node_modules").delete();
+        plan = new WatchPlan(basedir, null, null, null, new SystemStreamLog());
+
+        // when
+        List<File> watched = plan.plan(Collections.singletonList(root));
+
+        // then
+        assertEquals(Collections.singletonList(root), watched);
+        assertFalse(plan.hasPolledDirectories());
+    }
+
+    @Test
+    public void excluded_subdirectory_splits_the_directory() {
+        // given
+        plan = new WatchPlan(basedir, null, null, null, new SystemStreamLog());
+
+        // when
+        List<File> watched = plan.plan(Collections.singletonList(root));
+
+        // then
+        assertEquals(Collections.singletonList(new File(root, "config")), watched);
+        assertEquals(root, plan.getRoot(new File(root, "config")));
+        assertTrue(plan.hasPolledDirectories());
+        assertTrue(plan.isWatched(new File(root, "config/config.properties")));
+        assertFalse(plan.isWatched(new File(root, "node_modules/lib/index.js")));
+    }
+
+    @Test
+    public void polled_directory_is_not_watched() {
+        // given
+        plan = new WatchPlan(basedir, null, Collections.<String>emptyList(), Arrays.asList("src/main/resources/config/**"),
+                new SystemStreamLog());
+
+        // when
+        List<File> watched = plan.plan(Collections.singletonList(root));
+
+        // then
+        assertEquals(Collections.singletonList(new File(root, "node_modules")), watched);
+        assertTrue(plan.isWatched(new File(root, "config/config.properties")));
+    }
+
+    @Test
+    public void only_included_files_are_watched() {
+        // given
+        plan = new WatchPlan(basedir, Arrays.asList("**/*.properties"), null, null, new SystemStreamLog());
+
+        // then
+        assertTrue(plan.isWatched(new File(root, "app.properties")));
+        assertFalse(plan.isWatched(new File(root, "app.txt")));
+    }
+
+    @Test
+    public void file_changes_in_split_directory_are_polled() throws Exception {
+        // given
+        startPolling();
+
+        // when
+        File file = write(new File(root, "new.properties"));
+
+        // then
+        awaitChange(file);
+    }
+
+    @Test
+    public void new_subdirectory_of_split_directory_is_polled() throws Exception {
+        // given
+        startPolling();
+
+        // when
+        File file = write(new File(root, "created/nested/new.properties"));
+
+        // then
+        awaitChange(file);
+        File later = write(new File(root, "created/later.properties"));
+        awaitChange(later);
+    }
+
+    @Test
+    public void new_excluded_subdirectory_is_not_polled() throws Exception {
+        // given
+        startPolling();
+
+        // when
+        File excluded = write(new File(root, "created/node_modules/index.js"));
+        File file = write(new File(root, "created/app.properties"));
+
+        // then
+        awaitChange(file);
+        assertFalse(received.contains(excluded));
+    }
+
+    private void startPolling() {
+        plan = new WatchPlan(basedir, null, null, null, new SystemStreamLog());
+        plan.plan(Collections.singletonList(root));
+        plan.startPolling(20, 20, new WatchPlan.Listener() {
+            @Override
+            public void filesChanged(File changedRoot, List<File> changed, List<File> deleted) {
+                assertEquals(root, changedRoot);
+                changes.addAll(changed);
+            }
+        });
+    }
+
+    private void awaitChange(File file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!received.contains(file)) {
+            File changed = changes.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (changed == null) {
+                throw new AssertionError("No change was polled for " + file + ", polled " + received);
+            }
+            received.add(changed);
+        }
+    }
+
+    private static File write(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), file.getName().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}